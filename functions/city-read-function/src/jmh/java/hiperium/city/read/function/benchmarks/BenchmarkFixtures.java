@@ -0,0 +1,64 @@
+package hiperium.city.read.function.benchmarks;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.DeserializerUtil;
+import hiperium.city.functions.tests.utils.ResourceStreamUtil;
+import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.read.function.utils.SyntheticItems;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Shared data used by the benchmarks. The requests are read from the test resources, and the items are built
+ * by {@link SyntheticItems}, so they follow the same schema as the items of the startup priming and the warm-up.
+ */
+final class BenchmarkFixtures {
+
+    static final String CITY_ID = "a0ecb466-7ef5-47bf-a1ca-12f9f9328528";
+    static final String REQUEST_ID = "c6af9ac6-7b61-11e6-9a41-93e8deadbeef";
+    static final String TIME_ZONE = "America/Guayaquil";
+
+    static final String FIND_CITY_REQUEST = "requests/city/valid/find-city-by-id-request.json";
+    static final String FIND_SECTORS_REQUEST = "requests/city-sectors/valid/find-sectors-by-city-id-request.json";
+
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    static byte[] functionRequestBytes(final String jsonFilePath) {
+        try {
+            return ResourceStreamUtil.getJsonFromFilePath(jsonFilePath).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    static FunctionRequest functionRequest(final String jsonFilePath) {
+        try {
+            return DeserializerUtil.fromJson(ResourceStreamUtil.getJsonFromFilePath(jsonFilePath));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    static TimeZoneProvider timeZoneProvider() {
+        return new TimeZoneProvider() {
+            @Override
+            public String getCityTimeZone() {
+                return TIME_ZONE;
+            }
+        };
+    }
+
+    static Map<String, AttributeValue> cityItem() {
+        return SyntheticItems.cityItem(CITY_ID, TIME_ZONE);
+    }
+
+    static Map<String, AttributeValue> sectorItem(final int sectorNumber) {
+        return SyntheticItems.sectorItem(CITY_ID, sectorNumber);
+    }
+}
@@ -0,0 +1,79 @@
+package hiperium.city.read.function.benchmarks;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.functions.FindCityFunction;
+import hiperium.city.read.function.functions.FindSectorsFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * End-to-end benchmarks of the functions, from the request message to the response message.
+ * <p>
+ * The application context is started with a stubbed DynamoDB client, so the results don't include
+ * the network latency. The in-process caches can be enabled or disabled to measure both paths.
+ */
+@State(Scope.Benchmark)
+public class FunctionBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cachesEnabled;
+
+    @Param({"10"})
+    private int sectorsCount;
+
+    private ConfigurableApplicationContext applicationContext;
+    private FindCityFunction findCityFunction;
+    private FindSectorsFunction findSectorsFunction;
+    private Message<FunctionRequest> findCityMessage;
+    private Message<FunctionRequest> findSectorsMessage;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StubDynamoDbClient dynamoDbClient = new StubDynamoDbClient(this.sectorsCount);
+        this.applicationContext = new SpringApplicationBuilder(FunctionApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.cloud.aws.region.static=us-east-1",
+                "spring.cloud.aws.credentials.access-key=benchmark",
+                "spring.cloud.aws.credentials.secret-key=benchmark",
+                "city.cache.city.enabled=" + this.cachesEnabled,
+                "city.cache.sectors.enabled=" + this.cachesEnabled)
+            // Registered before the auto-configuration, so the default DynamoDB client is not created.
+            .initializers(context -> context.getBeanFactory().registerSingleton("stubDynamoDbClient", dynamoDbClient))
+            .run();
+        this.findCityFunction = this.applicationContext.getBean(FindCityFunction.class);
+        this.findSectorsFunction = this.applicationContext.getBean(FindSectorsFunction.class);
+        this.findCityMessage = MessageBuilder
+            .withPayload(BenchmarkFixtures.functionRequest(BenchmarkFixtures.FIND_CITY_REQUEST))
+            .build();
+        this.findSectorsMessage = MessageBuilder
+            .withPayload(BenchmarkFixtures.functionRequest(BenchmarkFixtures.FIND_SECTORS_REQUEST))
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.applicationContext.close();
+    }
+
+    @Benchmark
+    public Message<byte[]> findCityById() {
+        return this.findCityFunction.apply(this.findCityMessage).block();
+    }
+
+    @Benchmark
+    public Message<byte[]> findSectorsByCityId() {
+        return this.findSectorsFunction.apply(this.findSectorsMessage).block();
+    }
+}
@@ -0,0 +1,59 @@
+package hiperium.city.read.function.benchmarks;
+
+import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.mappers.FunctionMapper;
+import hiperium.city.read.function.mappers.FunctionMapperImpl;
+import hiperium.city.read.function.mappers.ItemDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * Benchmarks of the mapping of the DynamoDB items to the entities returned by the functions,
+ * comparing the MapStruct mapper with the single-pass item decoder.
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private FunctionMapper functionMapper;
+    private ItemDecoder itemDecoder;
+    private TimeZoneProvider timeZoneProvider;
+    private Map<String, AttributeValue> cityItem;
+    private Map<String, AttributeValue> sectorItem;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.functionMapper = new FunctionMapperImpl();
+        this.timeZoneProvider = BenchmarkFixtures.timeZoneProvider();
+        this.itemDecoder = new ItemDecoder(this.timeZoneProvider);
+        this.cityItem = BenchmarkFixtures.cityItem();
+        this.sectorItem = BenchmarkFixtures.sectorItem(1);
+    }
+
+    @Benchmark
+    public CityEntity mapCityDataResponse() {
+        return this.functionMapper.mapCityDataResponse(this.cityItem, this.timeZoneProvider);
+    }
+
+    @Benchmark
+    public SectorEntity mapSectorsDataResponse() {
+        return this.functionMapper.mapSectorsDataResponse(this.sectorItem, this.timeZoneProvider);
+    }
+
+    @Benchmark
+    public CityEntity decodeCity() {
+        return this.itemDecoder.decodeCity(this.cityItem);
+    }
+
+    @Benchmark
+    public SectorEntity decodeSector() {
+        return this.itemDecoder.decodeSector(this.sectorItem);
+    }
+}
@@ -0,0 +1,105 @@
+package hiperium.city.read.function.benchmarks;
+
+import hiperium.city.functions.common.enums.ErrorCode;
+import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.functions.common.exceptions.ResourceNotFoundException;
+import hiperium.city.functions.common.exceptions.ValidationException;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.DeserializerUtil;
+import hiperium.city.read.function.configurations.CustomMessageConverter;
+import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.utils.ExceptionHandlerUtil;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import hiperium.city.read.function.validations.RequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmarks of the request handling steps executed by the functions before and after the repository calls.
+ */
+@State(Scope.Benchmark)
+public class RequestHandlingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean validationFastPath;
+
+    private FunctionRequest functionRequest;
+    private Message<byte[]> requestBytesMessage;
+    private CustomMessageConverter messageConverter;
+    private CityDataRequest cityDataRequest;
+    private ValidatorFactory validatorFactory;
+    private RequestValidator requestValidator;
+    private ValidationException validationException;
+    private ResourceNotFoundException resourceNotFoundException;
+    private CityException cityException;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.functionRequest = BenchmarkFixtures.functionRequest(BenchmarkFixtures.FIND_CITY_REQUEST);
+        this.cityDataRequest = UnmarshallUtils.deserializeRequest(this.functionRequest);
+        this.requestBytesMessage = MessageBuilder
+            .withPayload(BenchmarkFixtures.functionRequestBytes(BenchmarkFixtures.FIND_CITY_REQUEST))
+            .build();
+        this.messageConverter = new CustomMessageConverter();
+        this.validatorFactory = Validation.buildDefaultValidatorFactory();
+        this.requestValidator = new RequestValidator(this.validationFastPath, this.validatorFactory.getValidator());
+        this.validationException = new ValidationException("City ID must not be empty.", BenchmarkFixtures.REQUEST_ID);
+        this.resourceNotFoundException = new ResourceNotFoundException(
+            "City not found with ID: " + BenchmarkFixtures.CITY_ID, BenchmarkFixtures.REQUEST_ID);
+        this.cityException = new CityException("Error when querying city by ID: " + BenchmarkFixtures.CITY_ID,
+            ErrorCode.INTERNAL_001, BenchmarkFixtures.REQUEST_ID, new IllegalStateException("Benchmark"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.validatorFactory.close();
+    }
+
+    @Benchmark
+    public Object convertRequestBytes() {
+        return this.messageConverter.fromMessage(this.requestBytesMessage, FunctionRequest.class);
+    }
+
+    @Benchmark
+    public FunctionRequest convertRequestString() throws IOException {
+        return DeserializerUtil.fromJson(new String(this.requestBytesMessage.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public CityDataRequest deserializeRequest() {
+        return UnmarshallUtils.deserializeRequest(this.functionRequest);
+    }
+
+    @Benchmark
+    public CityDataRequest validateRequest() {
+        this.requestValidator.validateRequest(this.cityDataRequest);
+        return this.cityDataRequest;
+    }
+
+    @Benchmark
+    public Message<String> handleValidationException() {
+        return ExceptionHandlerUtil.handleException(this.validationException).block();
+    }
+
+    @Benchmark
+    public Message<String> handleResourceNotFoundException() {
+        return ExceptionHandlerUtil.handleException(this.resourceNotFoundException).block();
+    }
+
+    @Benchmark
+    public Message<String> handleCityException() {
+        return ExceptionHandlerUtil.handleException(this.cityException).block();
+    }
+}
@@ -0,0 +1,68 @@
+package hiperium.city.read.function.benchmarks;
+
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.mappers.ItemDecoder;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.Message;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of the serialization of the responses, comparing the String messages of the {@link ResponseUtil}
+ * with the byte messages of the {@link ResponseWriter}, with and without the serialized bytes cache.
+ */
+@State(Scope.Benchmark)
+public class ResponseWriterBenchmark {
+
+    private ResponseWriter responseWriter;
+    private CityEntity cityEntity;
+    private List<SectorEntity> sectors;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ItemDecoder itemDecoder = new ItemDecoder(BenchmarkFixtures.timeZoneProvider());
+        this.responseWriter = new ResponseWriter(true, 1000, true, true);
+        this.cityEntity = itemDecoder.decodeCity(BenchmarkFixtures.cityItem());
+        this.sectors = IntStream.rangeClosed(1, 50)
+            .mapToObj(sectorNumber -> itemDecoder.decodeSector(BenchmarkFixtures.sectorItem(sectorNumber)))
+            .toList();
+    }
+
+    @Benchmark
+    public Message<String> cityResponseUtil() {
+        return ResponseUtil.success(this.cityEntity);
+    }
+
+    @Benchmark
+    public Message<byte[]> cityResponseWriter() {
+        return this.responseWriter.success(this.cityEntity);
+    }
+
+    @Benchmark
+    public Message<byte[]> cityResponseWriterCached() {
+        return this.responseWriter.successCachedCity(this.cityEntity);
+    }
+
+    @Benchmark
+    public Message<String> sectorsResponseUtil() {
+        return ResponseUtil.success(this.sectors);
+    }
+
+    @Benchmark
+    public Message<byte[]> sectorsResponseWriter() {
+        return this.responseWriter.success(this.sectors);
+    }
+
+    @Benchmark
+    public Message<byte[]> sectorsResponseWriterCached() {
+        return this.responseWriter.successCachedSectors(this.sectors);
+    }
+}
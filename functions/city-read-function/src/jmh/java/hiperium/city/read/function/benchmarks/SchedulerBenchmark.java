@@ -0,0 +1,69 @@
+package hiperium.city.read.function.benchmarks;
+
+import hiperium.city.read.function.commons.BlockingSchedulerStrategy;
+import hiperium.city.read.function.commons.DynamoDbClientMode;
+import hiperium.city.read.function.configurations.DynamoDbConfig;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.repositories.DynamoDbExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.time.Duration;
+
+/**
+ * Benchmarks of the blocking DynamoDB calls executed concurrently by a single container, comparing the
+ * bounded-elastic scheduler with the virtual-thread scheduler. Each query blocks its thread for a fixed latency,
+ * so the throughput shows how many calls each scheduler keeps in flight.
+ */
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+    private static final int CONCURRENT_QUERIES = 256;
+
+    @Param({"BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    private BlockingSchedulerStrategy strategy;
+
+    @Param({"64", "256"})
+    private int maxConcurrency;
+
+    private Scheduler scheduler;
+    private DynamoDbExecutor dynamoDbExecutor;
+    private QueryRequest queryRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.scheduler = new DynamoDbConfig().dynamoDbScheduler(this.strategy);
+        this.dynamoDbExecutor = new DynamoDbExecutor(DynamoDbClientMode.SYNC, this.maxConcurrency,
+            Duration.ofSeconds(30), this.scheduler,
+            new FunctionMetrics(new SimpleMeterRegistry()),
+            new StubDynamoDbClient(1, Duration.ofMillis(5)),
+            new StaticListableBeanFactory().getBeanProvider(DynamoDbAsyncClient.class));
+        this.queryRequest = QueryRequest.builder()
+            .keyConditionExpression("pk = :pk and sk = :sk")
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.scheduler.dispose();
+    }
+
+    @Benchmark
+    public QueryResponse concurrentQueries() {
+        return Flux.range(0, CONCURRENT_QUERIES)
+            .flatMap(index -> this.dynamoDbExecutor.query(this.queryRequest), CONCURRENT_QUERIES)
+            .blockLast();
+    }
+}
@@ -0,0 +1,77 @@
+package hiperium.city.read.function.benchmarks;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamoDB client that answers the requests with canned items, so the benchmarks measure the function code
+ * without the network latency. Point reads and queries whose key condition includes the sort key return
+ * the city item only, and the other queries return the city item followed by its sectors.
+ * <p>
+ * A latency can be given to block the calling thread on each request, simulating the wait of a network call.
+ */
+final class StubDynamoDbClient implements DynamoDbClient {
+
+    private final Duration latency;
+    private final GetItemResponse itemResponse;
+    private final QueryResponse cityResponse;
+    private final QueryResponse partitionResponse;
+
+    StubDynamoDbClient(final int sectorsCount) {
+        this(sectorsCount, Duration.ZERO);
+    }
+
+    StubDynamoDbClient(final int sectorsCount, final Duration latency) {
+        this.latency = latency;
+        Map<String, AttributeValue> cityItem = BenchmarkFixtures.cityItem();
+        List<Map<String, AttributeValue>> partitionItems = new ArrayList<>(sectorsCount + 1);
+        partitionItems.add(cityItem);
+        for (int i = 1; i <= sectorsCount; i++) {
+            partitionItems.add(BenchmarkFixtures.sectorItem(i));
+        }
+        this.itemResponse = GetItemResponse.builder().item(cityItem).build();
+        this.cityResponse = QueryResponse.builder().items(List.of(cityItem)).count(1).build();
+        this.partitionResponse = QueryResponse.builder().items(partitionItems).count(partitionItems.size()).build();
+    }
+
+    @Override
+    public GetItemResponse getItem(final GetItemRequest getItemRequest) {
+        this.simulateLatency();
+        return this.itemResponse;
+    }
+
+    @Override
+    public QueryResponse query(final QueryRequest queryRequest) {
+        this.simulateLatency();
+        return queryRequest.keyConditionExpression().contains("sk =") ? this.cityResponse : this.partitionResponse;
+    }
+
+    private void simulateLatency() {
+        if (!this.latency.isZero()) {
+            try {
+                Thread.sleep(this.latency);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+}
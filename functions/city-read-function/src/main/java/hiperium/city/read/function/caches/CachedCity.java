@@ -0,0 +1,27 @@
+package hiperium.city.read.function.caches;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.read.function.entities.CityEntity;
+
+import java.util.Objects;
+
+/**
+ * Represents the outcome of a city lookup stored in the {@link CityCache}.
+ * A null {@code cityEntity} means that the city was not found in the DynamoDB table.
+ *
+ * @param cityEntity the city data retrieved from the table, or null if the city does not exist.
+ */
+public record CachedCity(CityEntity cityEntity) {
+
+    public static final CachedCity NOT_FOUND = new CachedCity(null);
+
+    /**
+     * Checks if the lookup found a city whose status is not inactive.
+     *
+     * @return true if the city exists and is active, false otherwise.
+     */
+    public boolean isActive() {
+        return Objects.nonNull(this.cityEntity)
+            && !RecordStatus.INACTIVE.equals(this.cityEntity.entityCommon().status());
+    }
+}
@@ -0,0 +1,109 @@
+package hiperium.city.read.function.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * The CityCache class keeps the outcome of the city lookups inside the warm function container.
+ * <p>
+ * The cache is bounded by size, and each entry expires after a TTL that depends on the outcome of the lookup:
+ * active cities are kept for the {@code city.cache.city.ttl} duration, while the "not found" and "inactive"
+ * outcomes are kept for the shorter {@code city.cache.city.negative-ttl} duration, so repeated requests
+ * with bad IDs do not reach DynamoDB, and a reactivated city is visible again after a short time.
+ */
+@Component
+public class CityCache {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(CityCache.class);
+
+    private final boolean enabled;
+    private final Cache<String, CachedCity> cache;
+
+    public CityCache(@Value("${city.cache.city.enabled:true}") boolean enabled,
+                     @Value("${city.cache.city.maximum-size:500}") long maximumSize,
+                     @Value("${city.cache.city.ttl:PT10M}") Duration ttl,
+                     @Value("${city.cache.city.negative-ttl:PT30S}") Duration negativeTtl) {
+        LOGGER.debug("City cache enabled: {} - Maximum size: {} - TTL: {} - Negative TTL: {}",
+            enabled, maximumSize, ttl, negativeTtl);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new OutcomeExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the cached outcome of the lookup of the given city.
+     *
+     * @param cityId the ID of the city.
+     * @return the cached outcome, or null if the city is not cached or the cache is disabled.
+     */
+    public CachedCity get(final String cityId) {
+        return this.enabled ? this.cache.getIfPresent(cityId) : null;
+    }
+
+    /**
+     * Stores the outcome of the lookup of the given city.
+     *
+     * @param cityId     the ID of the city.
+     * @param cachedCity the outcome of the lookup.
+     */
+    public void put(final String cityId, final CachedCity cachedCity) {
+        if (this.enabled) {
+            this.cache.put(cityId, cachedCity);
+        }
+    }
+
+    /**
+     * Removes the cached outcome of the lookup of the given city.
+     *
+     * @param cityId the ID of the city.
+     */
+    public void invalidate(final String cityId) {
+        this.cache.invalidate(cityId);
+    }
+
+    /**
+     * Removes all the cached outcomes.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters of the cache.
+     *
+     * @return the statistics of the cache.
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    private record OutcomeExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, CachedCity> {
+
+        @Override
+        public long expireAfterCreate(final String cityId, final CachedCity cachedCity, final long currentTime) {
+            return cachedCity.isActive() ? this.ttlNanos : this.negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String cityId, final CachedCity cachedCity,
+                                      final long currentTime, final long currentDuration) {
+            return this.expireAfterCreate(cityId, cachedCity, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String cityId, final CachedCity cachedCity,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package hiperium.city.read.function.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.entities.SectorEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The SectorCache class keeps the mapped sector lists of each city and status inside the warm function container.
+ * <p>
+ * Entries expire after the {@code city.cache.sectors.ttl} duration, and the cache is bounded by the
+ * {@code city.cache.sectors.maximum-weight} memory budget, expressed in bytes and estimated from the number
+ * of sectors of each list. Entries can also be evicted explicitly when the sectors of a city are updated.
+ */
+@Component
+public class SectorCache {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(SectorCache.class);
+
+    // Estimated retained size of a mapped sector, including its common and metadata records.
+    private static final int ESTIMATED_SECTOR_BYTES = 512;
+    private static final int ESTIMATED_ENTRY_BYTES = 128;
+
+    private final boolean enabled;
+    private final Cache<SectorCacheKey, List<SectorEntity>> cache;
+
+    public SectorCache(@Value("${city.cache.sectors.enabled:true}") boolean enabled,
+                       @Value("${city.cache.sectors.maximum-weight:16777216}") long maximumWeight,
+                       @Value("${city.cache.sectors.ttl:PT5M}") Duration ttl) {
+        LOGGER.debug("Sector cache enabled: {} - Maximum weight: {} bytes - TTL: {}", enabled, maximumWeight, ttl);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((SectorCacheKey key, List<SectorEntity> sectors) ->
+                ESTIMATED_ENTRY_BYTES + sectors.size() * ESTIMATED_SECTOR_BYTES)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the cached sectors of the given city and status.
+     *
+     * @param cityId the ID of the city.
+     * @param status the status of the sectors.
+     * @return the cached sectors, or null if they are not cached or the cache is disabled.
+     */
+    public List<SectorEntity> get(final String cityId, final RecordStatus status) {
+        return this.enabled ? this.cache.getIfPresent(new SectorCacheKey(cityId, status)) : null;
+    }
+
+    /**
+     * Stores the sectors of the given city and status.
+     *
+     * @param cityId  the ID of the city.
+     * @param status  the status of the sectors.
+     * @param sectors the immutable list of sectors to be cached.
+     */
+    public void put(final String cityId, final RecordStatus status, final List<SectorEntity> sectors) {
+        if (this.enabled) {
+            this.cache.put(new SectorCacheKey(cityId, status), sectors);
+        }
+    }
+
+    /**
+     * Removes the cached sectors of the given city for all the statuses.
+     *
+     * @param cityId the ID of the city.
+     */
+    public void invalidate(final String cityId) {
+        for (RecordStatus status : RecordStatus.values()) {
+            this.cache.invalidate(new SectorCacheKey(cityId, status));
+        }
+    }
+
+    /**
+     * Removes all the cached sectors.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters of the cache.
+     *
+     * @return the statistics of the cache.
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    private record SectorCacheKey(String cityId, RecordStatus status) {
+    }
+}
@@ -0,0 +1,76 @@
+package hiperium.city.read.function.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.spatial.SectorSpatialIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The SectorIndexCache class keeps the {@link SectorSpatialIndex} of the sector lists stored in the {@link SectorCache}.
+ * <p>
+ * The indexes are keyed by city ID, along with the list they were built from. An index is reused while the
+ * {@link SectorCache} returns the same list for the city, and it is built again when the sectors of the city are
+ * refreshed and a new list is cached. The indexes expire after the {@code city.cache.sectors.ttl} duration,
+ * like the lists they index.
+ * <p>
+ * When the sector cache is disabled, each lookup loads a new list, so the index is built for the lookup only
+ * and it's not cached.
+ */
+@Component
+public class SectorIndexCache {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(SectorIndexCache.class);
+
+    private final boolean enabled;
+    private final Cache<String, IndexedSectors> cache;
+
+    public SectorIndexCache(@Value("${city.cache.sectors.enabled:true}") boolean enabled,
+                            @Value("${city.cache.sector-indexes.maximum-size:500}") long maximumSize,
+                            @Value("${city.cache.sectors.ttl:PT5M}") Duration ttl) {
+        LOGGER.debug("Sector index cache enabled: {} - Maximum size: {}", enabled, maximumSize);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Returns the spatial index of the given sectors of a city, building it if the list was not indexed yet.
+     *
+     * @param cityId  the ID of the city.
+     * @param sectors the immutable list of sectors, as stored in the {@link SectorCache}.
+     * @return the spatial index of the sectors.
+     */
+    public SectorSpatialIndex get(final String cityId, final List<SectorEntity> sectors) {
+        if (!this.enabled) {
+            return new SectorSpatialIndex(sectors);
+        }
+        IndexedSectors indexedSectors = this.cache.getIfPresent(cityId);
+        if (Objects.isNull(indexedSectors) || indexedSectors.sectors() != sectors) {
+            indexedSectors = this.cache.asMap().compute(cityId, (key, current) ->
+                Objects.nonNull(current) && current.sectors() == sectors
+                    ? current
+                    : new IndexedSectors(sectors, new SectorSpatialIndex(sectors)));
+        }
+        return indexedSectors.index();
+    }
+
+    /**
+     * Removes all the spatial indexes.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    // The list is compared by identity, as the SectorCache returns the same instance while the entry is cached.
+    private record IndexedSectors(List<SectorEntity> sectors, SectorSpatialIndex index) {
+    }
+}
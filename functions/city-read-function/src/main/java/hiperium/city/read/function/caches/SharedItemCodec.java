@@ -0,0 +1,215 @@
+package hiperium.city.read.function.caches;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of the table items stored in the {@link SharedPartitionCache}.
+ * <p>
+ * An item starts with the version of the encoding, followed by the number of attributes and, for each attribute,
+ * its name and its value. Every value starts with a type tag, the booleans are encoded in the tag itself,
+ * and the strings, numbers, maps and lists are prefixed by their length written as an unsigned varint, so the
+ * short values of the city items take a single byte of overhead. Numbers are kept as their decimal text,
+ * so they are decoded without losing precision.
+ */
+public final class SharedItemCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte STRING = 1;
+    private static final byte NUMBER = 2;
+    private static final byte TRUE = 3;
+    private static final byte FALSE = 4;
+    private static final byte NULL = 5;
+    private static final byte MAP = 6;
+    private static final byte LIST = 7;
+
+    private SharedItemCodec() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    /**
+     * Encodes the given item.
+     *
+     * @param item the item to be encoded.
+     * @return the encoded item.
+     * @throws IllegalArgumentException if an attribute has a type that is not supported by the encoding.
+     */
+    public static byte[] encode(final Map<String, AttributeValue> item) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(64 * (item.size() + 1));
+        output.write(VERSION);
+        writeAttributes(output, item);
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes the given item, keeping only the given attributes.
+     *
+     * @param bytes      the encoded item.
+     * @param attributes the names of the attributes to be decoded, or null to decode all of them.
+     * @return a mutable map with the decoded attributes.
+     * @throws IllegalArgumentException if the bytes are not a valid encoded item.
+     */
+    public static Map<String, AttributeValue> decode(final byte[] bytes, final Set<String> attributes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported shared cache item version: " + version);
+            }
+            int attributeCount = readLength(buffer);
+            Map<String, AttributeValue> item = HashMap.newHashMap(attributeCount);
+            for (int i = 0; i < attributeCount; i++) {
+                String name = readString(buffer);
+                if (Objects.isNull(attributes) || attributes.contains(name)) {
+                    item.put(name, readValue(buffer));
+                } else {
+                    skipValue(buffer);
+                }
+            }
+            return item;
+        } catch (BufferUnderflowException exception) {
+            throw new IllegalArgumentException("The shared cache item is truncated.", exception);
+        }
+    }
+
+    private static void writeAttributes(final ByteArrayOutputStream output, final Map<String, AttributeValue> item) {
+        writeLength(output, item.size());
+        item.forEach((name, value) -> {
+            writeString(output, name);
+            writeValue(output, name, value);
+        });
+    }
+
+    private static void writeValue(final ByteArrayOutputStream output, final String name, final AttributeValue value) {
+        switch (value.type()) {
+            case S -> {
+                output.write(STRING);
+                writeString(output, value.s());
+            }
+            case N -> {
+                output.write(NUMBER);
+                writeString(output, value.n());
+            }
+            case BOOL -> output.write(Boolean.TRUE.equals(value.bool()) ? TRUE : FALSE);
+            case NUL -> output.write(NULL);
+            case M -> {
+                output.write(MAP);
+                writeAttributes(output, value.m());
+            }
+            case L -> {
+                output.write(LIST);
+                writeLength(output, value.l().size());
+                value.l().forEach(element -> writeValue(output, name, element));
+            }
+            default -> throw new IllegalArgumentException(
+                "Unsupported type " + value.type() + " of attribute '" + name + "' in shared cache.");
+        }
+    }
+
+    private static void writeString(final ByteArrayOutputStream output, final String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeLength(output, bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    private static void writeLength(final ByteArrayOutputStream output, final int length) {
+        int remaining = length;
+        while ((remaining & ~0x7F) != 0) {
+            output.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.write(remaining);
+    }
+
+    private static AttributeValue readValue(final ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case STRING -> AttributeValue.fromS(readString(buffer));
+            case NUMBER -> AttributeValue.fromN(readString(buffer));
+            case TRUE -> AttributeValue.fromBool(true);
+            case FALSE -> AttributeValue.fromBool(false);
+            case NULL -> AttributeValue.fromNul(true);
+            case MAP -> {
+                int entryCount = readLength(buffer);
+                Map<String, AttributeValue> entries = HashMap.newHashMap(entryCount);
+                for (int i = 0; i < entryCount; i++) {
+                    entries.put(readString(buffer), readValue(buffer));
+                }
+                yield AttributeValue.fromM(entries);
+            }
+            case LIST -> {
+                int elementCount = readLength(buffer);
+                List<AttributeValue> elements = new ArrayList<>(elementCount);
+                for (int i = 0; i < elementCount; i++) {
+                    elements.add(readValue(buffer));
+                }
+                yield AttributeValue.fromL(elements);
+            }
+            default -> throw new IllegalArgumentException("Unknown type tag in shared cache item: " + tag);
+        };
+    }
+
+    private static void skipValue(final ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case STRING, NUMBER -> {
+                int length = readLength(buffer);
+                buffer.position(buffer.position() + length);
+            }
+            case TRUE, FALSE, NULL -> {
+                // The value is encoded in the tag.
+            }
+            case MAP -> {
+                int entryCount = readLength(buffer);
+                for (int i = 0; i < entryCount; i++) {
+                    int length = readLength(buffer);
+                    buffer.position(buffer.position() + length);
+                    skipValue(buffer);
+                }
+            }
+            case LIST -> {
+                int elementCount = readLength(buffer);
+                for (int i = 0; i < elementCount; i++) {
+                    skipValue(buffer);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown type tag in shared cache item: " + tag);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        int length = readLength(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int readLength(final ByteBuffer buffer) {
+        int length = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte current = buffer.get();
+            length |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                if (length < 0) {
+                    break;
+                }
+                return length;
+            }
+        }
+        throw new IllegalArgumentException("Invalid length in shared cache item.");
+    }
+}
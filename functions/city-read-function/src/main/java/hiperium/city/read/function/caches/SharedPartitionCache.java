@@ -0,0 +1,416 @@
+package hiperium.city.read.function.caches;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The SharedPartitionCache class keeps the partitions of the cities in a cache shared by all the function
+ * containers, through a server speaking the Redis protocol, so a cold container reads the cities already
+ * read by the other containers instead of querying DynamoDB.
+ * <p>
+ * The partition of each city is stored in a hash, with a field per item named after its sort key and holding
+ * the item encoded by the {@link SharedItemCodec}, plus a marker field written when the whole partition is stored.
+ * A hash without the marker is not a complete partition, so it is never served. The partition expires after the
+ * {@code city.shared-cache.ttl} duration, and in the meantime the changes of its items are applied from the
+ * DynamoDB stream of the table, updating the items of the cached partitions only.
+ * <p>
+ * A change of a city whose partition is not cached, and the eviction of a partition, leave a dirty marker in the
+ * hash of the partition for the {@code city.shared-cache.dirty-ttl} duration. A partition is not stored while
+ * its hash has the marker, as it could have been read from DynamoDB before the change was written.
+ * <p>
+ * The cache is disabled by default, and it is enabled with the {@code city.shared-cache.enabled} property.
+ * When a read fails or takes longer than the {@code city.shared-cache.timeout} duration, the cache is not used
+ * during the {@code city.shared-cache.retry-interval} duration, so the reads go straight to DynamoDB while the
+ * cache server is not available. The connection to the server is opened in the background, and the cache is not
+ * used until it is open, so the cache server never delays the init phase of the function. When the connection
+ * can't be opened, it is opened again in the background after the same interval.
+ */
+@Component
+public class SharedPartitionCache {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(SharedPartitionCache.class);
+
+    // Fields of the hash that mark a complete partition and a changed partition. Sort keys never start with a '#'.
+    private static final String LOADED_FIELD = "#loaded";
+    private static final String DIRTY_FIELD = "#dirty";
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
+    // Replaces the partition atomically, so a reader never sees a partition with only some of its items.
+    // The partition is not stored when it's marked as dirty, as it can miss a change.
+    private static final String PUT_PARTITION_SCRIPT = """
+        if redis.call('HEXISTS', KEYS[1], ARGV[2]) == 1 then
+            return 0
+        end
+        redis.call('DEL', KEYS[1])
+        for i = 3, #ARGV, 2 do
+            redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return 1
+        """;
+
+    // Updates or removes an item only when its partition is cached, so an incomplete partition is never served.
+    // Otherwise, the partition is marked as dirty, so a partition read before the change is not stored.
+    private static final String APPLY_CHANGE_SCRIPT = """
+        if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 then
+            redis.call('HSET', KEYS[1], ARGV[2], '1')
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 0
+        end
+        if ARGV[4] == 'PUT' then
+            redis.call('HSET', KEYS[1], ARGV[5], ARGV[6])
+        else
+            redis.call('HDEL', KEYS[1], ARGV[5])
+        end
+        return 1
+        """;
+
+    // Replaces the partition with the dirty marker, so a partition read before the eviction is not stored.
+    private static final String EVICT_SCRIPT = """
+        redis.call('DEL', KEYS[1])
+        redis.call('HSET', KEYS[1], ARGV[1], '1')
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        return 1
+        """;
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration dirtyTtl;
+    private final Duration timeout;
+    private final long retryIntervalNanos;
+    private final String keyPrefix;
+    private final RedisClient redisClient;
+    private final AtomicBoolean connecting = new AtomicBoolean();
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+    private volatile RedisReactiveCommands<String, byte[]> commands;
+    private volatile boolean bypassed;
+    private volatile boolean disconnected;
+    private volatile long resumeTime = System.nanoTime();
+
+    public SharedPartitionCache(@Value("${city.shared-cache.enabled:false}") boolean enabled,
+                                @Value("${city.shared-cache.ttl:PT1H}") Duration ttl,
+                                @Value("${city.shared-cache.dirty-ttl:PT10S}") Duration dirtyTtl,
+                                @Value("${city.shared-cache.timeout:PT0.2S}") Duration timeout,
+                                @Value("${city.shared-cache.retry-interval:PT30S}") Duration retryInterval,
+                                @Value("${city.shared-cache.key-prefix:city:}") String keyPrefix,
+                                ObjectProvider<RedisClient> redisClientProvider) {
+        LOGGER.debug("Shared cache enabled: {} - TTL: {} - Timeout: {}", enabled, ttl, timeout);
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.dirtyTtl = dirtyTtl;
+        this.timeout = timeout;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.keyPrefix = keyPrefix;
+        this.redisClient = enabled ? redisClientProvider.getIfAvailable() : null;
+        if (enabled && Objects.isNull(this.redisClient)) {
+            LOGGER.warn("The shared cache is enabled without a client, reading from DynamoDB instead.");
+        }
+        // The cache starts suspended, so an unreachable server doesn't delay the init phase of the function.
+        this.connectInBackground();
+    }
+
+    /**
+     * Returns whether the shared cache is enabled by the {@code city.shared-cache.enabled} property.
+     *
+     * @return true if the shared cache is enabled, even if its server is not available.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns whether the shared cache can be used to read the partitions.
+     *
+     * @return true if the cache is enabled, connected to its server, and the last read didn't fail
+     *         during the retry interval.
+     */
+    public boolean isActive() {
+        if (!this.enabled || this.bypassed || System.nanoTime() - this.resumeTime < 0) {
+            return false;
+        }
+        if (Objects.isNull(this.commands)) {
+            this.connectInBackground();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Opens the connection to the cache server in the background, like after the restore of a checkpoint,
+     * if the cache is enabled and the connection is not open. The cache is not used until the connection is open.
+     * When the connection can't be opened, the cache is not used during the retry interval, and then
+     * the connection is opened again in the background.
+     */
+    public void connect() {
+        this.disconnected = false;
+        this.connectInBackground();
+    }
+
+    /**
+     * Closes the connection to the cache server, like before a checkpoint of the function.
+     * It is not opened again until {@link #connect()} is called.
+     */
+    public synchronized void disconnect() {
+        this.disconnected = true;
+        StatefulRedisConnection<String, byte[]> currentConnection = this.connection;
+        this.commands = null;
+        this.connection = null;
+        if (Objects.nonNull(currentConnection)) {
+            currentConnection.close();
+        }
+    }
+
+    /**
+     * Runs the given action without reading or storing any partition, like the warm-up of the functions,
+     * whose synthetic items must not reach the cache server.
+     *
+     * @param runnable the action to be run.
+     */
+    public synchronized void bypass(final Runnable runnable) {
+        this.bypassed = true;
+        try {
+            runnable.run();
+        } finally {
+            this.bypassed = false;
+        }
+    }
+
+    /**
+     * Finds the items of the partition of the given city, in sort key order.
+     *
+     * @param cityId     the ID of the city.
+     * @param attributes the names of the attributes to be returned, or null to return all of them.
+     * @return a {@link Mono} that emits the items of the partition, an empty list if the city doesn't exist,
+     *         or completes empty if the partition is not cached or the cache is not active.
+     */
+    public Mono<List<Map<String, AttributeValue>>> findPartition(final String cityId, final Set<String> attributes) {
+        if (!this.isActive()) {
+            return Mono.empty();
+        }
+        return this.commands.hgetall(this.key(cityId))
+            .collectList()
+            .timeout(this.timeout)
+            .flatMap(fields -> Mono.justOrEmpty(this.decode(cityId, fields, attributes)))
+            .onErrorResume(exception -> this.suspend(cityId, exception));
+    }
+
+    /**
+     * Finds the item with the given sort key in the partition of the given city, reading only that item.
+     *
+     * @param cityId     the ID of the city.
+     * @param sortKey    the sort key of the item.
+     * @param attributes the names of the attributes to be returned, or null to return all of them.
+     * @return a {@link Mono} that emits a list with the item, an empty list if the item doesn't exist,
+     *         or completes empty if the partition is not cached or the cache is not active.
+     */
+    public Mono<List<Map<String, AttributeValue>>> findItem(final String cityId,
+                                                            final String sortKey,
+                                                            final Set<String> attributes) {
+        if (!this.isActive()) {
+            return Mono.empty();
+        }
+        return this.commands.hmget(this.key(cityId), LOADED_FIELD, sortKey)
+            .collectList()
+            .timeout(this.timeout)
+            .flatMap(fields -> Mono.justOrEmpty(this.decode(cityId, fields, attributes)))
+            .onErrorResume(exception -> this.suspend(cityId, exception));
+    }
+
+    /**
+     * Stores the given items as the complete partition of the given city, replacing the cached partition if any.
+     * A failure is logged and ignored, as the items are already read from DynamoDB.
+     *
+     * @param cityId the ID of the city.
+     * @param items  all the items of the partition of the city, or an empty list if the city doesn't exist.
+     * @return a {@link Mono} that completes when the partition is stored.
+     */
+    public Mono<Void> putPartition(final String cityId, final Collection<Map<String, AttributeValue>> items) {
+        if (!this.isActive()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+                List<byte[]> arguments = new ArrayList<>(4 + items.size() * 2);
+                arguments.add(ascii(this.ttl.toMillis()));
+                arguments.add(utf8(DIRTY_FIELD));
+                arguments.add(utf8(LOADED_FIELD));
+                arguments.add(ascii(System.currentTimeMillis()));
+                for (Map<String, AttributeValue> item : items) {
+                    arguments.add(utf8(item.get("sk").s()));
+                    arguments.add(SharedItemCodec.encode(item));
+                }
+                return this.commands.eval(PUT_PARTITION_SCRIPT, ScriptOutputType.INTEGER,
+                        new String[]{this.key(cityId)}, arguments.toArray(byte[][]::new))
+                    .then();
+            })
+            .timeout(this.timeout)
+            .onErrorResume(exception -> this.suspend(cityId, exception));
+    }
+
+    /**
+     * Stores the new version of an item of the given city, when the partition of the city is cached.
+     * Otherwise, the partition is marked as dirty.
+     *
+     * @param cityId the ID of the city.
+     * @param item   the new version of the item.
+     * @return a {@link Mono} that emits true if the partition is cached and the item was stored,
+     *         or an error if the cache is not connected or the item is not stored in time.
+     */
+    public Mono<Boolean> putItem(final String cityId, final Map<String, AttributeValue> item) {
+        return this.applyChange(cityId, "PUT", utf8(item.get("sk").s()), SharedItemCodec.encode(item));
+    }
+
+    /**
+     * Removes an item from the partition of the given city, when the partition of the city is cached.
+     * Otherwise, the partition is marked as dirty.
+     *
+     * @param cityId  the ID of the city.
+     * @param sortKey the sort key of the removed item.
+     * @return a {@link Mono} that completes when the item is removed,
+     *         or an error if the cache is not connected or the item is not removed in time.
+     */
+    public Mono<Void> removeItem(final String cityId, final String sortKey) {
+        return this.applyChange(cityId, "REMOVE", utf8(sortKey)).then();
+    }
+
+    /**
+     * Removes the cached partition of the given city, and marks the partition as dirty.
+     *
+     * @param cityId the ID of the city.
+     * @return a {@link Mono} that completes when the partition is removed, or right away if the cache is disabled,
+     *         or an error if the cache is not connected or the partition is not removed in time.
+     */
+    public Mono<Void> evict(final String cityId) {
+        if (!this.enabled) {
+            return Mono.empty();
+        }
+        return this.connectedCommands()
+            .flatMap(commands -> commands.<Long>eval(EVICT_SCRIPT, ScriptOutputType.INTEGER,
+                    new String[]{this.key(cityId)}, utf8(DIRTY_FIELD), ascii(this.dirtyTtl.toMillis()))
+                .next())
+            .timeout(this.timeout)
+            .then();
+    }
+
+    private Mono<Boolean> applyChange(final String cityId, final String operation, final byte[]... values) {
+        return this.connectedCommands()
+            .flatMap(commands -> {
+                List<byte[]> arguments = new ArrayList<>(4 + values.length);
+                arguments.add(utf8(LOADED_FIELD));
+                arguments.add(utf8(DIRTY_FIELD));
+                arguments.add(ascii(this.dirtyTtl.toMillis()));
+                arguments.add(utf8(operation));
+                arguments.addAll(List.of(values));
+                return commands.<Long>eval(APPLY_CHANGE_SCRIPT, ScriptOutputType.INTEGER,
+                        new String[]{this.key(cityId)}, arguments.toArray(byte[][]::new))
+                    .next();
+            })
+            .timeout(this.timeout)
+            .map(applied -> applied == 1L);
+    }
+
+    private Mono<RedisReactiveCommands<String, byte[]>> connectedCommands() {
+        return Mono.defer(() -> {
+            RedisReactiveCommands<String, byte[]> currentCommands = this.commands;
+            if (Objects.isNull(currentCommands)) {
+                this.connectInBackground();
+                return Mono.error(new IllegalStateException("The shared cache is not connected to its server."));
+            }
+            return Mono.just(currentCommands);
+        });
+    }
+
+    // Opens the connection without blocking the caller, once the retry interval of the last failure has elapsed.
+    private void connectInBackground() {
+        if (Objects.nonNull(this.redisClient)
+            && !this.disconnected
+            && System.nanoTime() - this.resumeTime >= 0
+            && this.connecting.compareAndSet(false, true)) {
+            Mono.fromRunnable(this::openConnection)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> this.connecting.set(false))
+                .subscribe();
+        }
+    }
+
+    // A connection that completes after a disconnection is not kept, so no socket is open during a checkpoint.
+    private synchronized void openConnection() {
+        if (Objects.nonNull(this.connection) || this.disconnected) {
+            return;
+        }
+        try {
+            // The connection is also closed by the client, when the application context is closed.
+            this.connection = this.redisClient.connect(CODEC);
+            this.commands = this.connection.reactive();
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Error when connecting to the shared cache, reading from DynamoDB for {} ms: {}",
+                Duration.ofNanos(this.retryIntervalNanos).toMillis(), exception.getMessage());
+            this.resumeTime = System.nanoTime() + this.retryIntervalNanos;
+        }
+    }
+
+    // Returns the items of the given hash fields, or null if they are not a complete partition or can't be decoded.
+    private List<Map<String, AttributeValue>> decode(final String cityId,
+                                                     final List<KeyValue<String, byte[]>> fields,
+                                                     final Set<String> attributes) {
+        boolean loaded = fields.stream()
+            .anyMatch(field -> field.hasValue() && LOADED_FIELD.equals(field.getKey()));
+        if (!loaded) {
+            return null;
+        }
+        try {
+            return fields.stream()
+                .filter(field -> field.hasValue() && !LOADED_FIELD.equals(field.getKey()))
+                .sorted(Comparator.comparing(KeyValue::getKey))
+                .map(field -> SharedItemCodec.decode(field.getValue(), attributes))
+                .toList();
+        } catch (IllegalArgumentException exception) {
+            // The partition is read from DynamoDB and stored again.
+            LOGGER.warn("Error when decoding the shared cache partition of city {}: {}",
+                cityId, exception.getMessage());
+            return null;
+        }
+    }
+
+    private <T> Mono<T> suspend(final String cityId, final Throwable exception) {
+        LOGGER.warn("Error when accessing the shared cache for city {}, reading from DynamoDB for {} ms: {}",
+            cityId, Duration.ofNanos(this.retryIntervalNanos).toMillis(), exception.toString());
+        this.resumeTime = System.nanoTime() + this.retryIntervalNanos;
+        return Mono.empty();
+    }
+
+    private String key(final String cityId) {
+        return this.keyPrefix + cityId;
+    }
+
+    private static byte[] ascii(final long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] utf8(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
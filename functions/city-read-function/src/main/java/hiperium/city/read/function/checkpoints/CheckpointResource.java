@@ -0,0 +1,180 @@
+package hiperium.city.read.function.checkpoints;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.caches.CityCache;
+import hiperium.city.read.function.caches.SectorCache;
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import hiperium.city.read.function.commons.DynamoDbClientMode;
+import hiperium.city.read.function.configurations.CustomMessageConverter;
+import hiperium.city.read.function.configurations.DynamoDbClientFactory;
+import hiperium.city.read.function.functions.FindCityFunction;
+import hiperium.city.read.function.functions.FindSectorsFunction;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.repositories.DynamoDbExecutor;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * CRaC resource that prepares the function for a checkpoint of the JVM, as taken by Lambda SnapStart.
+ * <p>
+ * Before the checkpoint, synthetic requests are sent through the {@link FindCityFunction} and the
+ * {@link FindSectorsFunction} using a client that answers with synthetic items, so the classes of the request
+ * path are loaded and compiled by the JIT before the snapshot. The warm-up client stays in use until the restore,
+ * so the connections of the DynamoDB clients are not used by the requests sent after the snapshot.
+ * After the restore, new clients are created with the {@link DynamoDbClientFactory}, resolving the credentials of
+ * the restored environment. The DynamoDB client beans are created by the same factory when this resource is enabled,
+ * so the restored clients have the same configuration.
+ * <p>
+ * The client beans are owned by the application context, so they are never closed by this resource.
+ * Only the clients created after a restore are closed, when they are replaced or when the context is closed.
+ * <p>
+ * The cache entries and the meters recorded by the warm-up are removed before the checkpoint, and the meters are not
+ * published during the warm-up. The {@link SharedPartitionCache} is bypassed during the warm-up, so the synthetic
+ * items never reach the cache server, and its connection is closed before the checkpoint and opened again after
+ * the restore.
+ */
+@Component
+@ConditionalOnProperty(name = "city.crac.enabled", havingValue = "true")
+public class CheckpointResource implements Resource, DisposableBean {
+
+    static final String WARMUP_CITY_ID = "00000000-0000-4000-8000-000000000000";
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(CheckpointResource.class);
+    private static final String WARMUP_REQUEST_ID = "checkpoint-warmup";
+    private static final int ERROR_REQUEST_INTERVAL = 10;
+
+    private final int iterations;
+    private final CityCache cityCache;
+    private final SectorCache sectorCache;
+    private final SharedPartitionCache sharedPartitionCache;
+    private final FunctionMetrics functionMetrics;
+    private final DynamoDbExecutor dynamoDbExecutor;
+    private final FindCityFunction findCityFunction;
+    private final FindSectorsFunction findSectorsFunction;
+    private final DynamoDbClientFactory dynamoDbClientFactory;
+    private DynamoDbClient restoredClient;
+    private DynamoDbAsyncClient restoredAsyncClient;
+
+    public CheckpointResource(@Value("${city.crac.warmup.iterations:500}") int iterations,
+                              CityCache cityCache,
+                              SectorCache sectorCache,
+                              SharedPartitionCache sharedPartitionCache,
+                              FunctionMetrics functionMetrics,
+                              DynamoDbExecutor dynamoDbExecutor,
+                              FindCityFunction findCityFunction,
+                              FindSectorsFunction findSectorsFunction,
+                              DynamoDbClientFactory dynamoDbClientFactory) {
+        this.iterations = iterations;
+        this.cityCache = cityCache;
+        this.sectorCache = sectorCache;
+        this.sharedPartitionCache = sharedPartitionCache;
+        this.functionMetrics = functionMetrics;
+        this.dynamoDbExecutor = dynamoDbExecutor;
+        this.findCityFunction = findCityFunction;
+        this.findSectorsFunction = findSectorsFunction;
+        this.dynamoDbClientFactory = dynamoDbClientFactory;
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public synchronized void beforeCheckpoint(final Context<? extends Resource> context) {
+        LOGGER.debug("Warming up the functions before the checkpoint with {} iterations.", this.iterations);
+        long start = System.nanoTime();
+        WarmupDynamoDbClient warmupClient = new WarmupDynamoDbClient(WARMUP_CITY_ID);
+        this.dynamoDbExecutor.replaceClient(warmupClient);
+        if (this.isAsyncMode()) {
+            this.dynamoDbExecutor.replaceAsyncClient(warmupClient.toAsyncClient());
+        }
+        try {
+            this.sharedPartitionCache.bypass(() -> this.functionMetrics.discardMetricsOf(this::warmUp));
+        } finally {
+            this.cityCache.invalidate(WARMUP_CITY_ID);
+            this.sectorCache.invalidate(WARMUP_CITY_ID);
+        }
+        // The connection to the cache server is not valid after the restore, as it's opened in another environment.
+        this.sharedPartitionCache.disconnect();
+        // The clients of a previous restore are not used anymore, as the warm-up client is kept until the restore.
+        this.closeRestoredClients();
+        LOGGER.debug("Functions warmed up in {} ms.", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public synchronized void afterRestore(final Context<? extends Resource> context) {
+        LOGGER.debug("Creating the DynamoDB clients after the restore.");
+        DynamoDbClient client = this.dynamoDbClientFactory.createClient();
+        DynamoDbAsyncClient asyncClient = this.isAsyncMode() ? this.dynamoDbClientFactory.createAsyncClient() : null;
+        this.dynamoDbExecutor.replaceClient(client);
+        if (Objects.nonNull(asyncClient)) {
+            this.dynamoDbExecutor.replaceAsyncClient(asyncClient);
+        }
+        this.closeRestoredClients();
+        this.restoredClient = client;
+        this.restoredAsyncClient = asyncClient;
+        if (this.sharedPartitionCache.isEnabled()) {
+            this.sharedPartitionCache.connect();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        this.closeRestoredClients();
+    }
+
+    private void closeRestoredClients() {
+        if (Objects.nonNull(this.restoredClient)) {
+            this.restoredClient.close();
+            this.restoredClient = null;
+        }
+        if (Objects.nonNull(this.restoredAsyncClient)) {
+            this.restoredAsyncClient.close();
+            this.restoredAsyncClient = null;
+        }
+    }
+
+    private void warmUp() {
+        CustomMessageConverter messageConverter = new CustomMessageConverter();
+        byte[] cityRequest = functionRequest(WARMUP_CITY_ID);
+        byte[] invalidRequest = functionRequest("invalid-city-id");
+        for (int i = 0; i < this.iterations; i++) {
+            // The city is evicted on each iteration, so the whole request path runs instead of the cache hits.
+            this.cityCache.invalidate(WARMUP_CITY_ID);
+            this.sectorCache.invalidate(WARMUP_CITY_ID);
+            this.findCityFunction.apply(toMessage(messageConverter, cityRequest)).block();
+            this.findSectorsFunction.apply(toMessage(messageConverter, cityRequest)).block();
+            if (i % ERROR_REQUEST_INTERVAL == 0) {
+                this.findCityFunction.apply(toMessage(messageConverter, invalidRequest)).block();
+            }
+        }
+    }
+
+    private boolean isAsyncMode() {
+        return DynamoDbClientMode.ASYNC.equals(this.dynamoDbExecutor.clientMode());
+    }
+
+    private static Message<FunctionRequest> toMessage(final CustomMessageConverter messageConverter,
+                                                      final byte[] request) {
+        FunctionRequest functionRequest = (FunctionRequest) messageConverter.fromMessage(
+            MessageBuilder.withPayload(request).build(), FunctionRequest.class);
+        return MessageBuilder.withPayload(Objects.requireNonNull(functionRequest)).build();
+    }
+
+    private static byte[] functionRequest(final String cityId) {
+        return ("{\"headers\":{\"content-type\":\"application/json\"},"
+            + "\"requestContext\":{\"requestId\":\"" + WARMUP_REQUEST_ID + "\"},"
+            + "\"body\":\"{\\\"cityId\\\":\\\"" + cityId + "\\\"}\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package hiperium.city.read.function.checkpoints;
+
+import hiperium.city.read.function.utils.SyntheticItems;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * DynamoDB client that answers the requests with synthetic items of a single city, so the functions can be
+ * warmed up before a checkpoint without sending any request to DynamoDB.
+ * <p>
+ * Queries whose key condition includes the sort key return the city item only, queries on the sector prefix
+ * return the sector items, and the other queries return the city item followed by its sectors.
+ * Point reads return the city item, and batch requests return the city item for each requested key.
+ */
+final class WarmupDynamoDbClient implements DynamoDbClient {
+
+    private static final int SECTORS_COUNT = 10;
+    private static final String WARMUP_TIME_ZONE = "UTC";
+
+    private final Map<String, AttributeValue> cityItem;
+    private final GetItemResponse itemResponse;
+    private final QueryResponse cityResponse;
+    private final QueryResponse sectorsResponse;
+    private final QueryResponse partitionResponse;
+
+    WarmupDynamoDbClient(final String cityId) {
+        this.cityItem = SyntheticItems.cityItem(cityId, WARMUP_TIME_ZONE);
+        List<Map<String, AttributeValue>> sectorItems = new ArrayList<>(SECTORS_COUNT);
+        for (int i = 1; i <= SECTORS_COUNT; i++) {
+            sectorItems.add(SyntheticItems.sectorItem(cityId, i));
+        }
+        List<Map<String, AttributeValue>> partitionItems = new ArrayList<>(SECTORS_COUNT + 1);
+        partitionItems.add(this.cityItem);
+        partitionItems.addAll(sectorItems);
+        this.itemResponse = GetItemResponse.builder().item(this.cityItem).build();
+        this.cityResponse = QueryResponse.builder().items(List.of(this.cityItem)).count(1).build();
+        this.sectorsResponse = QueryResponse.builder().items(sectorItems).count(sectorItems.size()).build();
+        this.partitionResponse = QueryResponse.builder().items(partitionItems).count(partitionItems.size()).build();
+    }
+
+    @Override
+    public QueryResponse query(final QueryRequest queryRequest) {
+        String keyCondition = queryRequest.keyConditionExpression();
+        if (keyCondition.contains("sk =")) {
+            return this.cityResponse;
+        }
+        return keyCondition.contains("begins_with") ? this.sectorsResponse : this.partitionResponse;
+    }
+
+    @Override
+    public GetItemResponse getItem(final GetItemRequest getItemRequest) {
+        return this.itemResponse;
+    }
+
+    @Override
+    public BatchGetItemResponse batchGetItem(final BatchGetItemRequest batchGetItemRequest) {
+        Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+        batchGetItemRequest.requestItems().forEach((tableName, keysAndAttributes) ->
+            responses.put(tableName, keysAndAttributes.keys().stream()
+                .map(key -> this.cityItem)
+                .toList()));
+        return BatchGetItemResponse.builder().responses(responses).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+
+    /**
+     * Returns an async client that answers the requests with the same items as this client.
+     *
+     * @return a {@link DynamoDbAsyncClient} backed by this client.
+     */
+    DynamoDbAsyncClient toAsyncClient() {
+        return new DynamoDbAsyncClient() {
+            @Override
+            public CompletableFuture<QueryResponse> query(final QueryRequest queryRequest) {
+                return CompletableFuture.completedFuture(WarmupDynamoDbClient.this.query(queryRequest));
+            }
+
+            @Override
+            public CompletableFuture<GetItemResponse> getItem(final GetItemRequest getItemRequest) {
+                return CompletableFuture.completedFuture(WarmupDynamoDbClient.this.getItem(getItemRequest));
+            }
+
+            @Override
+            public CompletableFuture<BatchGetItemResponse> batchGetItem(final BatchGetItemRequest batchGetItemRequest) {
+                return CompletableFuture.completedFuture(WarmupDynamoDbClient.this.batchGetItem(batchGetItemRequest));
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release.
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines the scheduler used to run the calls of the blocking {@code DynamoDbClient}.
+ * <p>
+ * {@link #BOUNDED_ELASTIC} uses the shared Reactor bounded-elastic scheduler, whose number of threads is capped.
+ * {@link #VIRTUAL_THREADS} runs each call in a new virtual thread, so a blocked call doesn't hold a platform thread.
+ */
+public enum BlockingSchedulerStrategy {
+    BOUNDED_ELASTIC,
+    VIRTUAL_THREADS
+}
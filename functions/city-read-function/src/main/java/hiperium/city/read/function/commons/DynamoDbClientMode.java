@@ -0,0 +1,13 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines the DynamoDB client used by the repositories to execute their requests.
+ * <p>
+ * {@link #SYNC} uses the blocking {@code DynamoDbClient}, offloading each call to a worker thread.
+ * {@link #ASYNC} uses the non-blocking {@code DynamoDbAsyncClient}, so no worker thread is held
+ * while a request is in flight.
+ */
+public enum DynamoDbClientMode {
+    SYNC,
+    ASYNC
+}
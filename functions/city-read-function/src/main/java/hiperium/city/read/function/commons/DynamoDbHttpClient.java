@@ -0,0 +1,12 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines the HTTP client used by the DynamoDB clients.
+ * <p>
+ * {@link #DEFAULT} keeps the clients configured by Spring Cloud AWS, using the Netty client in {@code ASYNC} mode.
+ * {@link #CRT} uses the AWS Common Runtime HTTP clients, which start faster and use less memory.
+ */
+public enum DynamoDbHttpClient {
+    DEFAULT,
+    CRT
+}
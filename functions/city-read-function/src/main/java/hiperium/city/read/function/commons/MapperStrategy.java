@@ -0,0 +1,12 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines the implementation used to map the DynamoDB items to the city and sector entities.
+ * <p>
+ * {@link #MAPSTRUCT} uses the {@code FunctionMapper} generated by MapStruct.
+ * {@link #DECODER} uses the {@code ItemDecoder}, which reads all the attributes of an item in a single pass.
+ */
+public enum MapperStrategy {
+    MAPSTRUCT,
+    DECODER
+}
@@ -0,0 +1,12 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines where the Embedded Metric Format lines of the function metrics are written.
+ * <p>
+ * {@link #LOG} writes them through the {@code EMF_METRICS} logger, so they follow the logging configuration
+ * of the function. {@link #STDOUT} writes them directly to the standard output.
+ */
+public enum MetricsOutput {
+    LOG,
+    STDOUT
+}
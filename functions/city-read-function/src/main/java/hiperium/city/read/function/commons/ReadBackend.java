@@ -0,0 +1,13 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines the source of the city and sector items read by the repositories.
+ * <p>
+ * {@link #DYNAMODB} reads every item from the DynamoDB table.
+ * {@link #SNAPSHOT} reads the items from the memory-mapped snapshot of the table, and only queries DynamoDB
+ * for the cities that are missing from the snapshot, or when the snapshot is stale.
+ */
+public enum ReadBackend {
+    DYNAMODB,
+    SNAPSHOT
+}
@@ -0,0 +1,13 @@
+package hiperium.city.read.function.commons;
+
+/**
+ * Defines how the sectors of a city are queried by their status.
+ * <p>
+ * {@link #FILTER} queries the partition of the city and filters the sectors by status after reading them,
+ * so the inactive sectors are also read and billed. {@link #INDEX} queries the sparse
+ * {@code ActiveSectorsIndex}, which only contains the active sectors, so no filter is needed.
+ */
+public enum SectorQueryStrategy {
+    FILTER,
+    INDEX
+}
@@ -1,25 +1,37 @@
 package hiperium.city.read.function.configurations;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import hiperium.city.functions.common.loggers.HiperiumLogger;
 import hiperium.city.functions.common.requests.FunctionRequest;
-import hiperium.city.functions.common.utils.DeserializerUtil;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
 import org.springframework.util.MimeType;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 /**
  * CustomMessageConverter is a custom implementation of {@link AbstractMessageConverter}
  * that is responsible for converting message payloads within the messaging system.
+ * <p>
+ * The API Gateway envelope is read straight from the payload bytes, without copying them into a String first,
+ * and the envelope fields that the functions never use are skipped as unknown properties. The request body is
+ * an escaped JSON string of the envelope, so it is bound as a String here and parsed in a second pass by the
+ * function after the routing, as the {@link FunctionRequest} is the routed input type shared by every function.
  */
 public class CustomMessageConverter extends AbstractMessageConverter {
 
     private static final HiperiumLogger LOGGER = new HiperiumLogger(CustomMessageConverter.class);
 
+    private static final ObjectReader REQUEST_READER = JsonMapper.builder()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build()
+        .readerFor(FunctionRequest.class);
+
     public CustomMessageConverter() {
         super(new MimeType("application", "json"));
     }
@@ -50,12 +62,12 @@ public class CustomMessageConverter extends AbstractMessageConverter {
         Object payload = message.getPayload();
         if (payload instanceof FunctionRequest) {
             return payload;
-        } else if (payload instanceof byte[]) {
-            String json = new String((byte[]) payload, StandardCharsets.UTF_8);
+        } else if (payload instanceof byte[] bytes) {
             try {
-                return DeserializerUtil.fromJson(json);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                return REQUEST_READER.readValue(bytes);
+            } catch (IOException exception) {
+                throw new MessageConversionException(message, "Error when reading the function request: "
+                    + exception.getMessage(), exception);
             }
         } else {
             throw new IllegalArgumentException("Unsupported payload type: " + payload.getClass());
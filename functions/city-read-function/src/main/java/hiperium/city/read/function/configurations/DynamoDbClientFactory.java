@@ -0,0 +1,87 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.DynamoDbHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+
+import java.net.URI;
+
+/**
+ * Factory for the DynamoDB clients that are not provided by Spring Cloud AWS, and for the clients created again
+ * after a checkpoint is restored.
+ * <p>
+ * The clients reuse the credentials and region resolved by Spring Cloud AWS, as well as the configured
+ * endpoint override, so all the clients always target the same DynamoDB instance.
+ */
+@Component
+public class DynamoDbClientFactory {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(DynamoDbClientFactory.class);
+
+    private final String endpoint;
+    private final DynamoDbHttpClient httpClient;
+    private final AwsRegionProvider regionProvider;
+    private final AwsCredentialsProvider credentialsProvider;
+
+    public DynamoDbClientFactory(@Value("${spring.cloud.aws.dynamodb.endpoint:${spring.cloud.aws.endpoint:}}") String endpoint,
+                                 @Value("${city.dynamodb.http-client:DEFAULT}") DynamoDbHttpClient httpClient,
+                                 AwsRegionProvider regionProvider,
+                                 AwsCredentialsProvider credentialsProvider) {
+        this.endpoint = endpoint;
+        this.httpClient = httpClient;
+        this.regionProvider = regionProvider;
+        this.credentialsProvider = credentialsProvider;
+    }
+
+    /**
+     * Creates a {@link DynamoDbClient} with the configured HTTP client. The AWS CRT HTTP client is used
+     * when the {@code city.dynamodb.http-client} property is {@code CRT}, and the SDK default HTTP client otherwise.
+     *
+     * @return a new {@link DynamoDbClient}.
+     */
+    public DynamoDbClient createClient() {
+        LOGGER.debug("Creating DynamoDB Client with HTTP client: {}", this.httpClient);
+        DynamoDbClientBuilder builder = DynamoDbClient.builder()
+            .credentialsProvider(this.credentialsProvider)
+            .region(this.regionProvider.getRegion());
+        if (DynamoDbHttpClient.CRT.equals(this.httpClient)) {
+            builder.httpClientBuilder(AwsCrtHttpClient.builder());
+        }
+        if (!this.endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(this.endpoint));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a {@link DynamoDbAsyncClient} with the configured HTTP client. The AWS CRT HTTP client is used
+     * when the {@code city.dynamodb.http-client} property is {@code CRT}, and the Netty HTTP client otherwise.
+     *
+     * @return a new {@link DynamoDbAsyncClient}.
+     */
+    public DynamoDbAsyncClient createAsyncClient() {
+        LOGGER.debug("Creating DynamoDB Async Client with HTTP client: {}", this.httpClient);
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+            .credentialsProvider(this.credentialsProvider)
+            .region(this.regionProvider.getRegion());
+        if (DynamoDbHttpClient.CRT.equals(this.httpClient)) {
+            builder.httpClientBuilder(AwsCrtAsyncHttpClient.builder());
+        } else {
+            builder.httpClientBuilder(NettyNioAsyncHttpClient.builder());
+        }
+        if (!this.endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(this.endpoint));
+        }
+        return builder.build();
+    }
+}
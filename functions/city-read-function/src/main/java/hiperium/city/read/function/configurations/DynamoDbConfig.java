@@ -0,0 +1,82 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.BlockingSchedulerStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class for the DynamoDB clients that are not provided by Spring Cloud AWS,
+ * and for the scheduler used to run the calls of the blocking client.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DynamoDbConfig {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(DynamoDbConfig.class);
+
+    /**
+     * Creates the {@link DynamoDbClient} with the {@link DynamoDbClientFactory}, replacing the client configured by
+     * Spring Cloud AWS when the {@code city.dynamodb.http-client} property is {@code CRT}, or when the CRaC resource
+     * is enabled, so the client created after a restore has the same configuration as this one.
+     * <p>
+     * The region is resolved once when the client is created, and the credentials and endpoint are the same ones
+     * used by the async client, so the first request doesn't need to resolve them again.
+     *
+     * @param dynamoDbClientFactory the factory of the DynamoDB clients.
+     * @return a {@link DynamoDbClient} backed by the configured HTTP client.
+     */
+    @Primary
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("'${city.dynamodb.http-client:DEFAULT}' == 'CRT' or ${city.crac.enabled:false}")
+    public DynamoDbClient factoryDynamoDbClient(DynamoDbClientFactory dynamoDbClientFactory) {
+        return dynamoDbClientFactory.createClient();
+    }
+
+    /**
+     * Creates the {@link DynamoDbAsyncClient} used by the repositories in {@code ASYNC} client mode.
+     * The bean is lazy, so the client and its event loop are only created when that mode is selected.
+     *
+     * @param dynamoDbClientFactory the factory of the DynamoDB clients.
+     * @return a {@link DynamoDbAsyncClient} backed by a non-blocking HTTP client, Netty by default or AWS CRT.
+     */
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public DynamoDbAsyncClient dynamoDbAsyncClient(DynamoDbClientFactory dynamoDbClientFactory) {
+        return dynamoDbClientFactory.createAsyncClient();
+    }
+
+    /**
+     * Creates the {@link Scheduler} used to run the calls of the blocking {@code DynamoDbClient},
+     * depending on the {@code city.dynamodb.scheduler} property.
+     * <p>
+     * The virtual-thread scheduler creates a new virtual thread per call, so the number of concurrent calls is
+     * not capped by the scheduler. The calls are still limited by the {@code city.dynamodb.max-concurrency} property.
+     * <p>
+     * Disposing the shared bounded-elastic scheduler has no effect, so only the virtual-thread scheduler is released
+     * when the application context is closed.
+     *
+     * @param strategy the scheduler strategy to be used.
+     * @return the shared bounded-elastic {@link Scheduler}, or a {@link Scheduler} backed by virtual threads.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler dynamoDbScheduler(@Value("${city.dynamodb.scheduler:BOUNDED_ELASTIC}")
+                                       BlockingSchedulerStrategy strategy) {
+        LOGGER.debug("Creating DynamoDB Scheduler: {}", strategy);
+        return switch (strategy) {
+            case BOUNDED_ELASTIC -> Schedulers.boundedElastic();
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dynamodb-", 0).factory()),
+                "dynamodb-virtual-threads");
+        };
+    }
+}
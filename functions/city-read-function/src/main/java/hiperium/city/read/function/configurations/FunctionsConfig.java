@@ -5,6 +5,7 @@ import org.springframework.cloud.function.context.DefaultMessageRoutingHandler;
 import org.springframework.cloud.function.context.MessageRoutingCallback;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.converter.MessageConverter;
 
 /**
@@ -42,9 +43,11 @@ public class FunctionsConfig {
 
     /**
      * Creates and registers a bean for handling non-routable messages in the messaging system.
+     * The bean is lazy, as it is only needed when a message can't be routed to a function.
      *
      * @return an instance of {@link DefaultMessageRoutingHandler} configured to handle non-routable messages.
      */
+    @Lazy
     @Bean
     public DefaultMessageRoutingHandler defaultMessageRoutingHandler() {
         LOGGER.debug("Creating Non-Routable Message Handler.");
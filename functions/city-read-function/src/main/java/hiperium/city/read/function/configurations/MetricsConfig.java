@@ -0,0 +1,58 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.MetricsOutput;
+import hiperium.city.read.function.metrics.EmfMeterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+/**
+ * Configuration class for the Micrometer registry of the function metrics.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    /**
+     * Name of the logger that writes the Embedded Metric Format lines. It is configured with its own appender,
+     * because CloudWatch only extracts the metrics from log lines that contain the EMF JSON object alone.
+     */
+    public static final String EMF_LOGGER_NAME = "EMF_METRICS";
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(MetricsConfig.class);
+
+    /**
+     * Creates the {@link MeterRegistry} of the function metrics. When the metrics are enabled, the meters are
+     * published as CloudWatch Embedded Metric Format lines at the end of each invocation and when the context is
+     * closed. Otherwise, a registry without children is created, so the meters don't record any value.
+     *
+     * @param enabled   whether the metrics are published.
+     * @param namespace the CloudWatch namespace of the metrics.
+     * @param output    where the metric lines are written.
+     * @return the {@link MeterRegistry} used by the function.
+     */
+    @Bean(destroyMethod = "close")
+    public MeterRegistry meterRegistry(@Value("${city.metrics.enabled:true}") boolean enabled,
+                                       @Value("${city.metrics.namespace:Hiperium/City}") String namespace,
+                                       @Value("${city.metrics.output:LOG}") MetricsOutput output) {
+        LOGGER.debug("Creating Meter Registry. Metrics enabled: {}", enabled);
+        if (!enabled) {
+            return new CompositeMeterRegistry();
+        }
+        return new EmfMeterRegistry(namespace, sink(output));
+    }
+
+    private static Consumer<String> sink(final MetricsOutput output) {
+        if (MetricsOutput.STDOUT.equals(output)) {
+            return System.out::println;
+        }
+        Logger emfLogger = LoggerFactory.getLogger(EMF_LOGGER_NAME);
+        return emfLogger::info;
+    }
+}
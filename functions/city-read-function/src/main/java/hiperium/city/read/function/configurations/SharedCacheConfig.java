@@ -0,0 +1,50 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the client of the cache shared by the function containers.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SharedCacheConfig {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(SharedCacheConfig.class);
+
+    /**
+     * Creates the {@link RedisClient} used by the shared cache when the {@code city.shared-cache.enabled}
+     * property is {@code true}. The client is only created here, and the shared cache opens its connection
+     * in the background, so creating the client doesn't delay the start of the function.
+     * <p>
+     * Each connection attempt is bounded by the {@code city.shared-cache.connect-timeout} property,
+     * and each command by the {@code city.shared-cache.timeout} property.
+     *
+     * @param uri            the URI of the cache server, for example {@code redis://localhost:6379}.
+     * @param connectTimeout the maximum duration of the connection to the cache server.
+     * @param timeout        the maximum duration of each command.
+     * @return a {@link RedisClient} for the shared cache server.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "city.shared-cache.enabled", havingValue = "true")
+    public RedisClient sharedCacheRedisClient(
+        @Value("${city.shared-cache.uri}") String uri,
+        @Value("${city.shared-cache.connect-timeout:PT1S}") Duration connectTimeout,
+        @Value("${city.shared-cache.timeout:PT0.2S}") Duration timeout) {
+        LOGGER.debug("Creating Shared Cache Client.");
+        RedisClient redisClient = RedisClient.create(uri);
+        redisClient.setOptions(ClientOptions.builder()
+            .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+            .timeoutOptions(TimeoutOptions.enabled(timeout))
+            .build());
+        return redisClient;
+    }
+}
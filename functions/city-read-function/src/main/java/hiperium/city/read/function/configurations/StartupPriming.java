@@ -0,0 +1,94 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.read.function.mappers.FunctionMapper;
+import hiperium.city.read.function.mappers.ItemDecoder;
+import hiperium.city.read.function.repositories.DynamoDbExecutor;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.utils.SyntheticItems;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the request path once with synthetic data when the application context is initialized, so the classes
+ * and the caches used by the first request are loaded during the function init phase instead of the first invocation.
+ * <p>
+ * The priming maps a city and a sector item with both mapper strategies, serializes the mapped entities,
+ * and sends a DescribeTable request for the city table to DynamoDB. The request resolves the credentials and the
+ * endpoint, and opens the HTTP connection, without consuming the read capacity of the table on each cold start.
+ * Any error is logged and ignored, so the priming never prevents the function from starting.
+ */
+@Component
+@ConditionalOnProperty(name = "city.startup.priming.enabled", havingValue = "true")
+public class StartupPriming implements SmartInitializingSingleton {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(StartupPriming.class);
+    private static final String PRIMING_TIME_ZONE = "UTC";
+
+    private final String tableName;
+    private final Duration timeout;
+    private final ItemDecoder itemDecoder;
+    private final FunctionMapper functionMapper;
+    private final ResponseWriter responseWriter;
+    private final DynamoDbExecutor dynamoDbExecutor;
+    private final TimeZoneProvider timeZoneProvider;
+
+    public StartupPriming(@Value("${city.table}") String tableName,
+                          @Value("${city.startup.priming.timeout:PT2S}") Duration timeout,
+                          ItemDecoder itemDecoder,
+                          FunctionMapper functionMapper,
+                          ResponseWriter responseWriter,
+                          DynamoDbExecutor dynamoDbExecutor,
+                          TimeZoneProvider timeZoneProvider) {
+        this.tableName = tableName;
+        this.timeout = timeout;
+        this.itemDecoder = itemDecoder;
+        this.functionMapper = functionMapper;
+        this.responseWriter = responseWriter;
+        this.dynamoDbExecutor = dynamoDbExecutor;
+        this.timeZoneProvider = timeZoneProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        this.primeMappers();
+        this.primeDynamoDbClient();
+        LOGGER.debug("Startup priming completed in {} ms.", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void primeMappers() {
+        try {
+            String cityId = UUID.randomUUID().toString();
+            Map<String, AttributeValue> cityItem = SyntheticItems.cityItem(cityId, PRIMING_TIME_ZONE);
+            Map<String, AttributeValue> sectorItem = SyntheticItems.sectorItem(cityId, 1);
+            this.responseWriter.success(List.of(
+                this.itemDecoder.decodeCity(cityItem),
+                this.itemDecoder.decodeSector(sectorItem),
+                this.itemDecoder.decodeSectorSummary(sectorItem),
+                this.functionMapper.mapCityDataResponse(cityItem, this.timeZoneProvider),
+                this.functionMapper.mapSectorsDataResponse(sectorItem, this.timeZoneProvider)));
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Error when priming the item mappers: {}", exception.getMessage());
+        }
+    }
+
+    private void primeDynamoDbClient() {
+        try {
+            this.dynamoDbExecutor.describeTable(DescribeTableRequest.builder().tableName(this.tableName).build())
+                .block(this.timeout);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Error when priming the DynamoDB client: {}", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the Jakarta Bean Validation components.
+ * <p>
+ * The {@link ValidatorFactory} bootstraps the validation provider, so it is created only once
+ * and closed when the application context is closed.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ValidationConfig {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(ValidationConfig.class);
+
+    /**
+     * Creates the {@link ValidatorFactory} of the default validation provider.
+     *
+     * @return the default {@link ValidatorFactory}.
+     */
+    @Bean(destroyMethod = "close")
+    public ValidatorFactory validatorFactory() {
+        LOGGER.debug("Creating Validator Factory.");
+        return Validation.buildDefaultValidatorFactory();
+    }
+
+    /**
+     * Creates the thread-safe {@link Validator} shared by all the function invocations.
+     *
+     * @param validatorFactory the factory used to create the validator.
+     * @return the {@link Validator} instance.
+     */
+    @Bean
+    public Validator validator(ValidatorFactory validatorFactory) {
+        LOGGER.debug("Creating Validator.");
+        return validatorFactory.getValidator();
+    }
+}
@@ -0,0 +1,21 @@
+package hiperium.city.read.function.exceptions;
+
+import hiperium.city.functions.common.exceptions.InactiveCityException;
+
+/**
+ * Exception raised when the requested city exists but is inactive.
+ * <p>
+ * An inactive city is an expected outcome of a lookup, so the exception doesn't capture the stack trace.
+ * It is handled as any other {@link InactiveCityException}, producing the same response.
+ */
+public class CityInactiveException extends InactiveCityException {
+
+    public CityInactiveException(final String cityId, final String requestId) {
+        super("Cannot perform operations on an Inactive city: " + cityId, requestId);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,21 @@
+package hiperium.city.read.function.exceptions;
+
+import hiperium.city.functions.common.exceptions.ResourceNotFoundException;
+
+/**
+ * Exception raised when the requested city doesn't exist.
+ * <p>
+ * A missing city is an expected outcome of a lookup, so the exception doesn't capture the stack trace.
+ * It is handled as any other {@link ResourceNotFoundException}, producing the same response.
+ */
+public class CityNotFoundException extends ResourceNotFoundException {
+
+    public CityNotFoundException(final String cityId, final String requestId) {
+        super("City not found with ID: " + cityId, requestId);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,99 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.requests.CityChangeRecord;
+import hiperium.city.read.function.responses.CityChangesResponse;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The ApplyCityChangesFunction class implements the Function interface, allowing it to process a batch of records
+ * of the DynamoDB stream of the city table, to apply the changes of the items to the {@link SharedPartitionCache}.
+ * It is intended to be invoked by the event source mapping of the stream, so the partitions cached by all the
+ * function containers are updated without waiting for their TTL.
+ * <p>
+ * The new image of an inserted or modified item replaces the cached item, and a removed item is removed from its
+ * cached partition. When the stream doesn't include the new images, the whole partition is evicted instead, so it
+ * is read again from DynamoDB. The partitions that are not cached are left as they are.
+ * <p>
+ * The records are applied in the order of the stream. When a record can't be applied, the remaining records are
+ * not applied, and the sequence number of the record is returned as a partial batch failure, so the event source
+ * mapping retries the batch from that record. When the batch itself can't be read, the invocation fails,
+ * so the whole batch is retried.
+ */
+@Lazy
+@Component(ApplyCityChangesFunction.FUNCTION_NAME)
+public class ApplyCityChangesFunction implements Function<Message<byte[]>, Mono<Message<byte[]>>> {
+
+    public static final String FUNCTION_NAME = "applyCityChanges";
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(ApplyCityChangesFunction.class);
+
+    private final ResponseWriter responseWriter;
+    private final SharedPartitionCache sharedPartitionCache;
+    private final FunctionMetrics functionMetrics;
+
+    public ApplyCityChangesFunction(ResponseWriter responseWriter,
+                                    SharedPartitionCache sharedPartitionCache,
+                                    FunctionMetrics functionMetrics) {
+        this.responseWriter = responseWriter;
+        this.sharedPartitionCache = sharedPartitionCache;
+        this.functionMetrics = functionMetrics;
+    }
+
+    @Override
+    public Mono<Message<byte[]>> apply(Message<byte[]> eventMessage) {
+        return Mono.fromCallable(() -> UnmarshallUtils.deserializeChangesRequest(eventMessage.getPayload()))
+            .flatMap(this::applyChanges)
+            .map(this.responseWriter::success)
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response))
+            // An error response would be taken as a successful batch, so the error is returned to the runtime.
+            .doOnError(exception -> {
+                LOGGER.error("Error when applying the changes of the batch: {}", exception.getMessage());
+                this.functionMetrics.flush();
+            });
+    }
+
+    private Mono<CityChangesResponse> applyChanges(final List<CityChangeRecord> changes) {
+        if (!this.sharedPartitionCache.isEnabled()) {
+            LOGGER.debug("Shared cache disabled, skipping {} changes.", changes.size());
+            return Mono.just(new CityChangesResponse(List.of()));
+        }
+        return Flux.fromIterable(changes)
+            .filter(change -> Objects.nonNull(change.cityId()))
+            .concatMap(change -> this.applyChange(change)
+                .then(Mono.<String>empty())
+                .onErrorResume(exception -> {
+                    LOGGER.error("Error when applying the change {} of city {}: {}",
+                        change.sequenceNumber(), change.cityId(), exception.getMessage());
+                    return Mono.just(change.sequenceNumber());
+                }))
+            // The first failed record stops the batch, as the records after it are retried with it.
+            .next()
+            .map(sequenceNumber -> new CityChangesResponse(
+                List.of(new CityChangesResponse.BatchItemFailure(sequenceNumber))))
+            .defaultIfEmpty(new CityChangesResponse(List.of()));
+    }
+
+    private Mono<Void> applyChange(final CityChangeRecord change) {
+        LOGGER.debug("Applying {} change of item {} of city {}", change.eventName(), change.sortKey(), change.cityId());
+        return switch (change.eventName()) {
+            case "INSERT", "MODIFY" -> Objects.nonNull(change.newImage())
+                ? this.sharedPartitionCache.putItem(change.cityId(), change.newImage()).then()
+                : this.sharedPartitionCache.evict(change.cityId());
+            case "REMOVE" -> this.sharedPartitionCache.removeItem(change.cityId(), change.sortKey());
+            default -> this.sharedPartitionCache.evict(change.cityId());
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.services.SectorService;
+import hiperium.city.read.function.utils.ExceptionHandlerUtil;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import hiperium.city.read.function.validations.RequestValidator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * The FindAreaSectorsFunction class implements the Function interface, allowing it to process a message
+ * to find the active sectors of a city inside a bounding box or a polygon using the SectorService.
+ * The lookups are answered from the in-memory spatial index of the cached sectors of the city,
+ * so the many small lookups of a map viewport don't read the partition of the city again.
+ */
+@Lazy
+@Component(FindAreaSectorsFunction.FUNCTION_NAME)
+public class FindAreaSectorsFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
+
+    public static final String FUNCTION_NAME = "findSectorsInArea";
+
+    private final SectorService sectorService;
+    private final ResponseWriter responseWriter;
+    private final FunctionMetrics functionMetrics;
+    private final RequestValidator requestValidator;
+
+    public FindAreaSectorsFunction(SectorService sectorService,
+                                   ResponseWriter responseWriter,
+                                   FunctionMetrics functionMetrics,
+                                   RequestValidator requestValidator) {
+        this.sectorService = sectorService;
+        this.responseWriter = responseWriter;
+        this.functionMetrics = functionMetrics;
+        this.requestValidator = requestValidator;
+    }
+
+    @Override
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeAreaRequest(requestMessage.getPayload())))
+            .doOnNext(areaRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(areaRequest)))
+            .flatMap(areaRequest -> this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE,
+                this.sectorService.findActiveSectorsInArea(areaRequest)))
+            .map(sectors -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> this.responseWriter.success(sectors)))
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
+    }
+}
@@ -0,0 +1,85 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.requests.CitiesDataRequest;
+import hiperium.city.read.function.responses.CitiesLookupResponse;
+import hiperium.city.read.function.responses.CityLookupResult;
+import hiperium.city.read.function.responses.CityLookupStatus;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.services.CityService;
+import hiperium.city.read.function.utils.ExceptionHandlerUtil;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import hiperium.city.read.function.validations.RequestValidator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The FindCitiesFunction class implements the Function interface, allowing it to process a message
+ * to find many cities by ID in a single invocation using the CityService. The request fails only when
+ * the list of city IDs is not valid, while the outcome of each city is returned as an individual result,
+ * so an invalid, missing or inactive city doesn't fail the lookup of the other cities.
+ * <p>
+ * The results are serialized straight into JSON bytes by the {@link ResponseWriter}.
+ */
+@Lazy
+@Component(FindCitiesFunction.FUNCTION_NAME)
+public class FindCitiesFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
+
+    public static final String FUNCTION_NAME = "findCitiesByIds";
+
+    private final CityService cityService;
+    private final ResponseWriter responseWriter;
+    private final FunctionMetrics functionMetrics;
+    private final RequestValidator requestValidator;
+
+    public FindCitiesFunction(CityService cityService,
+                              ResponseWriter responseWriter,
+                              FunctionMetrics functionMetrics,
+                              RequestValidator requestValidator) {
+        this.cityService = cityService;
+        this.responseWriter = responseWriter;
+        this.functionMetrics = functionMetrics;
+        this.requestValidator = requestValidator;
+    }
+
+    @Override
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeCitiesRequest(requestMessage.getPayload())))
+            .doOnNext(citiesRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(citiesRequest)))
+            .flatMap(citiesRequest -> this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE,
+                this.findCities(citiesRequest)))
+            .map(response -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> this.responseWriter.success(response)))
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
+    }
+
+    private Mono<CitiesLookupResponse> findCities(final CitiesDataRequest citiesRequest) {
+        Map<String, String> violations = this.requestValidator.findCityIdViolations(citiesRequest.cityIds());
+        List<String> validIds = citiesRequest.cityIds().stream()
+            .filter(cityId -> !violations.containsKey(cityId))
+            .toList();
+        Mono<List<CityLookupResult>> validResults = validIds.isEmpty()
+            ? Mono.just(List.of())
+            : this.cityService.findCitiesByIds(validIds, citiesRequest.requestId());
+        return validResults.map(results -> {
+            Map<String, CityLookupResult> resultsById = new HashMap<>();
+            violations.forEach((cityId, violation) ->
+                resultsById.put(cityId, CityLookupResult.failed(cityId, CityLookupStatus.INVALID, violation)));
+            results.forEach(result -> resultsById.put(result.cityId(), result));
+            return new CitiesLookupResponse(citiesRequest.cityIds().stream()
+                .map(resultsById::get)
+                .toList());
+        });
+    }
+}
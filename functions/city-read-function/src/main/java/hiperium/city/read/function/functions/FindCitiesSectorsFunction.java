@@ -0,0 +1,80 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.requests.CitiesDataRequest;
+import hiperium.city.read.function.responses.CitiesSectorsResponse;
+import hiperium.city.read.function.responses.CityLookupStatus;
+import hiperium.city.read.function.responses.CitySectorsResult;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.services.SectorService;
+import hiperium.city.read.function.utils.ExceptionHandlerUtil;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import hiperium.city.read.function.validations.RequestValidator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The FindCitiesSectorsFunction class implements the Function interface, allowing it to process a message
+ * to find the active sectors of many cities in a single invocation using the SectorService.
+ * The lookups of the cities run concurrently, and the outcome of each city is returned as an individual result,
+ * so an invalid, missing, inactive or timed out city doesn't fail the lookup of the other cities.
+ * <p>
+ * The results are serialized straight into JSON bytes by the {@link ResponseWriter}.
+ */
+@Lazy
+@Component(FindCitiesSectorsFunction.FUNCTION_NAME)
+public class FindCitiesSectorsFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
+
+    public static final String FUNCTION_NAME = "findSectorsByCityIds";
+
+    private final SectorService sectorService;
+    private final ResponseWriter responseWriter;
+    private final FunctionMetrics functionMetrics;
+    private final RequestValidator requestValidator;
+
+    public FindCitiesSectorsFunction(SectorService sectorService,
+                                     ResponseWriter responseWriter,
+                                     FunctionMetrics functionMetrics,
+                                     RequestValidator requestValidator) {
+        this.sectorService = sectorService;
+        this.responseWriter = responseWriter;
+        this.functionMetrics = functionMetrics;
+        this.requestValidator = requestValidator;
+    }
+
+    @Override
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeCitiesRequest(requestMessage.getPayload())))
+            .doOnNext(citiesRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(citiesRequest)))
+            .flatMap(citiesRequest -> this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE,
+                this.findSectors(citiesRequest)))
+            .map(response -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> this.responseWriter.success(response)))
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
+    }
+
+    private Mono<CitiesSectorsResponse> findSectors(final CitiesDataRequest citiesRequest) {
+        Map<String, String> violations = this.requestValidator.findCityIdViolations(citiesRequest.cityIds());
+        List<String> validIds = citiesRequest.cityIds().stream()
+            .filter(cityId -> !violations.containsKey(cityId))
+            .toList();
+        Flux<CitySectorsResult> invalidResults = Flux.fromIterable(citiesRequest.cityIds())
+            .filter(violations::containsKey)
+            .map(cityId -> CitySectorsResult.failed(cityId, CityLookupStatus.INVALID, violations.get(cityId)));
+        return invalidResults
+            .concatWith(this.sectorService.findActiveSectorsByCityIds(validIds, citiesRequest.requestId()))
+            .collectList()
+            .map(CitiesSectorsResponse::new);
+    }
+}
@@ -1,11 +1,12 @@
 package hiperium.city.read.function.functions;
 
 import hiperium.city.functions.common.requests.FunctionRequest;
-import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.serializers.ResponseWriter;
 import hiperium.city.read.function.services.CityService;
 import hiperium.city.read.function.utils.ExceptionHandlerUtil;
 import hiperium.city.read.function.utils.UnmarshallUtils;
-import hiperium.city.read.function.utils.ValidationUtils;
+import hiperium.city.read.function.validations.RequestValidator;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
@@ -17,24 +18,41 @@ import java.util.function.Function;
  * to find an active city by ID using the CityService. It handles deserialization and validation
  * of the request, invokes a service call to retrieve the city data, and returns a response wrapped
  * in a reactive {@link Mono} stream.
+ * <p>
+ * The city is serialized straight into JSON bytes by the {@link ResponseWriter}, and the bytes of a cached
+ * city are reused while the city remains cached.
  */
 @Component(FindCityFunction.FUNCTION_NAME)
-public class FindCityFunction implements Function<Message<FunctionRequest>, Mono<Message<String>>> {
+public class FindCityFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
 
     public static final String FUNCTION_NAME = "findCityById";
 
     private final CityService cityService;
+    private final ResponseWriter responseWriter;
+    private final FunctionMetrics functionMetrics;
+    private final RequestValidator requestValidator;
 
-    public FindCityFunction(CityService cityService) {
+    public FindCityFunction(CityService cityService,
+                            ResponseWriter responseWriter,
+                            FunctionMetrics functionMetrics,
+                            RequestValidator requestValidator) {
         this.cityService = cityService;
+        this.responseWriter = responseWriter;
+        this.functionMetrics = functionMetrics;
+        this.requestValidator = requestValidator;
     }
 
     @Override
-    public Mono<Message<String>> apply(Message<FunctionRequest> requestMessage) {
-        return Mono.just(UnmarshallUtils.deserializeRequest(requestMessage.getPayload()))
-            .doOnNext(ValidationUtils::validateRequest)
-            .flatMap(this.cityService::findActiveCityById)
-            .map(ResponseUtil::success)
-            .onErrorResume(ExceptionHandlerUtil::handleException);
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeRequest(requestMessage.getPayload())))
+            .doOnNext(cityDataRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(cityDataRequest)))
+            .flatMap(cityDataRequest -> this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE,
+                this.cityService.findActiveCityById(cityDataRequest)))
+            .map(cityEntity -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> this.responseWriter.successCachedCity(cityEntity)))
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
     }
 }
@@ -0,0 +1,57 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.services.NearbySectorService;
+import hiperium.city.read.function.utils.ExceptionHandlerUtil;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import hiperium.city.read.function.validations.RequestValidator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * The FindNearbySectorsFunction class implements the Function interface, allowing it to process a message
+ * to find the active sectors of a city near a point using the NearbySectorService. The sectors within
+ * the radius of the request, or the nearest sectors up to the limit of the request, are returned
+ * along with their distance to the point, nearest first.
+ */
+@Lazy
+@Component(FindNearbySectorsFunction.FUNCTION_NAME)
+public class FindNearbySectorsFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
+
+    public static final String FUNCTION_NAME = "findNearbySectors";
+
+    private final ResponseWriter responseWriter;
+    private final FunctionMetrics functionMetrics;
+    private final RequestValidator requestValidator;
+    private final NearbySectorService nearbySectorService;
+
+    public FindNearbySectorsFunction(ResponseWriter responseWriter,
+                                     FunctionMetrics functionMetrics,
+                                     RequestValidator requestValidator,
+                                     NearbySectorService nearbySectorService) {
+        this.responseWriter = responseWriter;
+        this.functionMetrics = functionMetrics;
+        this.requestValidator = requestValidator;
+        this.nearbySectorService = nearbySectorService;
+    }
+
+    @Override
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeNearbyRequest(requestMessage.getPayload())))
+            .doOnNext(nearbyRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(nearbyRequest)))
+            .flatMap(nearbyRequest -> this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE,
+                this.nearbySectorService.findNearbySectors(nearbyRequest)))
+            .map(nearbySectors -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> this.responseWriter.success(nearbySectors)))
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
+    }
+}
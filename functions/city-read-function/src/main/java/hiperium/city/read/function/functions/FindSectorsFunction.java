@@ -1,15 +1,19 @@
 package hiperium.city.read.function.functions;
 
 import hiperium.city.functions.common.requests.FunctionRequest;
-import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.QueryOptions;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.serializers.ResponseWriter;
 import hiperium.city.read.function.services.SectorService;
 import hiperium.city.read.function.utils.ExceptionHandlerUtil;
 import hiperium.city.read.function.utils.UnmarshallUtils;
-import hiperium.city.read.function.utils.ValidationUtils;
+import hiperium.city.read.function.validations.RequestValidator;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -17,24 +21,64 @@ import java.util.function.Function;
  * to find active city sectors by ID using the CityService. It handles deserialization and validation
  * of the request, invokes a service call to retrieve the city sectors data, and returns a response wrapped
  * in a reactive {@link Mono} stream.
+ * <p>
+ * When the request contains a page size or a cursor, a single page of sectors is returned
+ * along with the cursor of the next page. Otherwise, all the active sectors of the city are returned.
+ * When the request enables the summary option, only the name, status and coordinates of each sector are returned.
+ * <p>
+ * The response is serialized straight into JSON bytes by the {@link ResponseWriter}, and the bytes of the
+ * cached list of all the active sectors are reused while the list remains cached.
  */
 @Component(FindSectorsFunction.FUNCTION_NAME)
-public class FindSectorsFunction implements Function<Message<FunctionRequest>, Mono<Message<String>>> {
+public class FindSectorsFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
 
     public static final String FUNCTION_NAME = "findSectorsByCityId";
 
     private final SectorService sectorService;
+    private final ResponseWriter responseWriter;
+    private final FunctionMetrics functionMetrics;
+    private final RequestValidator requestValidator;
 
-    public FindSectorsFunction(SectorService sectorService) {
+    public FindSectorsFunction(SectorService sectorService,
+                               ResponseWriter responseWriter,
+                               FunctionMetrics functionMetrics,
+                               RequestValidator requestValidator) {
         this.sectorService = sectorService;
+        this.responseWriter = responseWriter;
+        this.functionMetrics = functionMetrics;
+        this.requestValidator = requestValidator;
     }
 
     @Override
-    public Mono<Message<String>> apply(Message<FunctionRequest> requestMessage) {
-        return Mono.just(UnmarshallUtils.deserializeRequest(requestMessage.getPayload()))
-            .doOnNext(ValidationUtils::validateRequest)
-            .flatMap(this.sectorService::findActiveSectorsByCityId)
-            .map(ResponseUtil::success)
-            .onErrorResume(ExceptionHandlerUtil::handleException);
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeRequest(requestMessage.getPayload())))
+            .doOnNext(cityDataRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(cityDataRequest)))
+            .flatMap(this::findSectors)
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
+    }
+
+    private Mono<Message<byte[]>> findSectors(final CityDataRequest cityDataRequest) {
+        final QueryOptions queryOptions = cityDataRequest.queryOptions();
+        final boolean paginated = Objects.nonNull(queryOptions) && queryOptions.isPaginated();
+        if (Objects.nonNull(queryOptions) && queryOptions.isSummary()) {
+            return this.executeAndSerialize(paginated
+                ? this.sectorService.findActiveSectorSummariesPage(cityDataRequest)
+                : this.sectorService.findActiveSectorSummaries(cityDataRequest), this.responseWriter::success);
+        }
+        return paginated
+            ? this.executeAndSerialize(this.sectorService.findActiveSectorsPage(cityDataRequest),
+                this.responseWriter::success)
+            : this.executeAndSerialize(this.sectorService.findActiveSectorsByCityId(cityDataRequest),
+                this.responseWriter::successCachedSectors);
+    }
+
+    private <T> Mono<Message<byte[]>> executeAndSerialize(final Mono<T> sectors,
+                                                          final Function<? super T, Message<byte[]>> serializer) {
+        return this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE, sectors)
+            .map(response -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> serializer.apply(response)));
     }
 }
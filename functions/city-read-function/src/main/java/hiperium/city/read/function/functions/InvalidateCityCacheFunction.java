@@ -0,0 +1,94 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.enums.ErrorCode;
+import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.read.function.caches.CityCache;
+import hiperium.city.read.function.caches.SectorCache;
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.responses.CacheInvalidationResponse;
+import hiperium.city.read.function.serializers.ResponseWriter;
+import hiperium.city.read.function.snapshots.SnapshotStore;
+import hiperium.city.read.function.utils.ExceptionHandlerUtil;
+import hiperium.city.read.function.utils.UnmarshallUtils;
+import hiperium.city.read.function.validations.RequestValidator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * The InvalidateCityCacheFunction class implements the Function interface, allowing it to process a message
+ * to evict the cached city and sector entries of a city. It is intended to be invoked by the write-side pipeline
+ * after a city or its sectors are updated, so the stale entries are removed before their TTL expires.
+ * <p>
+ * The city is also marked as stale in the {@link SnapshotStore}, so its items are read from DynamoDB
+ * until a new snapshot is deployed, and its partition is evicted from the {@link SharedPartitionCache}.
+ * <p>
+ * The city and sector caches live inside each warm function container, so only the container handling the request
+ * is affected by their eviction.
+ */
+@Lazy
+@Component(InvalidateCityCacheFunction.FUNCTION_NAME)
+public class InvalidateCityCacheFunction implements Function<Message<FunctionRequest>, Mono<Message<byte[]>>> {
+
+    public static final String FUNCTION_NAME = "invalidateCityCache";
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(InvalidateCityCacheFunction.class);
+
+    private final CityCache cityCache;
+    private final SectorCache sectorCache;
+    private final SnapshotStore snapshotStore;
+    private final SharedPartitionCache sharedPartitionCache;
+    private final ResponseWriter responseWriter;
+    private final RequestValidator requestValidator;
+    private final FunctionMetrics functionMetrics;
+
+    public InvalidateCityCacheFunction(CityCache cityCache,
+                                       SectorCache sectorCache,
+                                       SnapshotStore snapshotStore,
+                                       SharedPartitionCache sharedPartitionCache,
+                                       ResponseWriter responseWriter,
+                                       RequestValidator requestValidator,
+                                       FunctionMetrics functionMetrics) {
+        this.cityCache = cityCache;
+        this.sectorCache = sectorCache;
+        this.snapshotStore = snapshotStore;
+        this.sharedPartitionCache = sharedPartitionCache;
+        this.responseWriter = responseWriter;
+        this.requestValidator = requestValidator;
+        this.functionMetrics = functionMetrics;
+    }
+
+    @Override
+    public Mono<Message<byte[]>> apply(Message<FunctionRequest> requestMessage) {
+        return Mono.fromCallable(() -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_DESERIALIZE,
+                () -> UnmarshallUtils.deserializeRequest(requestMessage.getPayload())))
+            .doOnNext(cityDataRequest -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_VALIDATE,
+                () -> this.requestValidator.validateRequest(cityDataRequest)))
+            .flatMap(cityDataRequest -> this.functionMetrics.timeStage(FUNCTION_NAME, FunctionMetrics.STAGE_EXECUTE,
+                this.invalidate(cityDataRequest)))
+            .map(response -> this.functionMetrics.recordStage(FUNCTION_NAME, FunctionMetrics.STAGE_SERIALIZE,
+                () -> this.responseWriter.success(response)))
+            .onErrorResume(throwable -> ExceptionHandlerUtil.handleException(throwable).map(ResponseWriter::toBytes))
+            .doOnNext(response -> this.functionMetrics.recordInvocation(FUNCTION_NAME, response));
+    }
+
+    private Mono<CacheInvalidationResponse> invalidate(final CityDataRequest cityDataRequest) {
+        final String cityId = cityDataRequest.cityIdRequest().cityId();
+        LOGGER.debug("Invalidating cached entries of city: {}", cityId);
+        this.cityCache.invalidate(cityId);
+        this.sectorCache.invalidate(cityId);
+        this.snapshotStore.invalidate(cityId);
+        return this.sharedPartitionCache.evict(cityId)
+            .onErrorMap(exception -> new CityException(
+                "Error when evicting the shared cache partition of city: " + cityId,
+                ErrorCode.INTERNAL_001, cityDataRequest.requestId(), exception))
+            .thenReturn(new CacheInvalidationResponse(cityId));
+    }
+}
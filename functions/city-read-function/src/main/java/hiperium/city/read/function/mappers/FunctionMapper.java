@@ -9,6 +9,7 @@ import hiperium.city.read.function.commons.EntityMetadata;
 import hiperium.city.read.function.commons.TimeZoneProvider;
 import hiperium.city.read.function.entities.CityEntity;
 import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.responses.SectorSummary;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -59,19 +60,43 @@ public interface FunctionMapper {
     @Mapping(target = "entityMetadata", expression = "java(mapMetadataAttributes(item, timeZoneProvider))")
     SectorEntity mapSectorsDataResponse(Map<String, AttributeValue> item, @Context TimeZoneProvider timeZoneProvider);
 
+    /**
+     * Maps a data response from a map of attributes to a SectorSummary object, extracting only the name,
+     * status and geographical coordinates of the sector.
+     *
+     * @param item a map containing attribute values where keys are attribute names and values are
+     *             AttributeValue objects, as returned by the sector summary projection.
+     * @return a SectorSummary object populated with data from the provided map, or null if the map is null.
+     */
+    default SectorSummary mapSectorSummary(Map<String, AttributeValue> item) {
+        if (item == null) {
+            return null;
+        }
+        return new SectorSummary(
+            this.getAttributeValue(item, "name"),
+            this.getEnumValue(item, "status", RecordStatus.class),
+            this.getAttributeValue(item, "latitude"),
+            this.getAttributeValue(item, "longitude")
+        );
+    }
+
     /**
      * Retrieves the string value of a specified attribute from a given map of attribute names to attribute values.
      *
      * @param item the map containing attribute names and their corresponding values; may be null
      * @param attributeName the name of the attribute whose value is to be retrieved; must not be null
-     * @return the string value of the attribute if it exists in the map, otherwise null; returns null if the map is null
+     * @return the string value of the attribute if it exists in the map, otherwise null; returns null if the map is null.
+     *         Number attributes, like the coordinates of the sectors, are returned as their string representation.
      */
     default String getAttributeValue(Map<String, AttributeValue> item, String attributeName) {
         if (item == null) {
             return null;
         }
         AttributeValue attr = item.get(attributeName);
-        return attr != null ? attr.s() : null;
+        if (attr == null) {
+            return null;
+        }
+        return attr.s() != null ? attr.s() : attr.n();
     }
 
     /**
@@ -0,0 +1,185 @@
+package hiperium.city.read.function.mappers;
+
+import hiperium.city.functions.common.enums.ErrorCode;
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.read.function.commons.EntityCommon;
+import hiperium.city.read.function.commons.EntityMetadata;
+import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.responses.SectorSummary;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes the DynamoDB items into CityEntity and SectorEntity objects, producing the same output as the
+ * {@link FunctionMapper}.
+ * <p>
+ * The attributes of each item are read in a single iteration over the map, the {@link RecordStatus} values
+ * are resolved from a precomputed lookup table, and the {@link ZoneId} of the city is resolved only once.
+ */
+@Component
+public class ItemDecoder {
+
+    private static final Map<String, RecordStatus> RECORD_STATUS_LOOKUP = Arrays.stream(RecordStatus.values())
+        .collect(Collectors.toUnmodifiableMap(RecordStatus::name, Function.identity()));
+
+    private final ZoneId zoneId;
+
+    public ItemDecoder(TimeZoneProvider timeZoneProvider) {
+        this.zoneId = ZoneId.of(timeZoneProvider.getCityTimeZone());
+    }
+
+    /**
+     * Decodes the given item into a CityEntity object.
+     *
+     * @param item the map of attribute names to their values, representing the city item.
+     * @return the decoded CityEntity object, or null if the item is null.
+     * @throws CityException if the creation or update timestamps are missing in the item.
+     */
+    public CityEntity decodeCity(final Map<String, AttributeValue> item) {
+        if (Objects.isNull(item)) {
+            return null;
+        }
+        String name = null;
+        String description = null;
+        RecordStatus status = null;
+        String timezone = null;
+        String languageCode = null;
+        String countryCode = null;
+        String createdAt = null;
+        String updatedAt = null;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            switch (attribute.getKey()) {
+                case "name" -> name = stringValue(attribute.getValue());
+                case "description" -> description = stringValue(attribute.getValue());
+                case "status" -> status = recordStatus(stringValue(attribute.getValue()));
+                case "timezone" -> timezone = stringValue(attribute.getValue());
+                case "languageCode" -> languageCode = stringValue(attribute.getValue());
+                case "countryCode" -> countryCode = stringValue(attribute.getValue());
+                case "createdAt" -> createdAt = stringValue(attribute.getValue());
+                case "updatedAt" -> updatedAt = stringValue(attribute.getValue());
+                default -> {
+                    // Attribute not mapped to the entity.
+                }
+            }
+        }
+        return new CityEntity(
+            new EntityCommon(name, description, status),
+            timezone,
+            languageCode,
+            countryCode,
+            this.entityMetadata(createdAt, updatedAt));
+    }
+
+    /**
+     * Decodes the given item into a SectorEntity object.
+     *
+     * @param item the map of attribute names to their values, representing the sector item.
+     * @return the decoded SectorEntity object, or null if the item is null.
+     * @throws CityException if the creation or update timestamps are missing in the item.
+     */
+    public SectorEntity decodeSector(final Map<String, AttributeValue> item) {
+        if (Objects.isNull(item)) {
+            return null;
+        }
+        String name = null;
+        String description = null;
+        RecordStatus status = null;
+        String latitude = null;
+        String longitude = null;
+        String createdAt = null;
+        String updatedAt = null;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            switch (attribute.getKey()) {
+                case "name" -> name = stringValue(attribute.getValue());
+                case "description" -> description = stringValue(attribute.getValue());
+                case "status" -> status = recordStatus(stringValue(attribute.getValue()));
+                case "latitude" -> latitude = stringValue(attribute.getValue());
+                case "longitude" -> longitude = stringValue(attribute.getValue());
+                case "createdAt" -> createdAt = stringValue(attribute.getValue());
+                case "updatedAt" -> updatedAt = stringValue(attribute.getValue());
+                default -> {
+                    // Attribute not mapped to the entity.
+                }
+            }
+        }
+        return new SectorEntity(
+            new EntityCommon(name, description, status),
+            latitude,
+            longitude,
+            this.entityMetadata(createdAt, updatedAt));
+    }
+
+    /**
+     * Decodes the given item into a SectorSummary object.
+     *
+     * @param item the map of attribute names to their values, representing the sector item.
+     * @return the decoded SectorSummary object, or null if the item is null.
+     */
+    public SectorSummary decodeSectorSummary(final Map<String, AttributeValue> item) {
+        if (Objects.isNull(item)) {
+            return null;
+        }
+        String name = null;
+        RecordStatus status = null;
+        String latitude = null;
+        String longitude = null;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            switch (attribute.getKey()) {
+                case "name" -> name = stringValue(attribute.getValue());
+                case "status" -> status = recordStatus(stringValue(attribute.getValue()));
+                case "latitude" -> latitude = stringValue(attribute.getValue());
+                case "longitude" -> longitude = stringValue(attribute.getValue());
+                default -> {
+                    // Attribute not mapped to the summary.
+                }
+            }
+        }
+        return new SectorSummary(name, status, latitude, longitude);
+    }
+
+    private EntityMetadata entityMetadata(final String createdAt, final String updatedAt) {
+        // Both timestamps are validated before parsing, in the same order as the MapStruct mapper.
+        return new EntityMetadata(
+            this.dateTimeValue(createdAt, "createdAt"),
+            this.dateTimeValue(updatedAt, "updatedAt"));
+    }
+
+    private ZonedDateTime dateTimeValue(final String dateTimeString, final String attributeName) {
+        if (Objects.isNull(dateTimeString) || dateTimeString.isEmpty()) {
+            throw new CityException("Date time value cannot be null or empty in attribute: " + attributeName,
+                ErrorCode.INTERNAL_002);
+        }
+        return ZonedDateTime.parse(dateTimeString, DateTimeFormatter.ISO_DATE_TIME)
+            .withZoneSameInstant(this.zoneId);
+    }
+
+    private static String stringValue(final AttributeValue attributeValue) {
+        if (Objects.isNull(attributeValue)) {
+            return null;
+        }
+        return Objects.nonNull(attributeValue.s()) ? attributeValue.s() : attributeValue.n();
+    }
+
+    private static RecordStatus recordStatus(final String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        RecordStatus status = RECORD_STATUS_LOOKUP.get(value);
+        if (Objects.isNull(status)) {
+            throw new IllegalArgumentException("No enum constant " + RecordStatus.class.getCanonicalName() + "." + value);
+        }
+        return status;
+    }
+}
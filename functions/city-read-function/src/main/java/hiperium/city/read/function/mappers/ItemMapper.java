@@ -0,0 +1,94 @@
+package hiperium.city.read.function.mappers;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.MapperStrategy;
+import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import hiperium.city.read.function.responses.SectorSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * Maps the DynamoDB items to the city and sector entities using the implementation selected
+ * by the {@code city.mapper.strategy} property.
+ */
+@Component
+public class ItemMapper {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(ItemMapper.class);
+
+    private final MapperStrategy mapperStrategy;
+    private final ItemDecoder itemDecoder;
+    private final FunctionMapper functionMapper;
+    private final FunctionMetrics functionMetrics;
+    private final TimeZoneProvider timeZoneProvider;
+
+    public ItemMapper(@Value("${city.mapper.strategy:DECODER}") MapperStrategy mapperStrategy,
+                      ItemDecoder itemDecoder,
+                      FunctionMapper functionMapper,
+                      FunctionMetrics functionMetrics,
+                      TimeZoneProvider timeZoneProvider) {
+        LOGGER.debug("Using item mapper strategy: {}", mapperStrategy);
+        this.mapperStrategy = mapperStrategy;
+        this.itemDecoder = itemDecoder;
+        this.functionMapper = functionMapper;
+        this.functionMetrics = functionMetrics;
+        this.timeZoneProvider = timeZoneProvider;
+    }
+
+    /**
+     * Maps the given city item to a CityEntity object.
+     *
+     * @param item the map of attribute names to their values, representing the city item.
+     * @return the mapped CityEntity object.
+     */
+    public CityEntity mapCity(final Map<String, AttributeValue> item) {
+        return this.functionMetrics.recordMapping("city", () -> this.doMapCity(item));
+    }
+
+    private CityEntity doMapCity(final Map<String, AttributeValue> item) {
+        if (MapperStrategy.DECODER.equals(this.mapperStrategy)) {
+            return this.itemDecoder.decodeCity(item);
+        }
+        return this.functionMapper.mapCityDataResponse(item, this.timeZoneProvider);
+    }
+
+    /**
+     * Maps the given sector item to a SectorEntity object.
+     *
+     * @param item the map of attribute names to their values, representing the sector item.
+     * @return the mapped SectorEntity object.
+     */
+    public SectorEntity mapSector(final Map<String, AttributeValue> item) {
+        return this.functionMetrics.recordMapping("sector", () -> this.doMapSector(item));
+    }
+
+    private SectorEntity doMapSector(final Map<String, AttributeValue> item) {
+        if (MapperStrategy.DECODER.equals(this.mapperStrategy)) {
+            return this.itemDecoder.decodeSector(item);
+        }
+        return this.functionMapper.mapSectorsDataResponse(item, this.timeZoneProvider);
+    }
+
+    /**
+     * Maps the given sector item to a SectorSummary object.
+     *
+     * @param item the map of attribute names to their values, representing the sector item.
+     * @return the mapped SectorSummary object.
+     */
+    public SectorSummary mapSectorSummary(final Map<String, AttributeValue> item) {
+        return this.functionMetrics.recordMapping("sectorSummary", () -> this.doMapSectorSummary(item));
+    }
+
+    private SectorSummary doMapSectorSummary(final Map<String, AttributeValue> item) {
+        if (MapperStrategy.DECODER.equals(this.mapperStrategy)) {
+            return this.itemDecoder.decodeSectorSummary(item);
+        }
+        return this.functionMapper.mapSectorSummary(item);
+    }
+}
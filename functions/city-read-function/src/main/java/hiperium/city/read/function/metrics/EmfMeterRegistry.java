@@ -0,0 +1,174 @@
+package hiperium.city.read.function.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Micrometer registry that publishes the meters as CloudWatch Embedded Metric Format (EMF) log lines.
+ * <p>
+ * Each meter with values since the last flush is written as a single JSON line to the given sink, using the tags
+ * of the meter as CloudWatch dimensions. CloudWatch extracts the metrics from the log lines of the function,
+ * so publishing them doesn't need any network call.
+ * <p>
+ * The meters are published synchronously by {@link #flush()} at the end of each invocation, instead of by a
+ * background thread at the end of each step, as Lambda freezes the sandbox between invocations and can reclaim it
+ * at any time. The step of the meters is only advanced by the flushes, so each flush publishes the values recorded
+ * since the previous one.
+ */
+public class EmfMeterRegistry extends StepMeterRegistry {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration STEP = Duration.ofMinutes(1);
+
+    private final String namespace;
+    private final Consumer<String> sink;
+    private final FlushClock flushClock;
+
+    public EmfMeterRegistry(final String namespace, final Consumer<String> sink) {
+        this(namespace, sink, Clock.SYSTEM);
+    }
+
+    public EmfMeterRegistry(final String namespace, final Consumer<String> sink, final Clock clock) {
+        this(new FlushClock(clock), namespace, sink);
+    }
+
+    private EmfMeterRegistry(final FlushClock flushClock, final String namespace, final Consumer<String> sink) {
+        super(stepConfig(), flushClock);
+        this.flushClock = flushClock;
+        this.namespace = namespace;
+        this.sink = sink;
+    }
+
+    /**
+     * Publishes the values recorded since the previous flush, and starts a new step for the following values.
+     */
+    public synchronized void flush() {
+        this.flushClock.advance();
+        this.publish();
+    }
+
+    @Override
+    protected void publish() {
+        final long timestamp = this.flushClock.timestamp();
+        for (Meter meter : this.getMeters()) {
+            switch (meter) {
+                case Timer timer when timer.count() > 0 -> this.write(timestamp, meter.getId(), List.of(
+                    new MetricValue(".count", timer.count(), "Count"),
+                    new MetricValue(".sum", timer.totalTime(TimeUnit.MILLISECONDS), "Milliseconds"),
+                    new MetricValue(".max", timer.max(TimeUnit.MILLISECONDS), "Milliseconds")));
+                case DistributionSummary summary when summary.count() > 0 -> this.write(timestamp, meter.getId(), List.of(
+                    new MetricValue(".count", summary.count(), "Count"),
+                    new MetricValue(".sum", summary.totalAmount(), "None"),
+                    new MetricValue(".max", summary.max(), "None")));
+                case Counter counter when counter.count() > 0 -> this.write(timestamp, meter.getId(), List.of(
+                    new MetricValue("", counter.count(), "Count")));
+                case Gauge gauge when Double.isFinite(gauge.value()) -> this.write(timestamp, meter.getId(), List.of(
+                    new MetricValue("", gauge.value(), "None")));
+                default -> {
+                    // Meters without values in the last step, and other meter types, are not published.
+                }
+            }
+        }
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return TimeUnit.MILLISECONDS;
+    }
+
+    private void write(final long timestamp, final Meter.Id meterId, final List<MetricValue> values) {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        ObjectNode directive = root.putObject("_aws")
+            .put("Timestamp", timestamp)
+            .putArray("CloudWatchMetrics")
+            .addObject()
+            .put("Namespace", this.namespace);
+        ArrayNode dimensions = directive.putArray("Dimensions").addArray();
+        for (Tag tag : meterId.getTagsAsIterable()) {
+            dimensions.add(tag.getKey());
+            root.put(tag.getKey(), tag.getValue());
+        }
+        ArrayNode metrics = directive.putArray("Metrics");
+        for (MetricValue value : values) {
+            String metricName = meterId.getName() + value.suffix();
+            metrics.addObject()
+                .put("Name", metricName)
+                .put("Unit", value.unit());
+            root.put(metricName, value.value());
+        }
+        try {
+            this.sink.accept(OBJECT_MAPPER.writeValueAsString(root));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot write the EMF line of meter: " + meterId.getName(), exception);
+        }
+    }
+
+    private static StepRegistryConfig stepConfig() {
+        return new StepRegistryConfig() {
+            @Override
+            public String prefix() {
+                return "emf";
+            }
+
+            @Override
+            public String get(final String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return STEP;
+            }
+        };
+    }
+
+    private record MetricValue(String suffix, double value, String unit) {
+    }
+
+    // The wall time of the meters only moves one step forward on each flush, while the durations are measured
+    // with the monotonic time of the given clock.
+    private static final class FlushClock implements Clock {
+
+        private final Clock clock;
+        private final AtomicLong steps = new AtomicLong();
+
+        private FlushClock(final Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long wallTime() {
+            return this.steps.get() * STEP.toMillis();
+        }
+
+        @Override
+        public long monotonicTime() {
+            return this.clock.monotonicTime();
+        }
+
+        private void advance() {
+            this.steps.incrementAndGet();
+        }
+
+        private long timestamp() {
+            return this.clock.wallTime();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package hiperium.city.read.function.metrics;
+
+import hiperium.city.functions.common.utils.ResponseUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The FunctionMetrics class records the performance metrics of the functions in the {@link MeterRegistry}.
+ * <p>
+ * The time of each stage of a function invocation is recorded in the {@code city.function.stage} timer,
+ * tagged by function and stage. The DynamoDB requests are recorded in the {@code city.dynamodb.request} timer,
+ * along with their consumed capacity and returned items, tagged by operation and index.
+ * The mapping of the DynamoDB items is recorded in the {@code city.item.map} timer, tagged by entity,
+ * and the invocations are counted in the {@code city.function.invocations} counter, tagged by function and status code.
+ * <p>
+ * The meters are registered on their first use and reused by the following calls, so recording a value on the
+ * hot path doesn't build a new meter. When the registry is an {@link EmfMeterRegistry}, the meters are published
+ * when the invocation of a function is recorded, before its response is returned.
+ */
+@Component
+public class FunctionMetrics {
+
+    public static final String STAGE_DESERIALIZE = "deserialize";
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_EXECUTE = "execute";
+    public static final String STAGE_SERIALIZE = "serialize";
+
+    private static final String TABLE_INDEX = "table";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> mappingTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> invocationCounters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DynamoDbMeters> dynamoDbMeters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> dynamoDbErrorCounters = new ConcurrentHashMap<>();
+    private volatile boolean publishing = true;
+
+    public FunctionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the time taken by the given synchronous stage of a function.
+     *
+     * @param function the name of the function.
+     * @param stage    the name of the stage.
+     * @param supplier the code of the stage.
+     * @return the value returned by the stage.
+     */
+    public <T> T recordStage(final String function, final String stage, final Supplier<T> supplier) {
+        return this.stageTimer(function, stage).record(supplier);
+    }
+
+    /**
+     * Records the time taken by the given synchronous stage of a function that doesn't return a value.
+     *
+     * @param function the name of the function.
+     * @param stage    the name of the stage.
+     * @param runnable the code of the stage.
+     */
+    public void recordStage(final String function, final String stage, final Runnable runnable) {
+        this.stageTimer(function, stage).record(runnable);
+    }
+
+    /**
+     * Records the time taken to map a DynamoDB item to the given entity type.
+     *
+     * @param entity   the name of the mapped entity.
+     * @param supplier the mapping code.
+     * @return the mapped entity.
+     */
+    public <T> T recordMapping(final String entity, final Supplier<T> supplier) {
+        return this.mappingTimers.computeIfAbsent(entity, key -> Timer.builder("city.item.map")
+                .tag("entity", key)
+                .register(this.meterRegistry))
+            .record(supplier);
+    }
+
+    /**
+     * Counts an invocation of a function by the status code of its response, and publishes the metrics of the
+     * invocation. It must be the last metric recorded by a function, before its response is returned.
+     *
+     * @param function the name of the function.
+     * @param response the response message of the function.
+     */
+    public void recordInvocation(final String function, final Message<?> response) {
+        String statusCode = String.valueOf(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE));
+        this.invocationCounters.computeIfAbsent(new MeterKey(function, statusCode), key ->
+                Counter.builder("city.function.invocations")
+                    .tag("function", key.name())
+                    .tag("status", key.tag())
+                    .register(this.meterRegistry))
+            .increment();
+        this.flush();
+    }
+
+    /**
+     * Publishes the metrics recorded since the previous flush, when the registry is an {@link EmfMeterRegistry}.
+     */
+    public void flush() {
+        if (this.publishing && this.meterRegistry instanceof EmfMeterRegistry emfMeterRegistry) {
+            emfMeterRegistry.flush();
+        }
+    }
+
+    /**
+     * Runs the given action without publishing the metrics it records, and then removes all the meters,
+     * so the values recorded by the action are never published.
+     *
+     * @param runnable the action to be run, like the warm-up of the functions.
+     */
+    public synchronized void discardMetricsOf(final Runnable runnable) {
+        this.publishing = false;
+        try {
+            runnable.run();
+        } finally {
+            this.mappingTimers.clear();
+            this.stageTimers.clear();
+            this.invocationCounters.clear();
+            this.dynamoDbMeters.clear();
+            this.dynamoDbErrorCounters.clear();
+            this.meterRegistry.clear();
+            this.publishing = true;
+        }
+    }
+
+    /**
+     * Records the time elapsed from the subscription to the termination of the given reactive stage of a function.
+     *
+     * @param function the name of the function.
+     * @param stage    the name of the stage.
+     * @param mono     the reactive stage.
+     * @return a {@link Mono} that records the time of the stage when it terminates or is cancelled.
+     */
+    public <T> Mono<T> timeStage(final String function, final String stage, final Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(this.meterRegistry);
+            return mono.doFinally(signalType -> sample.stop(this.stageTimer(function, stage)));
+        });
+    }
+
+    /**
+     * Records a DynamoDB request that completed successfully.
+     *
+     * @param operation        the name of the DynamoDB operation.
+     * @param indexName        the name of the queried index, or null if the table was queried.
+     * @param elapsedNanos     the time taken by the request, in nanoseconds.
+     * @param consumedCapacity the capacity consumed by the request, or null if it was not returned.
+     * @param itemCount        the number of items returned by the request.
+     */
+    public void recordDynamoDbRequest(final String operation,
+                                      final String indexName,
+                                      final long elapsedNanos,
+                                      final List<ConsumedCapacity> consumedCapacity,
+                                      final int itemCount) {
+        DynamoDbMeters meters = this.dynamoDbMeters.computeIfAbsent(
+            new MeterKey(operation, Objects.requireNonNullElse(indexName, TABLE_INDEX)), this::createDynamoDbMeters);
+        meters.requests().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meters.items().record(itemCount);
+        if (Objects.nonNull(consumedCapacity) && !consumedCapacity.isEmpty()) {
+            double capacityUnits = consumedCapacity.stream()
+                .map(ConsumedCapacity::capacityUnits)
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .sum();
+            meters.consumedCapacity().record(capacityUnits);
+        }
+    }
+
+    /**
+     * Counts a DynamoDB request that failed.
+     *
+     * @param operation the name of the DynamoDB operation.
+     * @param indexName the name of the queried index, or null if the table was queried.
+     */
+    public void recordDynamoDbError(final String operation, final String indexName) {
+        this.dynamoDbErrorCounters.computeIfAbsent(
+                new MeterKey(operation, Objects.requireNonNullElse(indexName, TABLE_INDEX)), key ->
+                    Counter.builder("city.dynamodb.errors")
+                        .tag("operation", key.name())
+                        .tag("index", key.tag())
+                        .register(this.meterRegistry))
+            .increment();
+    }
+
+    private Timer stageTimer(final String function, final String stage) {
+        return this.stageTimers.computeIfAbsent(new MeterKey(function, stage), key ->
+            Timer.builder("city.function.stage")
+                .tag("function", key.name())
+                .tag("stage", key.tag())
+                .register(this.meterRegistry));
+    }
+
+    private DynamoDbMeters createDynamoDbMeters(final MeterKey key) {
+        return new DynamoDbMeters(
+            Timer.builder("city.dynamodb.request")
+                .tag("operation", key.name())
+                .tag("index", key.tag())
+                .register(this.meterRegistry),
+            DistributionSummary.builder("city.dynamodb.items")
+                .tag("operation", key.name())
+                .tag("index", key.tag())
+                .register(this.meterRegistry),
+            DistributionSummary.builder("city.dynamodb.consumed.capacity")
+                .baseUnit("capacity.units")
+                .tag("operation", key.name())
+                .tag("index", key.tag())
+                .register(this.meterRegistry));
+    }
+
+    // Identifies a meter by a name, like the function or the operation, and the value of its second tag.
+    private record MeterKey(String name, String tag) {
+    }
+
+    private record DynamoDbMeters(Timer requests, DistributionSummary items, DistributionSummary consumedCapacity) {
+    }
+}
@@ -0,0 +1,109 @@
+package hiperium.city.read.function.repositories;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking limiter of the calls in flight, used by the {@link DynamoDbExecutor} for the blocking client.
+ * <p>
+ * A caller that finds no permit available is queued, and its {@link Mono} is completed by the {@link #release()}
+ * of a previous call, in arrival order. No thread is held and no timer is scheduled while a caller waits.
+ * A caller cancelled while queued leaves the queue, and a permit granted to a caller cancelled before receiving it
+ * is passed to the next caller, so the permits are never lost.
+ */
+final class CallLimiter {
+
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+
+    CallLimiter(final int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Takes a permit, waiting without blocking until one is released when none is available.
+     *
+     * @return a {@link Mono} that emits {@code true} when the permit is granted.
+     *         The permit must be returned with {@link #release()}.
+     */
+    Mono<Boolean> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            boolean granted;
+            synchronized (this) {
+                granted = this.available > 0 && this.waiters.isEmpty();
+                if (granted) {
+                    this.available--;
+                    waiter.grant();
+                } else {
+                    this.waiters.add(waiter);
+                }
+            }
+            // The callback only runs when the caller is cancelled before receiving its permit.
+            sink.onCancel(() -> {
+                if (waiter.cancel()) {
+                    synchronized (this) {
+                        this.waiters.remove(waiter);
+                    }
+                } else {
+                    this.release();
+                }
+            });
+            if (granted) {
+                sink.success(Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Returns a permit, granting it to the first queued caller, if any.
+     */
+    void release() {
+        Waiter next;
+        synchronized (this) {
+            do {
+                next = this.waiters.poll();
+            } while (next != null && !next.grant());
+            if (next == null) {
+                this.available++;
+                return;
+            }
+        }
+        next.sink.success(Boolean.TRUE);
+    }
+
+    /**
+     * Returns the number of permits that are not taken.
+     *
+     * @return the available permits.
+     */
+    synchronized int availablePermits() {
+        return this.available;
+    }
+
+    private static final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Boolean> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(final MonoSink<Boolean> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant() {
+            return this.state.compareAndSet(WAITING, GRANTED);
+        }
+
+        private boolean cancel() {
+            return this.state.compareAndSet(WAITING, CANCELLED);
+        }
+    }
+}
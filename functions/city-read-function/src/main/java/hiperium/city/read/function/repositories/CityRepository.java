@@ -2,23 +2,38 @@ package hiperium.city.read.function.repositories;
 
 import hiperium.city.functions.common.enums.ErrorCode;
 import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.read.function.caches.SharedPartitionCache;
 import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.snapshots.SnapshotStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
-import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * The CityRepository class is responsible for retrieving City objects from the DynamoDB table.
  * <p>
+ * When the {@link SnapshotStore} has a snapshot of the table, the eventually consistent reads are served
+ * from the snapshot, and only the cities that the snapshot can't serve are retrieved from DynamoDB.
+ * <p>
+ * When the {@link SharedPartitionCache} is enabled, the eventually consistent reads of the cities that the snapshot
+ * can't serve are read through the cache shared by all the function containers, by the {@link SharedPartitionReader}.
+ * <p>
  * @apiNote The Enhanced Client has problems at runtime when used with Spring Native.
  * This is because the Enhanced Client uses reflection to create the DynamoDbAsyncClient.
  * The solution is to use the low-level client instead.
@@ -26,43 +41,206 @@ import java.util.Map;
 @Repository
 public class CityRepository {
 
+    // Maximum number of keys accepted by a single BatchGetItem request.
+    public static final int BATCH_GET_MAX_KEYS = 100;
+
     private final String tableName;
-    private final DynamoDbClient dynamoDbClient;
+    private final int batchMaxRetries;
+    private final Duration batchRetryDelay;
+    private final DynamoDbExecutor dynamoDbExecutor;
+    private final RequestCoalescer requestCoalescer;
+    private final SnapshotStore snapshotStore;
+    private final SharedPartitionReader sharedPartitionReader;
+    // Template of the city point reads, completed with the key of each city.
+    private final GetItemRequest getCityRequest;
 
-    public CityRepository(@Value("${city.table}") String tableName, DynamoDbClient dynamoDbClient) {
+    public CityRepository(@Value("${city.table}") String tableName,
+                          @Value("${city.batch.max-retries:5}") int batchMaxRetries,
+                          @Value("${city.batch.retry-delay:PT0.05S}") Duration batchRetryDelay,
+                          DynamoDbExecutor dynamoDbExecutor,
+                          RequestCoalescer requestCoalescer,
+                          SnapshotStore snapshotStore,
+                          SharedPartitionReader sharedPartitionReader) {
         this.tableName = tableName;
-        this.dynamoDbClient = dynamoDbClient;
+        this.batchMaxRetries = batchMaxRetries;
+        this.batchRetryDelay = batchRetryDelay;
+        this.dynamoDbExecutor = dynamoDbExecutor;
+        this.requestCoalescer = requestCoalescer;
+        this.snapshotStore = snapshotStore;
+        this.sharedPartitionReader = sharedPartitionReader;
+        this.getCityRequest = GetItemRequest.builder()
+            .tableName(tableName)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .projectionExpression(ItemProjection.CITY.expression())
+            .expressionAttributeNames(ItemProjection.CITY.attributeNames())
+            .build();
     }
 
     /**
-     * Retrieves a city's data from the DynamoDB table using the specified city ID. The method uses
-     * a key condition expression to query the database with the provided city ID.
+     * Retrieves a city's item from the DynamoDB table using an eventually consistent {@code GetItem} request.
      *
-     * @param cityId    the ID of the city to be retrieved. It is used to form the partition key
-     *                  for querying the database.
+     * @param cityId    the ID of the city to be retrieved.
      * @param requestId the unique identifier of the request for tracking purposes.
-     * @return a {@link Mono} that emits the {@link QueryResponse} containing items related to the specified city ID,
-     * or an error if the data retrieval fails.
+     * @return a {@link Mono} that emits the city item, completes empty if the city doesn't exist,
+     * or emits an error if the data retrieval fails.
+     * @see #findByCityId(String, boolean, String)
+     */
+    public Mono<Map<String, AttributeValue>> findByCityId(final String cityId, final String requestId) {
+        return this.findByCityId(cityId, false, requestId);
+    }
+
+    /**
+     * Retrieves a city's item from the DynamoDB table using a {@code GetItem} request on its primary key.
+     * Only the attributes of the {@link CityEntity} are returned.
+     * <p>
+     * The table name and the projection are prebuilt in the request template, so only the key is bound per call.
+     * Concurrent eventually consistent reads for the same city share a single request through
+     * the {@link RequestCoalescer}, unless the city is served by the {@link SnapshotStore} or by the shared cache,
+     * which reads the whole partition of the city when it is not cached. Consistent reads are never shared nor
+     * served from the snapshot or the shared cache, so they always see the writes completed before the call.
+     *
+     * @param cityId         the ID of the city to be retrieved. It is used to form the partition and sort keys.
+     * @param consistentRead whether to use a strongly consistent read, for the callers that must read their own writes.
+     * @param requestId      the unique identifier of the request for tracking purposes.
+     * @return a {@link Mono} that emits the city item, completes empty if the city doesn't exist,
+     * or emits an error if the data retrieval fails.
      */
-    public Mono<QueryResponse> findByCityId(final String cityId, final String requestId) {
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-        expressionAttributeValues.put(":pkValue", AttributeValue.builder()
-            .s(CityEntity.CITY_PK_PREFIX + cityId)
-            .build());
-        expressionAttributeValues.put(":skValue", AttributeValue.builder()
-            .s(CityEntity.CITY_PK_PREFIX + cityId)
-            .build());
-
-        QueryRequest request = QueryRequest.builder()
-            .tableName(this.tableName)
-            .keyConditionExpression("pk = :pkValue and sk = :skValue")
-            .expressionAttributeValues(expressionAttributeValues)
+    public Mono<Map<String, AttributeValue>> findByCityId(final String cityId,
+                                                          final boolean consistentRead,
+                                                          final String requestId) {
+        AttributeValue key = AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId);
+        GetItemRequest request = this.getCityRequest.toBuilder()
+            .key(Map.of("pk", key, "sk", key))
+            .consistentRead(consistentRead)
             .build();
 
-        return Mono.fromCallable(() -> this.dynamoDbClient.query(request))
+        Mono<Map<String, AttributeValue>> item = consistentRead
+            ? this.getItem(request)
+            : Mono.defer(() -> this.findCachedCity(cityId, true)
+                .map(cityItems -> Mono.justOrEmpty(cityItems.stream().findFirst()))
+                .defaultIfEmpty(this.requestCoalescer.coalesce("findByCityId", cityId, () -> this.getItem(request)))
+                .flatMap(Function.identity()));
+        return item.onErrorMap(DynamoDbException.class, exception ->
+            new CityException("Error when retrieving city data with ID: " + cityId,
+                ErrorCode.INTERNAL_001, requestId, exception));
+    }
+
+    private Mono<Map<String, AttributeValue>> getItem(final GetItemRequest request) {
+        return this.dynamoDbExecutor.getItem(request)
+            .filter(response -> response.hasItem() && !response.item().isEmpty())
+            .map(GetItemResponse::item);
+    }
+
+    // Emits a list with the city item of the snapshot or the shared cache, an empty list if the city doesn't exist,
+    // or completes empty if the city must be read from DynamoDB. The shared cache only reads the partition of
+    // the city from DynamoDB when it is not cached if the partition must be loaded.
+    private Mono<List<Map<String, AttributeValue>>> findCachedCity(final String cityId, final boolean loadPartition) {
+        List<Map<String, AttributeValue>> partition =
+            this.snapshotStore.findPartition(cityId, ItemProjection.CITY.attributes(), 1);
+        if (Objects.nonNull(partition)) {
+            return Mono.just(partition.stream()
+                .filter(item -> item.get("sk").s().startsWith(CityEntity.CITY_PK_PREFIX))
+                .toList());
+        }
+        String sortKey = CityEntity.CITY_PK_PREFIX + cityId;
+        return loadPartition
+            ? this.sharedPartitionReader.findItem(cityId, sortKey, ItemProjection.CITY.attributes())
+            : this.sharedPartitionReader.findCachedItem(cityId, sortKey, ItemProjection.CITY.attributes());
+    }
+
+    /**
+     * Retrieves the data of the given cities from the DynamoDB table using {@code BatchGetItem} requests.
+     * <p>
+     * The city IDs are sent in chunks of up to {@value #BATCH_GET_MAX_KEYS} keys. When DynamoDB returns
+     * {@code UnprocessedKeys}, they are requested again after an exponential backoff, up to the
+     * {@code city.batch.max-retries} property. Cities that don't exist are not emitted.
+     * The cities served by the {@link SnapshotStore}, or whose partition is in the shared cache, are emitted first,
+     * without requesting them from DynamoDB. The partitions of the other cities are not loaded in the shared cache,
+     * as a single batch request reads them more cheaply than a query per city.
+     *
+     * @param cityIds   the IDs of the cities to be retrieved, without duplicates.
+     * @param requestId the unique identifier of the request for tracking purposes.
+     * @return a {@link Flux} that emits the city items found in the table, in no particular order,
+     * or an error if any request fails or the unprocessed keys are not retrieved after all the retries.
+     */
+    public Flux<Map<String, AttributeValue>> findByCityIds(final Collection<String> cityIds, final String requestId) {
+        return Flux.fromIterable(cityIds)
+            .flatMap(cityId -> this.findCachedCity(cityId, false)
+                .map(cityItems -> new CityLookup(cityId, cityItems))
+                .defaultIfEmpty(new CityLookup(cityId, null)))
+            .collectList()
+            .flatMapMany(lookups -> {
+                List<Map<String, AttributeValue>> cachedItems = new ArrayList<>();
+                List<String> remainingIds = new ArrayList<>();
+                for (CityLookup lookup : lookups) {
+                    if (Objects.isNull(lookup.cityItems())) {
+                        remainingIds.add(lookup.cityId());
+                    } else {
+                        cachedItems.addAll(lookup.cityItems());
+                    }
+                }
+                return Flux.fromIterable(cachedItems)
+                    .concatWith(this.batchGetCities(remainingIds, requestId));
+            });
+    }
+
+    private Flux<Map<String, AttributeValue>> batchGetCities(final List<String> cityIds, final String requestId) {
+        return Flux.fromIterable(cityIds)
+            .buffer(BATCH_GET_MAX_KEYS)
+            .concatMap(chunk -> this.batchGetItems(this.keysAndAttributes(chunk), 0, requestId))
             .onErrorMap(DynamoDbException.class, exception ->
-                new CityException("Error when retrieving city data with ID: " + cityId,
-                    ErrorCode.INTERNAL_001, requestId, exception))
-            .subscribeOn(Schedulers.boundedElastic());
+                new CityException("Error when retrieving cities data in batch.",
+                    ErrorCode.INTERNAL_001, requestId, exception));
+    }
+
+    private KeysAndAttributes keysAndAttributes(final List<String> cityIds) {
+        List<Map<String, AttributeValue>> keys = cityIds.stream()
+            .map(cityId -> Map.of(
+                "pk", AttributeValue.builder().s(CityEntity.CITY_PK_PREFIX + cityId).build(),
+                "sk", AttributeValue.builder().s(CityEntity.CITY_PK_PREFIX + cityId).build()))
+            .toList();
+        return KeysAndAttributes.builder()
+            .keys(keys)
+            .projectionExpression(ItemProjection.CITY.expression())
+            .expressionAttributeNames(ItemProjection.CITY.attributeNames())
+            .build();
+    }
+
+    private Flux<Map<String, AttributeValue>> batchGetItems(final KeysAndAttributes keysAndAttributes,
+                                                            final int retry,
+                                                            final String requestId) {
+        BatchGetItemRequest request = BatchGetItemRequest.builder()
+            .requestItems(Map.of(this.tableName, keysAndAttributes))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        return this.dynamoDbExecutor.batchGetItem(request)
+            .flatMapMany(response -> {
+                Flux<Map<String, AttributeValue>> items =
+                    Flux.fromIterable(response.responses().getOrDefault(this.tableName, List.of()));
+                KeysAndAttributes unprocessedKeys = response.hasUnprocessedKeys()
+                    ? response.unprocessedKeys().get(this.tableName)
+                    : null;
+                if (unprocessedKeys == null || unprocessedKeys.keys().isEmpty()) {
+                    return items;
+                }
+                if (retry >= this.batchMaxRetries) {
+                    return items.concatWith(Flux.error(new CityException(
+                        "Unprocessed keys remain after " + retry + " retries when retrieving cities data in batch.",
+                        ErrorCode.INTERNAL_001, requestId, null)));
+                }
+                Duration delay = this.batchRetryDelay.multipliedBy(1L << retry);
+                return items.concatWith(Mono.delay(delay)
+                    .flatMapMany(tick -> this.batchGetItems(unprocessedKeys, retry + 1, requestId)));
+            });
+    }
+
+    /**
+     * The city items found for a city ID without requesting them from DynamoDB.
+     *
+     * @param cityId    the ID of the city.
+     * @param cityItems a list with the city item, an empty list if the city doesn't exist,
+     *                  or null if the city must be read from DynamoDB.
+     */
+    private record CityLookup(String cityId, List<Map<String, AttributeValue>> cityItems) {
     }
 }
@@ -0,0 +1,229 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.functions.common.enums.ErrorCode;
+import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.DynamoDbClientMode;
+import hiperium.city.read.function.metrics.FunctionMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The DynamoDbExecutor class executes the low-level DynamoDB requests built by the repositories.
+ * <p>
+ * Depending on the {@code city.dynamodb.client-mode} property, requests are sent through the blocking
+ * {@link DynamoDbClient} on the scheduler selected by the {@code city.dynamodb.scheduler} property,
+ * or through the {@link DynamoDbAsyncClient}, whose response future is adapted to a {@link Mono}
+ * without holding a worker thread.
+ * <p>
+ * The calls of the blocking client take a permit before being scheduled, so no more than
+ * {@code city.dynamodb.max-concurrency} calls are in flight, whatever the scheduler in use. A call that finds
+ * no permit available waits in the queue of a {@link CallLimiter} without holding a thread, and fails with a
+ * {@link CityException} when no permit is released before the {@code city.dynamodb.acquire-timeout} elapses.
+ * <p>
+ * The time, consumed capacity and returned items of each successful request are recorded by {@link FunctionMetrics}.
+ * <p>
+ * The clients can be replaced at runtime, so the connections can be closed before a checkpoint
+ * and created again when the checkpoint is restored.
+ * <p>
+ * @apiNote Both modes use the low-level clients, so they keep working when the function is built with Spring Native.
+ */
+@Component
+public class DynamoDbExecutor {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(DynamoDbExecutor.class);
+
+    private final DynamoDbClientMode clientMode;
+    private final CallLimiter callLimiter;
+    private final Duration acquireTimeout;
+    private final FunctionMetrics functionMetrics;
+    private final Scheduler dynamoDbScheduler;
+    private volatile DynamoDbClient dynamoDbClient;
+    private volatile DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    public DynamoDbExecutor(@Value("${city.dynamodb.client-mode:SYNC}") DynamoDbClientMode clientMode,
+                            @Value("${city.dynamodb.max-concurrency:64}") int maxConcurrency,
+                            @Value("${city.dynamodb.acquire-timeout:PT5S}") Duration acquireTimeout,
+                            Scheduler dynamoDbScheduler,
+                            FunctionMetrics functionMetrics,
+                            DynamoDbClient dynamoDbClient,
+                            ObjectProvider<DynamoDbAsyncClient> dynamoDbAsyncClientProvider) {
+        LOGGER.debug("Using DynamoDB client mode: {}", clientMode);
+        this.clientMode = clientMode;
+        this.callLimiter = new CallLimiter(maxConcurrency);
+        this.acquireTimeout = acquireTimeout;
+        this.dynamoDbScheduler = dynamoDbScheduler;
+        this.functionMetrics = functionMetrics;
+        this.dynamoDbClient = dynamoDbClient;
+        // The async client is lazy, so it is only created when the async mode is selected.
+        this.dynamoDbAsyncClient = DynamoDbClientMode.ASYNC.equals(clientMode)
+            ? dynamoDbAsyncClientProvider.getObject()
+            : null;
+    }
+
+    /**
+     * Returns the DynamoDB client mode used to send the requests.
+     *
+     * @return the configured {@link DynamoDbClientMode}.
+     */
+    public DynamoDbClientMode clientMode() {
+        return this.clientMode;
+    }
+
+    /**
+     * Replaces the blocking client used in {@code SYNC} client mode. The requests already sent keep using
+     * the previous client, so it must only be closed when no request is in flight.
+     *
+     * @param dynamoDbClient the new blocking client.
+     * @return the previous blocking client.
+     */
+    public DynamoDbClient replaceClient(final DynamoDbClient dynamoDbClient) {
+        DynamoDbClient previousClient = this.dynamoDbClient;
+        this.dynamoDbClient = dynamoDbClient;
+        return previousClient;
+    }
+
+    /**
+     * Replaces the async client used in {@code ASYNC} client mode. The requests already sent keep using
+     * the previous client, so it must only be closed when no request is in flight.
+     *
+     * @param dynamoDbAsyncClient the new async client.
+     * @return the previous async client, or {@code null} if the async client mode is not selected.
+     */
+    public DynamoDbAsyncClient replaceAsyncClient(final DynamoDbAsyncClient dynamoDbAsyncClient) {
+        DynamoDbAsyncClient previousClient = this.dynamoDbAsyncClient;
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        return previousClient;
+    }
+
+    /**
+     * Executes the given query request using the configured DynamoDB client mode.
+     *
+     * @param request the query request to be executed.
+     * @return a {@link Mono} that emits the {@link QueryResponse} of the query, or an error if the query fails.
+     */
+    public Mono<QueryResponse> query(final QueryRequest request) {
+        Mono<QueryResponse> response = DynamoDbClientMode.ASYNC.equals(this.clientMode)
+            ? Mono.fromFuture(() -> this.dynamoDbAsyncClient.query(request))
+            : this.callBlocking(() -> this.dynamoDbClient.query(request));
+        return this.recorded(response, "Query", request.indexName(),
+            queryResponse -> Objects.isNull(queryResponse.consumedCapacity())
+                ? List.of()
+                : List.of(queryResponse.consumedCapacity()),
+            queryResponse -> queryResponse.items().size());
+    }
+
+    /**
+     * Executes the given get item request using the configured DynamoDB client mode.
+     *
+     * @param request the get item request to be executed.
+     * @return a {@link Mono} that emits the {@link GetItemResponse} of the request, or an error if the request fails.
+     */
+    public Mono<GetItemResponse> getItem(final GetItemRequest request) {
+        Mono<GetItemResponse> response = DynamoDbClientMode.ASYNC.equals(this.clientMode)
+            ? Mono.fromFuture(() -> this.dynamoDbAsyncClient.getItem(request))
+            : this.callBlocking(() -> this.dynamoDbClient.getItem(request));
+        return this.recorded(response, "GetItem", null,
+            itemResponse -> Objects.isNull(itemResponse.consumedCapacity())
+                ? List.of()
+                : List.of(itemResponse.consumedCapacity()),
+            itemResponse -> itemResponse.hasItem() && !itemResponse.item().isEmpty() ? 1 : 0);
+    }
+
+    /**
+     * Executes the given batch get item request using the configured DynamoDB client mode.
+     * The unprocessed keys of the response, if any, must be retried by the caller.
+     *
+     * @param request the batch get item request to be executed.
+     * @return a {@link Mono} that emits the {@link BatchGetItemResponse} of the request, or an error if the request fails.
+     */
+    public Mono<BatchGetItemResponse> batchGetItem(final BatchGetItemRequest request) {
+        Mono<BatchGetItemResponse> response = DynamoDbClientMode.ASYNC.equals(this.clientMode)
+            ? Mono.fromFuture(() -> this.dynamoDbAsyncClient.batchGetItem(request))
+            : this.callBlocking(() -> this.dynamoDbClient.batchGetItem(request));
+        return this.recorded(response, "BatchGetItem", null,
+            BatchGetItemResponse::consumedCapacity,
+            batchResponse -> batchResponse.responses().values().stream().mapToInt(List::size).sum());
+    }
+
+    /**
+     * Executes the given describe table request using the configured DynamoDB client mode.
+     * The request doesn't read any item, so it doesn't consume the read capacity of the table.
+     *
+     * @param request the describe table request to be executed.
+     * @return a {@link Mono} that emits the {@link DescribeTableResponse} of the request, or an error if it fails.
+     */
+    public Mono<DescribeTableResponse> describeTable(final DescribeTableRequest request) {
+        Mono<DescribeTableResponse> response = DynamoDbClientMode.ASYNC.equals(this.clientMode)
+            ? Mono.fromFuture(() -> this.dynamoDbAsyncClient.describeTable(request))
+            : this.callBlocking(() -> this.dynamoDbClient.describeTable(request));
+        return this.recorded(response, "DescribeTable", null, tableResponse -> List.of(), tableResponse -> 0);
+    }
+
+    /**
+     * Executes the given query request, following the {@code LastEvaluatedKey} of each response
+     * to retrieve the next page, until DynamoDB reports that there are no more pages.
+     * <p>
+     * Pages are requested lazily, so when the subscriber cancels, the remaining pages are not queried.
+     *
+     * @param request the query request for the first page.
+     * @return a {@link Flux} that emits the {@link QueryResponse} of each page, or an error if any query fails.
+     */
+    public Flux<QueryResponse> queryPages(final QueryRequest request) {
+        return this.query(request)
+            .expand(response -> hasMorePages(response)
+                ? this.query(request.toBuilder().exclusiveStartKey(response.lastEvaluatedKey()).build())
+                : Mono.empty());
+    }
+
+    private <T> Mono<T> recorded(final Mono<T> response,
+                                 final String operation,
+                                 final String indexName,
+                                 final Function<T, List<ConsumedCapacity>> consumedCapacity,
+                                 final ToIntFunction<T> itemCount) {
+        return Mono.defer(() -> {
+            final long startTime = System.nanoTime();
+            return response
+                .doOnNext(result -> this.functionMetrics.recordDynamoDbRequest(operation, indexName,
+                    System.nanoTime() - startTime, consumedCapacity.apply(result), itemCount.applyAsInt(result)))
+                .doOnError(exception -> this.functionMetrics.recordDynamoDbError(operation, indexName));
+        });
+    }
+
+    // The permit is released when the call completes, fails or is cancelled, even before it runs on the scheduler.
+    private <T> Mono<T> callBlocking(final Callable<T> call) {
+        Mono<Boolean> permit = this.callLimiter.acquire()
+            .timeout(this.acquireTimeout, Mono.error(() -> new CityException(
+                "No DynamoDB call permit was released within " + this.acquireTimeout.toMillis() + " ms.",
+                ErrorCode.INTERNAL_001)));
+        return Mono.usingWhen(permit,
+            acquired -> Mono.fromCallable(call).subscribeOn(this.dynamoDbScheduler),
+            acquired -> Mono.fromRunnable(this.callLimiter::release));
+    }
+
+    private static boolean hasMorePages(final QueryResponse response) {
+        return response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty();
+    }
+}
@@ -0,0 +1,87 @@
+package hiperium.city.read.function.repositories;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Defines the attributes read by the repository queries, so DynamoDB only returns the attributes used by
+ * the mappers instead of the full items. The attributes of each projection are listed by hand, so they must
+ * be updated with the fields of the entity or response that is mapped from the items.
+ * <p>
+ * Every attribute is referenced through an expression attribute name, as some of them, like {@code name}
+ * and {@code status}, are reserved words in DynamoDB. The table keys are always included, as they are
+ * needed to identify the items and to build the page cursors. Every projection includes the {@code status}
+ * attribute, so its {@code #status} name can also be used by the filter expressions.
+ */
+public enum ItemProjection {
+
+    /**
+     * Attributes of the {@code CityEntity}.
+     */
+    CITY("name", "description", "status", "timezone", "languageCode", "countryCode", "createdAt", "updatedAt"),
+
+    /**
+     * Attributes of the {@code SectorEntity}.
+     */
+    SECTOR("name", "description", "status", "latitude", "longitude", "createdAt", "updatedAt"),
+
+    /**
+     * Attributes of the {@code SectorSummary}.
+     */
+    SECTOR_SUMMARY("name", "status", "latitude", "longitude"),
+
+    /**
+     * Attributes of the {@code CityEntity} and the {@code SectorEntity}, for queries returning both kinds of items.
+     */
+    CITY_WITH_SECTORS("name", "description", "status", "timezone", "languageCode", "countryCode",
+        "latitude", "longitude", "createdAt", "updatedAt");
+
+    private static final String[] KEY_ATTRIBUTES = {"pk", "sk"};
+
+    private final String expression;
+    private final Set<String> attributes;
+    private final Map<String, String> attributeNames;
+
+    ItemProjection(final String... attributes) {
+        String[] projectedAttributes = new String[KEY_ATTRIBUTES.length + attributes.length];
+        System.arraycopy(KEY_ATTRIBUTES, 0, projectedAttributes, 0, KEY_ATTRIBUTES.length);
+        System.arraycopy(attributes, 0, projectedAttributes, KEY_ATTRIBUTES.length, attributes.length);
+
+        this.expression = Arrays.stream(projectedAttributes)
+            .map(attribute -> "#" + attribute)
+            .collect(Collectors.joining(", "));
+        this.attributes = Set.of(projectedAttributes);
+        this.attributeNames = Arrays.stream(projectedAttributes)
+            .collect(Collectors.toUnmodifiableMap(attribute -> "#" + attribute, Function.identity()));
+    }
+
+    /**
+     * Returns the projection expression that references the attributes through their expression attribute names.
+     *
+     * @return the projection expression, for example {@code #pk, #sk, #name}.
+     */
+    public String expression() {
+        return this.expression;
+    }
+
+    /**
+     * Returns the names of the projected attributes, including the table keys.
+     *
+     * @return an immutable set of the attribute names.
+     */
+    public Set<String> attributes() {
+        return this.attributes;
+    }
+
+    /**
+     * Returns the expression attribute names used by the projection expression.
+     *
+     * @return an immutable map of the expression attribute names to the attribute names.
+     */
+    public Map<String, String> attributeNames() {
+        return this.attributeNames;
+    }
+}
@@ -0,0 +1,89 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The RequestCoalescer class shares a single DynamoDB request among the concurrent callers that ask for
+ * the same operation on the same city, so a burst of identical lookups sends only one request to the table.
+ * <p>
+ * The first caller starts the request, and the callers arriving while it is in flight subscribe to the same
+ * result, receiving the items already emitted followed by the remaining ones. The request is removed when it
+ * completes, fails or every caller cancels it, so the next caller starts a new request.
+ * <p>
+ * The shared request must not depend on the caller, so the errors are shared as raised by the DynamoDB client,
+ * and each caller maps them to its own exception, keeping its own request ID.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(RequestCoalescer.class);
+
+    private final boolean enabled;
+    private final Map<Key, Flux<?>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(@Value("${city.dynamodb.coalescing.enabled:true}") boolean enabled) {
+        LOGGER.debug("Request coalescing enabled: {}", enabled);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the result of the given operation for the given city, sharing the request in flight if any.
+     *
+     * @param operation the name of the operation, which together with the city ID identifies the request.
+     * @param cityId    the ID of the city.
+     * @param request   the supplier of the request, invoked only when no identical request is in flight.
+     * @return a {@link Mono} that emits the result of the shared request.
+     */
+    public <T> Mono<T> coalesce(final String operation, final String cityId, final Supplier<Mono<T>> request) {
+        if (!this.enabled) {
+            return Mono.defer(request);
+        }
+        return this.coalesceMany(operation, cityId, () -> request.get().flux()).next();
+    }
+
+    /**
+     * Returns the items of the given operation for the given city, sharing the request in flight if any.
+     * The items are replayed to the callers that subscribe after the request started.
+     *
+     * @param operation the name of the operation, which together with the city ID identifies the request.
+     * @param cityId    the ID of the city.
+     * @param request   the supplier of the request, invoked only when no identical request is in flight.
+     * @return a {@link Flux} that emits the items of the shared request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> coalesceMany(final String operation, final String cityId, final Supplier<Flux<T>> request) {
+        if (!this.enabled) {
+            return Flux.defer(request);
+        }
+        final Key key = new Key(operation, cityId);
+        return Flux.defer(() -> (Flux<T>) this.inFlightRequests.computeIfAbsent(key, ignored -> {
+            AtomicReference<Flux<T>> sharedRequest = new AtomicReference<>();
+            sharedRequest.set(Flux.defer(request)
+                .doFinally(signal -> this.inFlightRequests.remove(key, sharedRequest.get()))
+                .replay()
+                .refCount());
+            return sharedRequest.get();
+        }));
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return the number of requests in flight.
+     */
+    public int inFlightCount() {
+        return this.inFlightRequests.size();
+    }
+
+    private record Key(String operation, String cityId) {
+    }
+}
@@ -3,24 +3,55 @@ package hiperium.city.read.function.repositories;
 import hiperium.city.functions.common.enums.ErrorCode;
 import hiperium.city.functions.common.enums.RecordStatus;
 import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import hiperium.city.read.function.commons.SectorQueryStrategy;
 import hiperium.city.read.function.entities.CityEntity;
 import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.snapshots.SnapshotStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * The SectorRepository class is responsible for retrieving City Sector objects from the DynamoDB table.
  * <p>
+ * Queries follow the {@code LastEvaluatedKey} of each response, so the complete result is returned
+ * even when the partition of a city is larger than the 1 MB limit of a single query. Only the attributes
+ * defined by the {@link ItemProjection} of each query are returned.
+ * <p>
+ * When the {@code city.sectors.query-strategy} property is {@code INDEX}, the active sectors are queried from
+ * the sparse {@code ActiveSectorsIndex}. Only active sectors have the {@code gsi1pk} and {@code gsi1sk}
+ * attributes, with the {@code CITY#<id>} and {@code ACTIVE#SECTOR#<n>} values, so the index returns them
+ * without reading the inactive sectors of the city.
+ * <p>
+ * The sectors near a point are queried from the sparse {@code SectorsGeohashIndex}. Only active sectors have
+ * the {@code gsi2pk} and {@code gsi2sk} attributes, with the {@code CITY#<id>} and {@code <geohash>#SECTOR#<n>}
+ * values, where the geohash of the coordinates has {@value #GEOHASH_PRECISION} characters, so a prefix of the
+ * sort key selects the sectors inside a geohash cell.
+ * <p>
+ * When the {@link SnapshotStore} has a snapshot of the table, the items of the cities served by the snapshot
+ * are read from the partitions of the snapshot, applying the same key conditions, filters and projections
+ * as the queries, so DynamoDB is only queried for the cities that the snapshot can't serve.
+ * <p>
+ * When the {@link SharedPartitionCache} is enabled, the partitions of the cities that the snapshot can't serve
+ * are read through the cache shared by all the function containers, by the {@link SharedPartitionReader},
+ * applying the same conditions to the cached items.
+ * <p>
  * @apiNote The Enhanced Client has problems at runtime when used with Spring Native.
  * This is because the Enhanced Client uses reflection to create the DynamoDbAsyncClient.
  * The solution is to use the low-level client instead.
@@ -28,12 +59,35 @@ import java.util.Map;
 @Repository
 public class SectorRepository {
 
+    public static final String ACTIVE_SECTORS_INDEX = "ActiveSectorsIndex";
+    public static final String ACTIVE_SECTOR_SK_PREFIX = RecordStatus.ACTIVE.getValue() + "#" + SectorEntity.SECTOR_SK_PREFIX;
+    public static final String GEOHASH_SECTORS_INDEX = "SectorsGeohashIndex";
+    public static final int GEOHASH_PRECISION = 9;
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(SectorRepository.class);
+    private static final String GEOHASH_SORT_KEY = "gsi2sk";
+    private static final Set<String> GEOHASH_SECTOR_ATTRIBUTES = geohashSectorAttributes();
+
     private final String tableName;
-    private final DynamoDbClient dynamoDbClient;
+    private final SectorQueryStrategy queryStrategy;
+    private final DynamoDbExecutor dynamoDbExecutor;
+    private final RequestCoalescer requestCoalescer;
+    private final SnapshotStore snapshotStore;
+    private final SharedPartitionReader sharedPartitionReader;
 
-    public SectorRepository(@Value("${city.table}") String tableName, DynamoDbClient dynamoDbClient) {
+    public SectorRepository(@Value("${city.table}") String tableName,
+                            @Value("${city.sectors.query-strategy:FILTER}") SectorQueryStrategy queryStrategy,
+                            DynamoDbExecutor dynamoDbExecutor,
+                            RequestCoalescer requestCoalescer,
+                            SnapshotStore snapshotStore,
+                            SharedPartitionReader sharedPartitionReader) {
+        LOGGER.debug("Using sector query strategy: {}", queryStrategy);
         this.tableName = tableName;
-        this.dynamoDbClient = dynamoDbClient;
+        this.queryStrategy = queryStrategy;
+        this.dynamoDbExecutor = dynamoDbExecutor;
+        this.requestCoalescer = requestCoalescer;
+        this.snapshotStore = snapshotStore;
+        this.sharedPartitionReader = sharedPartitionReader;
     }
 
     /**
@@ -44,16 +98,164 @@ public class SectorRepository {
      * @param cityId    the ID of the city used to match sectors.
      * @param status    the status used to filter the sectors.
      * @param requestId the unique identifier of the request for tracking purposes.
-     * @return a {@link Mono} that emits a {@link QueryResponse} containing the sectors
-     * that match the city ID and status, or an error if the query fails.
+     * @return a {@link Flux} that emits the sector items that match the city ID and status,
+     * or an error if the query fails.
+     */
+    public Flux<Map<String, AttributeValue>> findSectorsByCityAndStatus(final String cityId,
+                                                                        final RecordStatus status,
+                                                                        final String requestId) {
+        return this.findSectorsByCityAndStatus(cityId, status, null, null, ItemProjection.SECTOR, requestId);
+    }
+
+    /**
+     * Finds sectors by city ID and status from the DynamoDB table, starting after the given key.
+     * The items are read page by page, and the next page is only queried when the subscriber requests more items.
+     * <p>
+     * Concurrent calls that read all the sectors of the same city, with the same status and projection,
+     * share a single query through the {@link RequestCoalescer}.
+     *
+     * @param cityId            the ID of the city used to match sectors.
+     * @param status            the status used to filter the sectors.
+     * @param exclusiveStartKey the primary key of the item after which the query starts, or null to start
+     *                          from the first sector.
+     * @param pageLimit         the maximum number of items evaluated by each query, or null to use the
+     *                          DynamoDB 1 MB page limit.
+     * @param projection        the attributes returned for each sector item.
+     * @param requestId         the unique identifier of the request for tracking purposes.
+     * @return a {@link Flux} that emits the sector items that match the city ID and status,
+     * or an error if any query fails.
      */
-    public Mono<QueryResponse> findSectorsByCityAndStatus(final String cityId,
-                                                          final RecordStatus status,
-                                                          final String requestId) {
+    public Flux<Map<String, AttributeValue>> findSectorsByCityAndStatus(final String cityId,
+                                                                        final RecordStatus status,
+                                                                        final Map<String, AttributeValue> exclusiveStartKey,
+                                                                        final Integer pageLimit,
+                                                                        final ItemProjection projection,
+                                                                        final String requestId) {
+        // The index only contains the active sectors, so the other statuses are always filtered.
+        QueryRequest.Builder requestBuilder = SectorQueryStrategy.INDEX.equals(this.queryStrategy)
+            && RecordStatus.ACTIVE.equals(status)
+            ? this.activeSectorsIndexQuery(cityId, exclusiveStartKey, projection)
+            : this.statusFilterQuery(cityId, status, exclusiveStartKey, projection);
+        if (Objects.nonNull(pageLimit)) {
+            requestBuilder.limit(pageLimit);
+        }
 
-        Map<String, String> expressionAttributeNames = new HashMap<>();
-        expressionAttributeNames.put("#status", "status"); // status is a reserved word in DynamoDB.
+        // Only the queries reading all the sectors are shared, as the pages depend on the start key and limit.
+        QueryRequest request = requestBuilder.build();
+        Flux<Map<String, AttributeValue>> items = Objects.isNull(exclusiveStartKey) && Objects.isNull(pageLimit)
+            ? this.requestCoalescer.coalesceMany("findSectorsByCityAndStatus#" + status + "#" + projection, cityId,
+                () -> this.queryItems(request))
+            : this.queryItems(request);
+        final String startSortKey = Objects.nonNull(exclusiveStartKey) ? exclusiveStartKey.get("sk").s() : null;
+        return this.fromPartitionOr(cityId, projection.attributes(), items, partition -> partition
+                .filter(item -> item.get("sk").s().startsWith(SectorEntity.SECTOR_SK_PREFIX))
+                .filter(item -> Objects.nonNull(item.get("status"))
+                    && status.getValue().equals(item.get("status").s()))
+                .filter(item -> Objects.isNull(startSortKey) || item.get("sk").s().compareTo(startSortKey) > 0))
+            .onErrorMap(DynamoDbException.class, exception ->
+                new CityException("Error when querying sectors by city ID: " + cityId,
+                    ErrorCode.INTERNAL_001, requestId, exception));
+    }
 
+    /**
+     * Finds the city item and all of its sector items from the DynamoDB table using a single query.
+     * Both the city item and its sectors share the same partition key, so the query only uses
+     * the partition key condition, and the status of each item must be checked by the caller.
+     * <p>
+     * Items are returned in sort key order, so the city item is emitted before its sector items.
+     * Concurrent calls for the same city share a single query through the {@link RequestCoalescer}.
+     *
+     * @param cityId    the ID of the city used to form the partition key.
+     * @param requestId the unique identifier of the request for tracking purposes.
+     * @return a {@link Flux} that emits the city item followed by its sector items,
+     * or an error if any query fails.
+     */
+    public Flux<Map<String, AttributeValue>> findCityWithSectors(final String cityId, final String requestId) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":pkValue", AttributeValue.builder()
+            .s(CityEntity.CITY_PK_PREFIX + cityId)
+            .build());
+
+        QueryRequest request = QueryRequest.builder()
+            .tableName(this.tableName)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .keyConditionExpression("pk = :pkValue")
+            .projectionExpression(ItemProjection.CITY_WITH_SECTORS.expression())
+            .expressionAttributeNames(ItemProjection.CITY_WITH_SECTORS.attributeNames())
+            .expressionAttributeValues(expressionAttributeValues)
+            .build();
+
+        Flux<Map<String, AttributeValue>> items =
+            this.requestCoalescer.coalesceMany("findCityWithSectors", cityId, () -> this.queryItems(request));
+        return this.fromPartitionOr(cityId, ItemProjection.CITY_WITH_SECTORS.attributes(), items, Function.identity())
+            .onErrorMap(DynamoDbException.class, exception ->
+                new CityException("Error when querying city and sectors by city ID: " + cityId,
+                    ErrorCode.INTERNAL_001, requestId, exception));
+    }
+
+    /**
+     * Finds the active sectors of a city located inside the given geohash cells, querying the
+     * {@code SectorsGeohashIndex} with a prefix of the sort key for each cell. The cells are queried
+     * concurrently, so the sectors are emitted in no particular order.
+     *
+     * @param cityId       the ID of the city used to match sectors.
+     * @param geohashCells the geohashes of the cells to be queried, with up to {@value #GEOHASH_PRECISION}
+     *                     characters, or an empty list to query all the geo-indexed sectors of the city.
+     * @param requestId    the unique identifier of the request for tracking purposes.
+     * @return a {@link Flux} that emits the active sector items located inside the given cells,
+     * or an error if any query fails.
+     */
+    public Flux<Map<String, AttributeValue>> findSectorsByGeohashCells(final String cityId,
+                                                                       final List<String> geohashCells,
+                                                                       final String requestId) {
+        Flux<Map<String, AttributeValue>> items = geohashCells.isEmpty()
+            ? this.queryItems(this.geohashIndexQuery(cityId, null))
+            : Flux.fromIterable(geohashCells)
+                .flatMap(cell -> this.queryItems(this.geohashIndexQuery(cityId, cell)), geohashCells.size());
+        // Only the geo-indexed sectors have the index sort key, which is not returned by the index queries.
+        return this.fromPartitionOr(cityId, GEOHASH_SECTOR_ATTRIBUTES, items, partition -> partition
+                .filter(item -> Objects.nonNull(item.get(GEOHASH_SORT_KEY)) && (geohashCells.isEmpty()
+                    || geohashCells.stream().anyMatch(cell -> item.get(GEOHASH_SORT_KEY).s().startsWith(cell))))
+                .doOnNext(item -> item.remove(GEOHASH_SORT_KEY)))
+            .onErrorMap(DynamoDbException.class, exception ->
+                new CityException("Error when querying sectors by geohash for city ID: " + cityId,
+                    ErrorCode.INTERNAL_001, requestId, exception));
+    }
+
+    // Reads the items from the partition of the city in the snapshot or in the shared cache, or from the given
+    // DynamoDB items if the city is served by neither of them.
+    private Flux<Map<String, AttributeValue>> fromPartitionOr(
+        final String cityId,
+        final Set<String> attributes,
+        final Flux<Map<String, AttributeValue>> dynamoDbItems,
+        final Function<Flux<Map<String, AttributeValue>>, Flux<Map<String, AttributeValue>>> partitionQuery) {
+        return Flux.defer(() -> {
+            List<Map<String, AttributeValue>> snapshotPartition = this.snapshotStore.findPartition(cityId, attributes);
+            Mono<List<Map<String, AttributeValue>>> partition = Objects.nonNull(snapshotPartition)
+                ? Mono.just(snapshotPartition)
+                : this.sharedPartitionReader.findPartition(cityId, attributes);
+            return partition
+                .map(items -> partitionQuery.apply(Flux.fromIterable(items)))
+                .defaultIfEmpty(dynamoDbItems)
+                .flatMapMany(Function.identity());
+        });
+    }
+
+    private static Set<String> geohashSectorAttributes() {
+        Set<String> attributes = new HashSet<>(ItemProjection.SECTOR.attributes());
+        attributes.add(GEOHASH_SORT_KEY);
+        return Set.copyOf(attributes);
+    }
+
+    private Flux<Map<String, AttributeValue>> queryItems(final QueryRequest request) {
+        return this.dynamoDbExecutor.queryPages(request)
+            .flatMapIterable(QueryResponse::items);
+    }
+
+    private QueryRequest.Builder statusFilterQuery(final String cityId,
+                                                   final RecordStatus status,
+                                                   final Map<String, AttributeValue> exclusiveStartKey,
+                                                   final ItemProjection projection) {
         Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
         expressionAttributeValues.put(":pkValue", AttributeValue.builder()
             .s(CityEntity.CITY_PK_PREFIX + cityId)
@@ -65,18 +267,72 @@ public class SectorRepository {
             .s(status.getValue())
             .build());
 
-        QueryRequest request = QueryRequest.builder()
+        QueryRequest.Builder requestBuilder = QueryRequest.builder()
             .tableName(this.tableName)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
             .keyConditionExpression("pk = :pkValue AND begins_with(sk, :sectorPrefixValue)")
             .filterExpression("#status = :statusValue")
-            .expressionAttributeNames(expressionAttributeNames)
+            .projectionExpression(projection.expression())
+            .expressionAttributeNames(projection.attributeNames())
+            .expressionAttributeValues(expressionAttributeValues);
+        if (Objects.nonNull(exclusiveStartKey)) {
+            requestBuilder.exclusiveStartKey(exclusiveStartKey);
+        }
+        return requestBuilder;
+    }
+
+    private QueryRequest.Builder activeSectorsIndexQuery(final String cityId,
+                                                         final Map<String, AttributeValue> exclusiveStartKey,
+                                                         final ItemProjection projection) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":gsiPkValue", AttributeValue.builder()
+            .s(CityEntity.CITY_PK_PREFIX + cityId)
+            .build());
+        expressionAttributeValues.put(":activeSectorPrefixValue", AttributeValue.builder()
+            .s(ACTIVE_SECTOR_SK_PREFIX)
+            .build());
+
+        QueryRequest.Builder requestBuilder = QueryRequest.builder()
+            .tableName(this.tableName)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .indexName(ACTIVE_SECTORS_INDEX)
+            .keyConditionExpression("gsi1pk = :gsiPkValue AND begins_with(gsi1sk, :activeSectorPrefixValue)")
+            .projectionExpression(projection.expression())
+            .expressionAttributeNames(projection.attributeNames())
+            .expressionAttributeValues(expressionAttributeValues);
+        if (Objects.nonNull(exclusiveStartKey)) {
+            // The start key of an index query also needs the index keys, which are derived from the table keys.
+            Map<String, AttributeValue> indexStartKey = new HashMap<>(exclusiveStartKey);
+            indexStartKey.put("gsi1pk", exclusiveStartKey.get("pk"));
+            indexStartKey.put("gsi1sk", AttributeValue.builder()
+                .s(RecordStatus.ACTIVE.getValue() + "#" + exclusiveStartKey.get("sk").s())
+                .build());
+            requestBuilder.exclusiveStartKey(indexStartKey);
+        }
+        return requestBuilder;
+    }
+
+    private QueryRequest geohashIndexQuery(final String cityId, final String geohashCell) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":gsiPkValue", AttributeValue.builder()
+            .s(CityEntity.CITY_PK_PREFIX + cityId)
+            .build());
+        String keyConditionExpression = "gsi2pk = :gsiPkValue";
+        if (Objects.nonNull(geohashCell)) {
+            expressionAttributeValues.put(":geohashValue", AttributeValue.builder()
+                .s(geohashCell)
+                .build());
+            keyConditionExpression += " AND begins_with(gsi2sk, :geohashValue)";
+        }
+
+        return QueryRequest.builder()
+            .tableName(this.tableName)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .indexName(GEOHASH_SECTORS_INDEX)
+            .keyConditionExpression(keyConditionExpression)
+            .projectionExpression(ItemProjection.SECTOR.expression())
+            .expressionAttributeNames(ItemProjection.SECTOR.attributeNames())
             .expressionAttributeValues(expressionAttributeValues)
             .build();
-
-        return Mono.fromCallable(() -> this.dynamoDbClient.query(request))
-            .onErrorMap(DynamoDbException.class, exception ->
-                new CityException("Error when querying sectors by city ID: " + cityId,
-                    ErrorCode.INTERNAL_001, requestId, exception))
-            .subscribeOn(Schedulers.boundedElastic());
     }
 }
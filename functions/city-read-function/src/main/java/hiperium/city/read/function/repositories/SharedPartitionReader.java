@@ -0,0 +1,129 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import hiperium.city.read.function.entities.CityEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The SharedPartitionReader class reads the partitions of the cities through the {@link SharedPartitionCache},
+ * as a look-aside cache in front of the DynamoDB table.
+ * <p>
+ * When the partition of a city is not cached, all of its items are read from the table with a strongly
+ * consistent query and stored in the cache, so the next reads of any container are served from the cache.
+ * Concurrent reads of a partition that is not cached share a single query through the {@link RequestCoalescer}.
+ * <p>
+ * The methods complete empty when the shared cache is not active, so the caller reads from DynamoDB instead.
+ */
+@Component
+public class SharedPartitionReader {
+
+    private final String tableName;
+    private final DynamoDbExecutor dynamoDbExecutor;
+    private final RequestCoalescer requestCoalescer;
+    private final SharedPartitionCache sharedPartitionCache;
+
+    public SharedPartitionReader(@Value("${city.table}") String tableName,
+                                 DynamoDbExecutor dynamoDbExecutor,
+                                 RequestCoalescer requestCoalescer,
+                                 SharedPartitionCache sharedPartitionCache) {
+        this.tableName = tableName;
+        this.dynamoDbExecutor = dynamoDbExecutor;
+        this.requestCoalescer = requestCoalescer;
+        this.sharedPartitionCache = sharedPartitionCache;
+    }
+
+    /**
+     * Finds the items of the partition of the given city, in sort key order, reading the partition from
+     * DynamoDB and storing it in the shared cache if it is not cached.
+     *
+     * @param cityId     the ID of the city.
+     * @param attributes the names of the attributes to be returned.
+     * @return a {@link Mono} that emits the items of the partition, an empty list if the city doesn't exist,
+     *         completes empty if the shared cache is not active, or emits an error if the query fails.
+     */
+    public Mono<List<Map<String, AttributeValue>>> findPartition(final String cityId, final Set<String> attributes) {
+        return this.sharedPartitionCache.findPartition(cityId, attributes)
+            .switchIfEmpty(Mono.defer(() -> this.loadPartition(cityId)
+                .map(items -> items.stream()
+                    .map(item -> project(item, attributes))
+                    .toList())));
+    }
+
+    /**
+     * Finds the item with the given sort key in the partition of the given city, reading the partition from
+     * DynamoDB and storing it in the shared cache if it is not cached.
+     *
+     * @param cityId     the ID of the city.
+     * @param sortKey    the sort key of the item.
+     * @param attributes the names of the attributes to be returned.
+     * @return a {@link Mono} that emits a list with the item, an empty list if the item doesn't exist,
+     *         completes empty if the shared cache is not active, or emits an error if the query fails.
+     */
+    public Mono<List<Map<String, AttributeValue>>> findItem(final String cityId,
+                                                            final String sortKey,
+                                                            final Set<String> attributes) {
+        return this.sharedPartitionCache.findItem(cityId, sortKey, attributes)
+            .switchIfEmpty(Mono.defer(() -> this.loadPartition(cityId)
+                .map(items -> items.stream()
+                    .filter(item -> sortKey.equals(item.get("sk").s()))
+                    .map(item -> project(item, attributes))
+                    .toList())));
+    }
+
+    /**
+     * Finds the item with the given sort key in the partition of the given city, only if the partition is cached.
+     *
+     * @param cityId     the ID of the city.
+     * @param sortKey    the sort key of the item.
+     * @param attributes the names of the attributes to be returned.
+     * @return a {@link Mono} that emits a list with the item, an empty list if the item doesn't exist,
+     *         or completes empty if the partition is not cached or the shared cache is not active.
+     */
+    public Mono<List<Map<String, AttributeValue>>> findCachedItem(final String cityId,
+                                                                  final String sortKey,
+                                                                  final Set<String> attributes) {
+        return this.sharedPartitionCache.findItem(cityId, sortKey, attributes);
+    }
+
+    // Completes empty when the cache became inactive, as the read that failed already suspended it.
+    private Mono<List<Map<String, AttributeValue>>> loadPartition(final String cityId) {
+        if (!this.sharedPartitionCache.isActive()) {
+            return Mono.empty();
+        }
+        QueryRequest request = QueryRequest.builder()
+            .tableName(this.tableName)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .keyConditionExpression("pk = :pkValue")
+            .expressionAttributeValues(Map.of(":pkValue", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId)))
+            .consistentRead(true)
+            .build();
+        return this.requestCoalescer.coalesce("loadSharedPartition", cityId, () -> this.dynamoDbExecutor
+            .queryPages(request)
+            .flatMapIterable(QueryResponse::items)
+            .collectList()
+            .flatMap(items -> this.sharedPartitionCache.putPartition(cityId, items).thenReturn(items)));
+    }
+
+    // The items of a loaded partition are shared by the coalesced callers, so each caller receives its own copies.
+    private static Map<String, AttributeValue> project(final Map<String, AttributeValue> item,
+                                                       final Set<String> attributes) {
+        Map<String, AttributeValue> projectedItem = HashMap.newHashMap(attributes.size());
+        item.forEach((name, value) -> {
+            if (attributes.contains(name)) {
+                projectedItem.put(name, value);
+            }
+        });
+        return projectedItem;
+    }
+}
@@ -0,0 +1,22 @@
+package hiperium.city.read.function.requests;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * The CitiesDataRequest record represents a request to retrieve many cities in a single invocation.
+ * The city IDs are deduplicated when the request is deserialized, keeping the order of their first occurrence.
+ *
+ * @param cityIds   the IDs of the cities to be retrieved.
+ * @param requestId the unique identifier of the request for tracking purposes.
+ */
+public record CitiesDataRequest(
+    @NotEmpty(message = "City IDs must not be empty.")
+    @Size(max = CitiesDataRequest.MAX_CITY_IDS, message = "City IDs must not contain more than 500 elements.")
+    List<String> cityIds,
+    String requestId
+) {
+    public static final int MAX_CITY_IDS = 500;
+}
@@ -0,0 +1,23 @@
+package hiperium.city.read.function.requests;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * Represents the change of an item of the city table, read from a record of the DynamoDB stream of the table.
+ *
+ * @param eventName      the kind of change: {@code INSERT}, {@code MODIFY} or {@code REMOVE}.
+ * @param sequenceNumber the sequence number of the stream record, reported when the change isn't applied.
+ * @param cityId         the ID of the city of the changed item, or null if the item isn't in a city partition.
+ * @param sortKey        the sort key of the changed item.
+ * @param newImage       the item after the change, or null if it was removed or the stream doesn't include it.
+ */
+public record CityChangeRecord(
+    String eventName,
+    String sequenceNumber,
+    String cityId,
+    String sortKey,
+    Map<String, AttributeValue> newImage
+) {
+}
@@ -10,6 +10,11 @@ import jakarta.validation.Valid;
 public record CityDataRequest(
     @Valid
     CityIdRequest cityIdRequest,
+    @Valid
+    QueryOptions queryOptions,
     String requestId
 ) {
+    public CityDataRequest(CityIdRequest cityIdRequest, String requestId) {
+        this(cityIdRequest, null, requestId);
+    }
 }
@@ -0,0 +1,20 @@
+package hiperium.city.read.function.requests;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * The Coordinate record represents a point sent by a client, like the vertices of a polygon.
+ *
+ * @param latitude  the latitude of the point, in degrees.
+ * @param longitude the longitude of the point, in degrees.
+ */
+public record Coordinate(
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90 degrees.")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90 degrees.")
+    double latitude,
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180 degrees.")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180 degrees.")
+    double longitude
+) {
+}
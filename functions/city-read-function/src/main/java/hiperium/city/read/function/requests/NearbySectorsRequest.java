@@ -0,0 +1,58 @@
+package hiperium.city.read.function.requests;
+
+import hiperium.city.functions.common.requests.CityIdRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The NearbySectorsRequest record represents a request to find the active sectors of a city near a point.
+ * <p>
+ * When the radius is given, the sectors within the radius are returned, up to the limit if it is also given.
+ * Otherwise, the nearest sectors are returned, up to the limit.
+ *
+ * @param cityIdRequest the ID of the city whose sectors are searched.
+ * @param latitude      the latitude of the point, in degrees.
+ * @param longitude     the longitude of the point, in degrees.
+ * @param radius        the maximum distance between the point and the sectors, in meters.
+ * @param limit         the maximum number of sectors to return, nearest first.
+ * @param requestId     the unique identifier of the request for tracking purposes.
+ */
+public record NearbySectorsRequest(
+    @Valid
+    CityIdRequest cityIdRequest,
+    @NotNull(message = "Latitude must not be null.")
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90 degrees.")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90 degrees.")
+    Double latitude,
+    @NotNull(message = "Longitude must not be null.")
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180 degrees.")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180 degrees.")
+    Double longitude,
+    @Min(value = 1, message = "Radius must be greater than zero.")
+    @Max(value = NearbySectorsRequest.MAX_RADIUS, message = "Radius must not be greater than 50000 meters.")
+    Integer radius,
+    @Min(value = 1, message = "Limit must be greater than zero.")
+    @Max(value = NearbySectorsRequest.MAX_LIMIT, message = "Limit must not be greater than 100.")
+    Integer limit,
+    String requestId
+) {
+    public static final int MAX_RADIUS = 50_000;
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Indicates whether the request bounds the search with a radius or a limit.
+     *
+     * @return true if the radius or the limit is given, false otherwise.
+     */
+    @AssertTrue(message = "Radius or limit must be provided.")
+    public boolean isBounded() {
+        return Objects.nonNull(this.radius) || Objects.nonNull(this.limit);
+    }
+}
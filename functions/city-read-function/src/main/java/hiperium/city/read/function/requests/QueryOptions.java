@@ -0,0 +1,47 @@
+package hiperium.city.read.function.requests;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.util.Objects;
+
+/**
+ * The QueryOptions record represents the optional parameters that a client can send to control
+ * how the results of a query are returned, such as the page size, the cursor of the next page
+ * and whether only the summary of each result is returned.
+ *
+ * @param pageSize the maximum number of results to return in a single page.
+ * @param cursor   the opaque cursor returned by a previous page, used to retrieve the next page.
+ * @param summary  whether only the summary of each result must be returned.
+ */
+public record QueryOptions(
+    @Min(value = 1, message = "Page size must be greater than zero.")
+    @Max(value = QueryOptions.MAX_PAGE_SIZE, message = "Page size must not be greater than 100.")
+    Integer pageSize,
+    String cursor,
+    Boolean summary
+) {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public QueryOptions(Integer pageSize, String cursor) {
+        this(pageSize, cursor, null);
+    }
+
+    /**
+     * Indicates whether the client requested a paginated response, either by sending a page size or a cursor.
+     *
+     * @return true if the results must be returned page by page, false otherwise.
+     */
+    public boolean isPaginated() {
+        return Objects.nonNull(this.pageSize) || Objects.nonNull(this.cursor);
+    }
+
+    /**
+     * Indicates whether the client requested only the summary of each result.
+     *
+     * @return true if only the summary of each result must be returned, false otherwise.
+     */
+    public boolean isSummary() {
+        return Boolean.TRUE.equals(this.summary);
+    }
+}
@@ -0,0 +1,80 @@
+package hiperium.city.read.function.requests;
+
+import hiperium.city.functions.common.requests.CityIdRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * The SectorsAreaRequest record represents a request to find the active sectors of a city inside an area,
+ * defined either by a bounding box or by a polygon.
+ * <p>
+ * The bounding box crosses the antimeridian when its west longitude is greater than its east longitude.
+ * The polygon is closed implicitly, and it must not cross the antimeridian.
+ *
+ * @param cityIdRequest the ID of the city whose sectors are searched.
+ * @param south         the minimum latitude of the bounding box, in degrees.
+ * @param west          the western longitude of the bounding box, in degrees.
+ * @param north         the maximum latitude of the bounding box, in degrees.
+ * @param east          the eastern longitude of the bounding box, in degrees.
+ * @param polygon       the vertices of the polygon.
+ * @param requestId     the unique identifier of the request for tracking purposes.
+ */
+public record SectorsAreaRequest(
+    @Valid
+    CityIdRequest cityIdRequest,
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90 degrees.")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90 degrees.")
+    Double south,
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180 degrees.")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180 degrees.")
+    Double west,
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90 degrees.")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90 degrees.")
+    Double north,
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180 degrees.")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180 degrees.")
+    Double east,
+    @Size(min = 3, max = SectorsAreaRequest.MAX_POLYGON_VERTICES,
+        message = "Polygon must contain between 3 and 100 vertices.")
+    List<@Valid Coordinate> polygon,
+    String requestId
+) {
+    public static final int MAX_POLYGON_VERTICES = 100;
+
+    /**
+     * Indicates whether the request defines a single area, either a complete bounding box or a polygon.
+     *
+     * @return true if the request contains all the bounds of the bounding box or a polygon, but not both.
+     */
+    @AssertTrue(message = "Either the bounding box or the polygon must be provided.")
+    public boolean isAreaDefined() {
+        long bounds = Stream.of(this.south, this.west, this.north, this.east).filter(Objects::nonNull).count();
+        return Objects.isNull(this.polygon) ? bounds == 4 : bounds == 0;
+    }
+
+    /**
+     * Indicates whether the south latitude of the bounding box is not greater than the north latitude.
+     *
+     * @return true if the bounding box is ordered or is not complete.
+     */
+    @AssertTrue(message = "South latitude must not be greater than north latitude.")
+    public boolean isBoundingBoxOrdered() {
+        return Objects.isNull(this.south) || Objects.isNull(this.north) || this.south <= this.north;
+    }
+
+    /**
+     * Indicates whether the request defines the area with a bounding box.
+     *
+     * @return true if the request contains a polygon, false if it contains a bounding box.
+     */
+    public boolean hasPolygon() {
+        return Objects.nonNull(this.polygon);
+    }
+}
@@ -0,0 +1,9 @@
+package hiperium.city.read.function.responses;
+
+/**
+ * Represents the response of a cache invalidation request.
+ *
+ * @param cityId the ID of the city whose cached entries were evicted.
+ */
+public record CacheInvalidationResponse(String cityId) {
+}
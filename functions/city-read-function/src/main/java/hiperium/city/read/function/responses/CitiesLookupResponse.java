@@ -0,0 +1,12 @@
+package hiperium.city.read.function.responses;
+
+import java.util.List;
+
+/**
+ * Represents the response of a batch city lookup, containing one result per requested city ID
+ * in the order in which the IDs were requested.
+ *
+ * @param results the results of the lookup of each city.
+ */
+public record CitiesLookupResponse(List<CityLookupResult> results) {
+}
@@ -0,0 +1,12 @@
+package hiperium.city.read.function.responses;
+
+import java.util.List;
+
+/**
+ * Represents the response of a multi-city sectors request, containing one result per requested city ID
+ * in the order in which the lookups completed.
+ *
+ * @param results the results of the lookup of the sectors of each city.
+ */
+public record CitiesSectorsResponse(List<CitySectorsResult> results) {
+}
@@ -0,0 +1,22 @@
+package hiperium.city.read.function.responses;
+
+import java.util.List;
+
+/**
+ * Represents the response of the function that applies the changes of a DynamoDB stream batch, in the format of
+ * the partial batch responses of Lambda, so only the records from the first failed one are retried.
+ *
+ * @param batchItemFailures the record that couldn't be applied, or an empty list if every record was applied.
+ */
+public record CityChangesResponse(
+    List<BatchItemFailure> batchItemFailures
+) {
+
+    /**
+     * Represents a record of the batch that couldn't be applied.
+     *
+     * @param itemIdentifier the sequence number of the stream record.
+     */
+    public record BatchItemFailure(String itemIdentifier) {
+    }
+}
@@ -0,0 +1,27 @@
+package hiperium.city.read.function.responses;
+
+import hiperium.city.read.function.entities.CityEntity;
+
+/**
+ * Represents the result of the lookup of a single city inside a batch request.
+ * Only the found cities contain their data, while the other results contain the reason of the failure.
+ *
+ * @param cityId  the ID of the requested city.
+ * @param status  the outcome of the lookup.
+ * @param city    the data of the city, or null if the city was not found or is not active.
+ * @param message the reason of the failure, or null if the city was found.
+ */
+public record CityLookupResult(
+    String cityId,
+    CityLookupStatus status,
+    CityEntity city,
+    String message
+) {
+    public static CityLookupResult found(final String cityId, final CityEntity city) {
+        return new CityLookupResult(cityId, CityLookupStatus.FOUND, city, null);
+    }
+
+    public static CityLookupResult failed(final String cityId, final CityLookupStatus status, final String message) {
+        return new CityLookupResult(cityId, status, null, message);
+    }
+}
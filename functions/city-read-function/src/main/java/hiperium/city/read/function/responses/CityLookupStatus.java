@@ -0,0 +1,30 @@
+package hiperium.city.read.function.responses;
+
+import hiperium.city.functions.common.exceptions.InactiveCityException;
+import hiperium.city.functions.common.exceptions.ResourceNotFoundException;
+
+/**
+ * Represents the outcome of the lookup of a single city inside a batch request.
+ */
+public enum CityLookupStatus {
+    FOUND,
+    NOT_FOUND,
+    INACTIVE,
+    INVALID,
+    TIMEOUT,
+    ERROR;
+
+    /**
+     * Resolves the outcome of a lookup that failed with the given exception.
+     *
+     * @param throwable the exception raised by the lookup of the city.
+     * @return the status corresponding to the exception, or {@link #ERROR} for unexpected exceptions.
+     */
+    public static CityLookupStatus fromException(final Throwable throwable) {
+        return switch (throwable) {
+            case ResourceNotFoundException exception -> NOT_FOUND;
+            case InactiveCityException exception -> INACTIVE;
+            default -> ERROR;
+        };
+    }
+}
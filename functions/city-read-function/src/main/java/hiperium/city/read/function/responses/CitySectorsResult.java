@@ -0,0 +1,29 @@
+package hiperium.city.read.function.responses;
+
+import hiperium.city.read.function.entities.SectorEntity;
+
+import java.util.List;
+
+/**
+ * Represents the active sectors of a single city inside a multi-city sectors request.
+ * Only the active cities contain their sectors, while the other results contain the reason of the failure.
+ *
+ * @param cityId  the ID of the requested city.
+ * @param status  the outcome of the lookup of the city.
+ * @param sectors the active sectors of the city, or null if the lookup failed.
+ * @param message the reason of the failure, or null if the sectors were found.
+ */
+public record CitySectorsResult(
+    String cityId,
+    CityLookupStatus status,
+    List<SectorEntity> sectors,
+    String message
+) {
+    public static CitySectorsResult found(final String cityId, final List<SectorEntity> sectors) {
+        return new CitySectorsResult(cityId, CityLookupStatus.FOUND, sectors, null);
+    }
+
+    public static CitySectorsResult failed(final String cityId, final CityLookupStatus status, final String message) {
+        return new CitySectorsResult(cityId, status, null, message);
+    }
+}
@@ -0,0 +1,15 @@
+package hiperium.city.read.function.responses;
+
+import hiperium.city.read.function.entities.SectorEntity;
+
+/**
+ * Represents a sector found near the point of a nearby sectors request.
+ *
+ * @param sector   the active sector.
+ * @param distance the great-circle distance between the point and the sector, in meters.
+ */
+public record NearbySector(
+    SectorEntity sector,
+    double distance
+) {
+}
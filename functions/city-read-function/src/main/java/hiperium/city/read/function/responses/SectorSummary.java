@@ -0,0 +1,35 @@
+package hiperium.city.read.function.responses;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.read.function.entities.SectorEntity;
+
+/**
+ * A record that represents the summary of a sector, containing only its name, status and geographical coordinates.
+ * It is returned instead of the {@link SectorEntity} when the client requests the summary of the sectors.
+ *
+ * @param name      the name of the sector
+ * @param status    the status of the sector
+ * @param latitude  the latitude coordinate of the sector
+ * @param longitude the longitude coordinate of the sector
+ */
+public record SectorSummary(
+    String name,
+    RecordStatus status,
+    String latitude,
+    String longitude
+) {
+
+    /**
+     * Creates the summary of the given sector.
+     *
+     * @param sectorEntity the sector to be summarized.
+     * @return the summary of the sector.
+     */
+    public static SectorSummary from(final SectorEntity sectorEntity) {
+        return new SectorSummary(
+            sectorEntity.entityCommon().name(),
+            sectorEntity.entityCommon().status(),
+            sectorEntity.latitude(),
+            sectorEntity.longitude());
+    }
+}
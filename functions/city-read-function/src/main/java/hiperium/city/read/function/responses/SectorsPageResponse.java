@@ -0,0 +1,19 @@
+package hiperium.city.read.function.responses;
+
+import java.util.List;
+
+/**
+ * A record that represents a single page of sectors returned to the client.
+ * <p>
+ * When more sectors are available, the {@code nextCursor} must be sent in the next request
+ * to retrieve the following page. A null cursor indicates that this is the last page.
+ *
+ * @param sectors    the sectors contained in this page
+ * @param nextCursor the opaque cursor used to retrieve the next page, or null if there are no more pages
+ * @param <T>        the type of the sectors, either the full sector entities or their summaries
+ */
+public record SectorsPageResponse<T>(
+    List<T> sectors,
+    String nextCursor
+) {
+}
@@ -0,0 +1,138 @@
+package hiperium.city.read.function.serializers;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hiperium.city.functions.common.enums.ErrorCode;
+import hiperium.city.functions.common.exceptions.CityException;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The ResponseWriter class serializes the responses of the functions directly into JSON bytes, so the
+ * response isn't converted to a String first and then converted again to bytes by the Lambda adapter.
+ * <p>
+ * The JSON writer is created once and is thread-safe, and the JSON is written into a reusable buffer
+ * of the current thread.
+ * <p>
+ * The serialized bytes of the entities stored in the {@code CityCache} and the {@code SectorCache} can also be
+ * stored, keyed by the identity of the cached instance. The bytes are released when the cached instance is evicted
+ * and collected, so a cache hit skips the serialization entirely. The bytes are only stored for the entities whose
+ * cache is enabled, as a disabled cache returns a new instance on every lookup, which would never be hit again.
+ */
+@Component
+public class ResponseWriter {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(ResponseWriter.class);
+
+    private static final ThreadLocal<ByteArrayBuilder> BUFFERS = ThreadLocal.withInitial(ByteArrayBuilder::new);
+
+    private final ObjectWriter objectWriter;
+    private final Cache<Object, byte[]> bytesCache;
+    private final boolean cityBytesCached;
+    private final boolean sectorsBytesCached;
+
+    public ResponseWriter(@Value("${city.cache.responses.enabled:true}") boolean enabled,
+                          @Value("${city.cache.responses.maximum-size:1000}") long maximumSize,
+                          @Value("${city.cache.city.enabled:true}") boolean cityCacheEnabled,
+                          @Value("${city.cache.sectors.enabled:true}") boolean sectorCacheEnabled) {
+        LOGGER.debug("Serialized responses cache enabled: {}", enabled);
+        JsonMapper jsonMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        this.objectWriter = jsonMapper.writer();
+        this.cityBytesCached = enabled && cityCacheEnabled;
+        this.sectorsBytesCached = enabled && sectorCacheEnabled;
+        this.bytesCache = this.cityBytesCached || this.sectorsBytesCached
+            ? Caffeine.newBuilder().weakKeys().maximumSize(maximumSize).build()
+            : null;
+    }
+
+    /**
+     * Serializes the given response and wraps it in a successful message.
+     *
+     * @param response the response to be serialized.
+     * @return a {@link Message} containing the JSON bytes of the response and the successful status code.
+     */
+    public Message<byte[]> success(final Object response) {
+        return success(this.write(response));
+    }
+
+    /**
+     * Serializes the given city and wraps it in a successful message. When the {@code CityCache} is enabled,
+     * the serialized bytes are stored for the given instance, so they are reused while the instance remains cached.
+     *
+     * @param cityEntity the city returned by the {@code CityService}.
+     * @return a {@link Message} containing the JSON bytes of the city and the successful status code.
+     */
+    public Message<byte[]> successCachedCity(final CityEntity cityEntity) {
+        return this.cityBytesCached
+            ? success(this.bytesCache.get(cityEntity, this::write))
+            : this.success(cityEntity);
+    }
+
+    /**
+     * Serializes the given sectors and wraps them in a successful message. When the {@code SectorCache} is enabled,
+     * the serialized bytes are stored for the given list, so they are reused while the list remains cached.
+     *
+     * @param sectors the sectors returned by the {@code SectorService}.
+     * @return a {@link Message} containing the JSON bytes of the sectors and the successful status code.
+     */
+    public Message<byte[]> successCachedSectors(final List<SectorEntity> sectors) {
+        return this.sectorsBytesCached
+            ? success(this.bytesCache.get(sectors, this::write))
+            : this.success(sectors);
+    }
+
+    /**
+     * Converts the given message with a String payload, like the error messages, into a message with bytes payload.
+     *
+     * @param message the message to be converted.
+     * @return a {@link Message} containing the UTF-8 bytes of the payload and the same headers.
+     */
+    public static Message<byte[]> toBytes(final Message<String> message) {
+        return MessageBuilder
+            .withPayload(message.getPayload().getBytes(StandardCharsets.UTF_8))
+            .copyHeaders(message.getHeaders())
+            .build();
+    }
+
+    private byte[] write(final Object response) {
+        ByteArrayBuilder buffer = BUFFERS.get();
+        try {
+            this.objectWriter.writeValue(buffer, response);
+            return buffer.toByteArray();
+        } catch (IOException exception) {
+            throw new CityException("Error when serializing the response: " + exception.getMessage(),
+                ErrorCode.INTERNAL_001, null, exception);
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    private static Message<byte[]> success(final byte[] body) {
+        return MessageBuilder
+            .withPayload(body)
+            .setHeader(ResponseUtil.LAMBDA_STATUS_CODE, HttpStatus.OK.value())
+            .setHeader(HttpHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+            .build();
+    }
+}
@@ -1,19 +1,27 @@
 package hiperium.city.read.function.services;
 
 import hiperium.city.functions.common.enums.RecordStatus;
-import hiperium.city.functions.common.exceptions.InactiveCityException;
-import hiperium.city.functions.common.exceptions.ResourceNotFoundException;
-import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.caches.CachedCity;
+import hiperium.city.read.function.caches.CityCache;
 import hiperium.city.read.function.entities.CityEntity;
-import hiperium.city.read.function.mappers.FunctionMapper;
+import hiperium.city.read.function.exceptions.CityInactiveException;
+import hiperium.city.read.function.exceptions.CityNotFoundException;
+import hiperium.city.read.function.mappers.ItemMapper;
 import hiperium.city.read.function.repositories.CityRepository;
 import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.responses.CityLookupResult;
+import hiperium.city.read.function.responses.CityLookupStatus;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service for managing city data, including retrieval and mapping operations.
@@ -22,58 +30,135 @@ import java.util.Map;
 @Service
 public class CityService {
 
-    private final FunctionMapper functionMapper;
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(CityService.class);
+
+    private final CityCache cityCache;
+    private final ItemMapper itemMapper;
     private final CityRepository cityRepository;
-    private final TimeZoneProvider timeZoneProvider;
 
-    public CityService(FunctionMapper functionMapper,
-                       CityRepository cityRepository,
-                       TimeZoneProvider timeZoneProvider) {
-        this.functionMapper = functionMapper;
+    public CityService(CityCache cityCache,
+                       ItemMapper itemMapper,
+                       CityRepository cityRepository) {
+        this.cityCache = cityCache;
+        this.itemMapper = itemMapper;
         this.cityRepository = cityRepository;
-        this.timeZoneProvider = timeZoneProvider;
     }
 
     /**
      * Retrieves an active city based on the provided city ID. This method queries the city repository
      * and applies a mapping function to convert the response into a CityEntity.
+     * <p>
+     * The outcome of the lookup is stored in the {@link CityCache}, including the "not found" and "inactive"
+     * outcomes, so the repository is only queried when the city is not cached.
      *
      * @param cityDataRequest   the ID of the city to be retrieved
      * @return a {@link Mono} emitting a {@link CityEntity} representing the active city,
      *         or completing with an error if the city cannot be found or mapped
      */
     public Mono<CityEntity> findActiveCityById(final CityDataRequest cityDataRequest) {
-        return this.cityRepository.findByCityId(cityDataRequest.cityIdRequest().cityId(), cityDataRequest.requestId())
-            .flatMap(queryResponse ->
-                retrieveCityData(
-                    cityDataRequest.cityIdRequest().cityId(),
-                    queryResponse,
-                    cityDataRequest.requestId()))
-            .map(item ->
-                this.functionMapper.mapCityDataResponse(item, this.timeZoneProvider))
-            .flatMap(cityEntity ->
-                validateCityStatus(
-                    cityDataRequest.cityIdRequest().cityId(),
-                    cityEntity,
-                    cityDataRequest.requestId()));
+        final String cityId = cityDataRequest.cityIdRequest().cityId();
+        final String requestId = cityDataRequest.requestId();
+        return Mono.defer(() -> {
+                CachedCity cachedCity = this.cityCache.get(cityId);
+                return Objects.nonNull(cachedCity) ? Mono.just(cachedCity) : this.findCity(cityId, requestId);
+            })
+            .flatMap(cachedCity -> validateCachedCity(cityId, cachedCity, requestId));
     }
 
-    private static Mono<Map<String, AttributeValue>> retrieveCityData(final String cityId,
-                                                                      final QueryResponse queryResponse,
-                                                                      final String requestId) {
-        if (queryResponse.items().isEmpty()) {
-            return Mono.error(new ResourceNotFoundException("City not found with ID: " + cityId, requestId));
-        } else {
-            return Mono.just(queryResponse.items().getFirst());
+    private Mono<CachedCity> findCity(final String cityId, final String requestId) {
+        return this.cityRepository.findByCityId(cityId, requestId)
+            .map(item -> new CachedCity(this.itemMapper.mapCity(item)))
+            .defaultIfEmpty(CachedCity.NOT_FOUND)
+            .doOnNext(cachedCity -> this.cityCache.put(cityId, cachedCity));
+    }
+
+    /**
+     * Retrieves the given cities, returning one result per city ID in the same order.
+     * <p>
+     * The cities found in the {@link CityCache} are not requested again. The remaining cities are retrieved
+     * with batch requests, and their outcomes are stored in the cache, including the "not found" outcome.
+     * Each city is checked with the same status checks used by {@link #findActiveCityById(CityDataRequest)},
+     * so a city that doesn't exist or is inactive produces a failed result instead of failing the whole lookup.
+     * When the batch requests fail, the cities that were not cached produce an error result.
+     *
+     * @param cityIds   the distinct IDs of the cities to be retrieved.
+     * @param requestId the unique identifier of the request for tracking purposes.
+     * @return a {@link Mono} emitting the list of lookup results in the order of the given city IDs.
+     */
+    public Mono<List<CityLookupResult>> findCitiesByIds(final List<String> cityIds, final String requestId) {
+        return Mono.defer(() -> {
+                Map<String, CachedCity> cachedCities = new HashMap<>();
+                List<String> missingIds = new ArrayList<>();
+                cityIds.forEach(cityId -> {
+                    CachedCity cachedCity = this.cityCache.get(cityId);
+                    if (Objects.nonNull(cachedCity)) {
+                        cachedCities.put(cityId, cachedCity);
+                    } else {
+                        missingIds.add(cityId);
+                    }
+                });
+                if (missingIds.isEmpty()) {
+                    return Mono.just(cachedCities);
+                }
+                return this.findCities(missingIds, requestId)
+                    .map(foundCities -> {
+                        cachedCities.putAll(foundCities);
+                        return cachedCities;
+                    })
+                    .onErrorResume(exception -> {
+                        LOGGER.error("Error when retrieving cities data in batch: " + exception.getMessage(), exception);
+                        return Mono.just(cachedCities);
+                    });
+            })
+            .flatMapMany(cachedCities -> Flux.fromIterable(cityIds)
+                .concatMap(cityId -> toLookupResult(cityId, cachedCities.get(cityId), requestId)))
+            .collectList();
+    }
+
+    private Mono<Map<String, CachedCity>> findCities(final List<String> cityIds, final String requestId) {
+        return this.cityRepository.findByCityIds(cityIds, requestId)
+            .collectMap(CityService::getCityId, item -> new CachedCity(this.itemMapper.mapCity(item)))
+            .map(foundCities -> {
+                Map<String, CachedCity> cachedCities = new HashMap<>();
+                cityIds.forEach(cityId -> {
+                    CachedCity cachedCity = foundCities.getOrDefault(cityId, CachedCity.NOT_FOUND);
+                    this.cityCache.put(cityId, cachedCity);
+                    cachedCities.put(cityId, cachedCity);
+                });
+                return cachedCities;
+            });
+    }
+
+    private static Mono<CityLookupResult> toLookupResult(final String cityId,
+                                                         final CachedCity cachedCity,
+                                                         final String requestId) {
+        if (Objects.isNull(cachedCity)) {
+            return Mono.just(CityLookupResult.failed(cityId, CityLookupStatus.ERROR, "Error when retrieving city data."));
+        }
+        return validateCachedCity(cityId, cachedCity, requestId)
+            .map(cityEntity -> CityLookupResult.found(cityId, cityEntity))
+            .onErrorResume(exception -> Mono.just(
+                CityLookupResult.failed(cityId, CityLookupStatus.fromException(exception), exception.getMessage())));
+    }
+
+    private static String getCityId(final Map<String, AttributeValue> item) {
+        return item.get("pk").s().substring(CityEntity.CITY_PK_PREFIX.length());
+    }
+
+    static Mono<CityEntity> validateCachedCity(final String cityId,
+                                               final CachedCity cachedCity,
+                                               final String requestId) {
+        if (Objects.isNull(cachedCity.cityEntity())) {
+            return Mono.error(new CityNotFoundException(cityId, requestId));
         }
+        return validateCityStatus(cityId, cachedCity.cityEntity(), requestId);
     }
 
-    private static Mono<CityEntity> validateCityStatus(final String cityId,
-                                                       final CityEntity cityEntity,
-                                                       final String requestId) {
+    static Mono<CityEntity> validateCityStatus(final String cityId,
+                                               final CityEntity cityEntity,
+                                               final String requestId) {
         if (RecordStatus.INACTIVE.equals(cityEntity.entityCommon().status())) {
-            return Mono.error(
-                new InactiveCityException("Cannot perform operations on an Inactive city: " + cityId, requestId));
+            return Mono.error(new CityInactiveException(cityId, requestId));
         } else {
             return Mono.just(cityEntity);
         }
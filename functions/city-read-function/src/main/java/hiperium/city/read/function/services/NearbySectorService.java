@@ -0,0 +1,138 @@
+package hiperium.city.read.function.services;
+
+import hiperium.city.read.function.mappers.ItemMapper;
+import hiperium.city.read.function.repositories.SectorRepository;
+import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.NearbySectorsRequest;
+import hiperium.city.read.function.responses.NearbySector;
+import hiperium.city.read.function.utils.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service for finding the active sectors of a city near a point.
+ * <p>
+ * The sectors are read from the geohash index by the cells around the point, so DynamoDB only returns the
+ * sectors of the candidate cells, and the exact distance of each candidate is then calculated with the
+ * haversine formula to discard the sectors outside the radius.
+ * <p>
+ * A radius search queries the cell containing the point and its neighbours, using the smallest cells that cover
+ * the radius. A nearest sectors search starts with the cells covering the {@code city.sectors.nearby.initial-radius}
+ * property, and moves to larger cells until the requested number of sectors is found within the covered radius,
+ * so no sector outside the searched cells can be nearer than the returned ones.
+ */
+@Service
+public class NearbySectorService {
+
+    private final int initialRadius;
+    private final ItemMapper itemMapper;
+    private final CityService cityService;
+    private final SectorRepository sectorRepository;
+
+    public NearbySectorService(@Value("${city.sectors.nearby.initial-radius:1000}") int initialRadius,
+                               ItemMapper itemMapper,
+                               CityService cityService,
+                               SectorRepository sectorRepository) {
+        this.initialRadius = initialRadius;
+        this.itemMapper = itemMapper;
+        this.cityService = cityService;
+        this.sectorRepository = sectorRepository;
+    }
+
+    /**
+     * Finds the active sectors of an active city near the point of the given request, nearest first.
+     * <p>
+     * When the request contains a radius, the sectors within the radius are returned, up to the limit if any.
+     * Otherwise, the nearest sectors are returned, up to the limit.
+     *
+     * @param nearbyRequest the request containing the city ID, the point and the bounds of the search.
+     * @return a {@code Mono} containing the nearby sectors sorted by distance if the city is active,
+     *         or an error if the city is not found, the city record is inactive or the search fails.
+     */
+    public Mono<List<NearbySector>> findNearbySectors(final NearbySectorsRequest nearbyRequest) {
+        CityDataRequest cityDataRequest = new CityDataRequest(nearbyRequest.cityIdRequest(), nearbyRequest.requestId());
+        return this.cityService.findActiveCityById(cityDataRequest)
+            .then(Mono.defer(() -> Objects.nonNull(nearbyRequest.radius())
+                ? this.findWithinRadius(nearbyRequest)
+                : this.findNearest(nearbyRequest, this.precisionFor(nearbyRequest, this.initialRadius))))
+            .map(candidates -> candidates.stream()
+                .map(candidate -> new NearbySector(this.itemMapper.mapSector(candidate.item()), candidate.distance()))
+                .toList());
+    }
+
+    private Mono<List<Candidate>> findWithinRadius(final NearbySectorsRequest nearbyRequest) {
+        final int limit = Objects.requireNonNullElse(nearbyRequest.limit(), Integer.MAX_VALUE);
+        return this.findCandidates(nearbyRequest, this.precisionFor(nearbyRequest, nearbyRequest.radius()))
+            .map(candidates -> candidates.stream()
+                .takeWhile(candidate -> candidate.distance() <= nearbyRequest.radius())
+                .limit(limit)
+                .toList());
+    }
+
+    private Mono<List<Candidate>> findNearest(final NearbySectorsRequest nearbyRequest, final int precision) {
+        final int limit = nearbyRequest.limit();
+        return this.findCandidates(nearbyRequest, precision)
+            .flatMap(candidates -> {
+                // The sectors found are the nearest ones when the farthest of them is inside the covered radius.
+                boolean complete = precision == 0 || (candidates.size() >= limit
+                    && candidates.get(limit - 1).distance() <= GeoUtils.coveredRadius(
+                        nearbyRequest.latitude(), nearbyRequest.longitude(), precision));
+                return complete
+                    ? Mono.just(candidates.subList(0, Math.min(limit, candidates.size())))
+                    : this.findNearest(nearbyRequest, precision - 1);
+            });
+    }
+
+    private Mono<List<Candidate>> findCandidates(final NearbySectorsRequest nearbyRequest, final int precision) {
+        final double latitude = nearbyRequest.latitude();
+        final double longitude = nearbyRequest.longitude();
+        List<String> cells = precision > 0 ? GeoUtils.neighbourhood(latitude, longitude, precision) : List.of();
+        return this.sectorRepository.findSectorsByGeohashCells(
+                nearbyRequest.cityIdRequest().cityId(), cells, nearbyRequest.requestId())
+            .mapNotNull(item -> Candidate.of(item, latitude, longitude))
+            .collectSortedList(Comparator.comparingDouble(Candidate::distance)
+                .thenComparing(candidate -> candidate.item().get("sk").s()));
+    }
+
+    private int precisionFor(final NearbySectorsRequest nearbyRequest, final double radius) {
+        return GeoUtils.precisionFor(nearbyRequest.latitude(), nearbyRequest.longitude(), radius,
+            SectorRepository.GEOHASH_PRECISION);
+    }
+
+    /**
+     * A sector item with its distance to the point of the request.
+     */
+    private record Candidate(Map<String, AttributeValue> item, double distance) {
+
+        // Returns null when the item doesn't have valid coordinates, so the item is discarded.
+        private static Candidate of(final Map<String, AttributeValue> item,
+                                    final double latitude,
+                                    final double longitude) {
+            Double sectorLatitude = coordinate(item.get("latitude"));
+            Double sectorLongitude = coordinate(item.get("longitude"));
+            if (Objects.isNull(sectorLatitude) || Objects.isNull(sectorLongitude)) {
+                return null;
+            }
+            return new Candidate(item, GeoUtils.distance(latitude, longitude, sectorLatitude, sectorLongitude));
+        }
+
+        private static Double coordinate(final AttributeValue attributeValue) {
+            if (Objects.isNull(attributeValue)) {
+                return null;
+            }
+            String value = Objects.nonNull(attributeValue.n()) ? attributeValue.n() : attributeValue.s();
+            try {
+                return Objects.isNull(value) ? null : Double.parseDouble(value);
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+    }
+}
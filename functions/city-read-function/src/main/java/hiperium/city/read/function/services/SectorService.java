@@ -1,16 +1,40 @@
 package hiperium.city.read.function.services;
 
 import hiperium.city.functions.common.enums.RecordStatus;
-import hiperium.city.functions.common.exceptions.InactiveCityException;
-import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.functions.common.requests.CityIdRequest;
+import hiperium.city.read.function.caches.CachedCity;
+import hiperium.city.read.function.caches.CityCache;
+import hiperium.city.read.function.caches.SectorCache;
+import hiperium.city.read.function.caches.SectorIndexCache;
+import hiperium.city.read.function.commons.SectorQueryStrategy;
+import hiperium.city.read.function.entities.CityEntity;
 import hiperium.city.read.function.entities.SectorEntity;
-import hiperium.city.read.function.mappers.FunctionMapper;
+import hiperium.city.read.function.mappers.ItemMapper;
+import hiperium.city.read.function.repositories.ItemProjection;
 import hiperium.city.read.function.repositories.SectorRepository;
 import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.Coordinate;
+import hiperium.city.read.function.requests.QueryOptions;
+import hiperium.city.read.function.requests.SectorsAreaRequest;
+import hiperium.city.read.function.responses.CityLookupStatus;
+import hiperium.city.read.function.responses.CitySectorsResult;
+import hiperium.city.read.function.responses.SectorSummary;
+import hiperium.city.read.function.responses.SectorsPageResponse;
+import hiperium.city.read.function.spatial.SectorSpatialIndex;
+import hiperium.city.read.function.utils.CursorUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -20,45 +44,257 @@ import java.util.stream.Collectors;
 @Service
 public class SectorService {
 
+    private final int defaultPageSize;
+    private final int batchConcurrency;
+    private final Duration batchDeadline;
+    private final SectorQueryStrategy queryStrategy;
+    private final CityCache cityCache;
     private final CityService cityService;
-    private final FunctionMapper functionMapper;
+    private final SectorCache sectorCache;
+    private final ItemMapper itemMapper;
+    private final SectorIndexCache sectorIndexCache;
     private final SectorRepository sectorRepository;
-    private final TimeZoneProvider timeZoneProvider;
 
-    public SectorService(CityService cityService, FunctionMapper functionMapper,
-                         SectorRepository sectorRepository, TimeZoneProvider timeZoneProvider) {
+    public SectorService(@Value("${city.sectors.default-page-size:25}") int defaultPageSize,
+                         @Value("${city.sectors.batch.concurrency:8}") int batchConcurrency,
+                         @Value("${city.sectors.batch.deadline:PT20S}") Duration batchDeadline,
+                         @Value("${city.sectors.query-strategy:FILTER}") SectorQueryStrategy queryStrategy,
+                         CityCache cityCache,
+                         CityService cityService,
+                         SectorCache sectorCache,
+                         ItemMapper itemMapper,
+                         SectorIndexCache sectorIndexCache,
+                         SectorRepository sectorRepository) {
+        this.defaultPageSize = defaultPageSize;
+        this.batchConcurrency = batchConcurrency;
+        this.batchDeadline = batchDeadline;
+        this.queryStrategy = queryStrategy;
+        this.cityCache = cityCache;
         this.cityService = cityService;
-        this.functionMapper = functionMapper;
+        this.sectorCache = sectorCache;
+        this.itemMapper = itemMapper;
+        this.sectorIndexCache = sectorIndexCache;
         this.sectorRepository = sectorRepository;
-        this.timeZoneProvider = timeZoneProvider;
     }
 
     /**
      * Finds the list of active {@code SectorEntity} objects associated with a specified city ID.
      * This method ensures that only sectors belonging to an active city are processed.
+     * <p>
+     * The city item and its sector items share the same partition, so they are retrieved using a single query.
+     * The city item is emitted first, so its status is checked before the sector items are mapped page by page.
+     * The status of the city is also stored in the {@link CityCache}, and cities that are cached as not found
+     * or inactive are rejected without querying their partition.
+     * When the sectors are queried from the active sectors index, the city is retrieved through the
+     * {@link CityService} instead, so the inactive sectors of the partition are not read.
+     * <p>
+     * The mapped sectors are stored in the {@link SectorCache}, so the partition of an active city
+     * is only queried again when its cached sectors expire or are invalidated. The cached sectors are only
+     * returned while the city is also cached as active, so the status of the city is checked again when its
+     * entry in the {@link CityCache} expires.
      *
      * @param cityDataRequest   the unique identifier of the city for which active sectors are to be found.
      * @return a {@code Mono} containing a list of active {@code SectorEntity} instances if the city is active,
-     *         or an error if the city record is inactive or the search fails.
+     *         or an error if the city is not found, the city record is inactive or the search fails.
      */
     public Mono<List<SectorEntity>> findActiveSectorsByCityId(final CityDataRequest cityDataRequest) {
+        final String cityId = cityDataRequest.cityIdRequest().cityId();
+        final String requestId = cityDataRequest.requestId();
+        return Mono.defer(() -> {
+            CachedCity cachedCity = this.cityCache.get(cityId);
+            if (Objects.nonNull(cachedCity) && !cachedCity.isActive()) {
+                return CityService.validateCachedCity(cityId, cachedCity, requestId)
+                    .then(Mono.<List<SectorEntity>>empty());
+            }
+            // The cached sectors are only served while the city is cached as active, so a city deactivated after
+            // its sectors were cached is checked again once its own entry expires.
+            List<SectorEntity> cachedSectors = Objects.nonNull(cachedCity)
+                ? this.sectorCache.get(cityId, RecordStatus.ACTIVE)
+                : null;
+            if (Objects.nonNull(cachedSectors)) {
+                return Mono.just(cachedSectors);
+            }
+            Flux<Map<String, AttributeValue>> sectorItems = SectorQueryStrategy.INDEX.equals(this.queryStrategy)
+                ? this.cityService.findActiveCityById(cityDataRequest)
+                    .thenMany(this.sectorRepository.findSectorsByCityAndStatus(cityId, RecordStatus.ACTIVE, requestId))
+                : this.findCitySectorItems(cityId, requestId)
+                    .filter(item -> isSectorItem(item) && isActive(item));
+            return sectorItems
+                .map(this.itemMapper::mapSector)
+                .collect(Collectors.toUnmodifiableList())
+                .doOnNext(sectors -> this.sectorCache.put(cityId, RecordStatus.ACTIVE, sectors));
+        });
+    }
+
+    /**
+     * Finds the active sectors of many cities, emitting the result of each city as soon as its lookup completes.
+     * <p>
+     * The cities are looked up with {@link #findActiveSectorsByCityId(CityDataRequest)}, running up to
+     * {@code city.sectors.batch.concurrency} lookups at the same time, so the caches and status checks of a single
+     * city lookup are also applied. A failed lookup produces a failed result instead of failing the other cities.
+     * When the {@code city.sectors.batch.deadline} elapses, the pending lookups are cancelled and a timeout result
+     * is emitted for each of their cities.
+     *
+     * @param cityIds   the distinct IDs of the cities whose sectors are to be found.
+     * @param requestId the unique identifier of the request for tracking purposes.
+     * @return a {@code Flux} emitting one result per city ID, in the order in which the lookups completed.
+     */
+    public Flux<CitySectorsResult> findActiveSectorsByCityIds(final List<String> cityIds, final String requestId) {
+        return Flux.defer(() -> {
+            Set<String> pendingIds = new LinkedHashSet<>(cityIds);
+            return Flux.fromIterable(cityIds)
+                .flatMap(cityId -> this.findActiveSectorsByCityId(new CityDataRequest(new CityIdRequest(cityId), requestId))
+                    .map(sectors -> CitySectorsResult.found(cityId, sectors))
+                    .onErrorResume(exception -> Mono.just(CitySectorsResult.failed(
+                        cityId, CityLookupStatus.fromException(exception), exception.getMessage()))),
+                    this.batchConcurrency)
+                .takeUntilOther(Mono.delay(this.batchDeadline))
+                .doOnNext(result -> pendingIds.remove(result.cityId()))
+                .concatWith(Flux.defer(() -> Flux.fromIterable(pendingIds)
+                    .map(cityId -> CitySectorsResult.failed(cityId, CityLookupStatus.TIMEOUT,
+                        "The sectors of the city were not retrieved before the deadline of the request."))));
+        });
+    }
+
+    /**
+     * Finds the summaries of the active sectors associated with a specified city ID.
+     * <p>
+     * When the sectors of the city are cached, the summaries are created from the cached sectors.
+     * Otherwise, only the attributes of the summaries are read from the table.
+     *
+     * @param cityDataRequest the request containing the city ID.
+     * @return a {@code Mono} containing a list of the summaries of the active sectors if the city is active,
+     *         or an error if the city is not found, the city record is inactive or the search fails.
+     */
+    public Mono<List<SectorSummary>> findActiveSectorSummaries(final CityDataRequest cityDataRequest) {
+        final String cityId = cityDataRequest.cityIdRequest().cityId();
+        final String requestId = cityDataRequest.requestId();
         return this.cityService.findActiveCityById(cityDataRequest)
             .flatMap(cityEntity -> {
-                if (RecordStatus.ACTIVE.equals(cityEntity.entityCommon().status())) {
-                    return this.sectorRepository.findSectorsByCityAndStatus(
-                            cityDataRequest.cityIdRequest().cityId(),
-                            RecordStatus.ACTIVE,
-                            cityDataRequest.requestId())
-                        .map(response -> response.items().stream()
-                            .map(item ->
-                                this.functionMapper.mapSectorsDataResponse(item, this.timeZoneProvider))
-                            .collect(Collectors.toList()));
-                } else {
-                    return Mono.error(
-                        new InactiveCityException("Cannot perform operations on an Inactive city: " +
-                            cityDataRequest.cityIdRequest().cityId(),
-                            cityDataRequest.requestId()));
+                List<SectorEntity> cachedSectors = this.sectorCache.get(cityId, RecordStatus.ACTIVE);
+                if (Objects.nonNull(cachedSectors)) {
+                    return Mono.just(cachedSectors.stream()
+                        .map(SectorSummary::from)
+                        .collect(Collectors.toList()));
+                }
+                return this.sectorRepository.findSectorsByCityAndStatus(
+                        cityId, RecordStatus.ACTIVE, null, null, ItemProjection.SECTOR_SUMMARY, requestId)
+                    .map(this.itemMapper::mapSectorSummary)
+                    .collect(Collectors.toList());
+            });
+    }
+
+    /**
+     * Finds the active sectors of a city inside the bounding box or the polygon of the given request.
+     * <p>
+     * The sectors are loaded with {@link #findActiveSectorsByCityId(CityDataRequest)}, so the status checks
+     * and the {@link SectorCache} are also applied, and the lookup is answered by the {@link SectorSpatialIndex}
+     * of the loaded list. The index is built on the first lookup of a cached list and reused while the list
+     * remains cached, so panning a map over the same city doesn't read its partition again.
+     *
+     * @param areaRequest the request containing the city ID and the area to be searched.
+     * @return a {@code Mono} containing the active sectors inside the area, in sort key order, if the city is active,
+     *         or an error if the city is not found, the city record is inactive or the search fails.
+     */
+    public Mono<List<SectorEntity>> findActiveSectorsInArea(final SectorsAreaRequest areaRequest) {
+        return this.findActiveSectorsByCityId(new CityDataRequest(areaRequest.cityIdRequest(), areaRequest.requestId()))
+            .map(sectors -> {
+                SectorSpatialIndex sectorIndex =
+                    this.sectorIndexCache.get(areaRequest.cityIdRequest().cityId(), sectors);
+                if (!areaRequest.hasPolygon()) {
+                    return sectorIndex.findInBoundingBox(
+                        areaRequest.south(), areaRequest.west(), areaRequest.north(), areaRequest.east());
+                }
+                List<Coordinate> polygon = areaRequest.polygon();
+                return sectorIndex.findInPolygon(
+                    polygon.stream().mapToDouble(Coordinate::latitude).toArray(),
+                    polygon.stream().mapToDouble(Coordinate::longitude).toArray());
+            });
+    }
+
+    /**
+     * Finds a single page of active {@code SectorEntity} objects associated with a specified city ID.
+     * <p>
+     * The page starts after the sector pointed by the cursor of the request, if any, and contains up to
+     * the requested page size. Only the sector items needed to fill the page are read from the table,
+     * so large cities are returned with bounded memory.
+     *
+     * @param cityDataRequest the request containing the city ID and the query options of the page.
+     * @return a {@code Mono} containing the page of active sectors and the cursor of the next page,
+     *         or an error if the city is not found, the city record is inactive or the search fails.
+     */
+    public Mono<SectorsPageResponse<SectorEntity>> findActiveSectorsPage(final CityDataRequest cityDataRequest) {
+        return this.findActivePage(cityDataRequest, ItemProjection.SECTOR, this.itemMapper::mapSector);
+    }
+
+    /**
+     * Finds a single page of the summaries of the active sectors associated with a specified city ID.
+     * The page is read in the same way as {@link #findActiveSectorsPage(CityDataRequest)}, but only
+     * the attributes of the summaries are read from the table.
+     *
+     * @param cityDataRequest the request containing the city ID and the query options of the page.
+     * @return a {@code Mono} containing the page of sector summaries and the cursor of the next page,
+     *         or an error if the city is not found, the city record is inactive or the search fails.
+     */
+    public Mono<SectorsPageResponse<SectorSummary>> findActiveSectorSummariesPage(final CityDataRequest cityDataRequest) {
+        return this.findActivePage(cityDataRequest, ItemProjection.SECTOR_SUMMARY, this.itemMapper::mapSectorSummary);
+    }
+
+    private <T> Mono<SectorsPageResponse<T>> findActivePage(final CityDataRequest cityDataRequest,
+                                                            final ItemProjection projection,
+                                                            final Function<Map<String, AttributeValue>, T> mapper) {
+        final String cityId = cityDataRequest.cityIdRequest().cityId();
+        final String requestId = cityDataRequest.requestId();
+        final QueryOptions queryOptions = cityDataRequest.queryOptions();
+        final int pageSize = Objects.requireNonNullElse(queryOptions.pageSize(), this.defaultPageSize);
+
+        // One more item than the page size is read to know whether there is a next page.
+        return this.cityService.findActiveCityById(cityDataRequest)
+            .flatMap(cityEntity -> this.sectorRepository.findSectorsByCityAndStatus(
+                    cityId,
+                    RecordStatus.ACTIVE,
+                    CursorUtils.decode(queryOptions.cursor(), cityId, requestId),
+                    pageSize + 1,
+                    projection,
+                    requestId)
+                .take(pageSize + 1)
+                .collectList())
+            .map(items -> {
+                boolean hasNextPage = items.size() > pageSize;
+                List<Map<String, AttributeValue>> pageItems = hasNextPage ? items.subList(0, pageSize) : items;
+                List<T> sectors = pageItems.stream()
+                    .map(mapper)
+                    .collect(Collectors.toList());
+                return new SectorsPageResponse<>(sectors, hasNextPage ? CursorUtils.encode(pageItems.getLast()) : null);
+            });
+    }
+
+    private Flux<Map<String, AttributeValue>> findCitySectorItems(final String cityId, final String requestId) {
+        return this.sectorRepository.findCityWithSectors(cityId, requestId)
+            .switchOnFirst((firstSignal, items) -> {
+                if (firstSignal.isOnError()) {
+                    return items;
                 }
+                Map<String, AttributeValue> firstItem = firstSignal.get();
+                CachedCity cachedCity = Objects.nonNull(firstItem) && isCityItem(firstItem)
+                    ? new CachedCity(this.itemMapper.mapCity(firstItem))
+                    : CachedCity.NOT_FOUND;
+                this.cityCache.put(cityId, cachedCity);
+                return CityService.validateCachedCity(cityId, cachedCity, requestId)
+                    .thenMany(items.skip(1));
             });
     }
+
+    private static boolean isCityItem(final Map<String, AttributeValue> item) {
+        return item.get("sk").s().startsWith(CityEntity.CITY_PK_PREFIX);
+    }
+
+    private static boolean isSectorItem(final Map<String, AttributeValue> item) {
+        return item.get("sk").s().startsWith(SectorEntity.SECTOR_SK_PREFIX);
+    }
+
+    private static boolean isActive(final Map<String, AttributeValue> item) {
+        AttributeValue status = item.get("status");
+        return status != null && RecordStatus.ACTIVE.getValue().equals(status.s());
+    }
 }
@@ -0,0 +1,242 @@
+package hiperium.city.read.function.snapshots;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The SnapshotFile class reads the items of the city table from a memory-mapped snapshot file,
+ * written with the layout defined by {@link SnapshotFormat}.
+ * <p>
+ * The header, the dictionary of attribute names and the index are read when the file is loaded, so a lookup
+ * only finds the offset of the partition in the index and decodes its items from the mapped pages.
+ * The mapped buffer is only read with absolute positions, so the lookups can run concurrently.
+ */
+public final class SnapshotFile {
+
+    private final ByteBuffer buffer;
+    private final long dataVersion;
+    private final Instant createdAt;
+    private final String[] attributeNames;
+    private final Map<String, Partition> partitions;
+
+    private SnapshotFile(final ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < SnapshotFormat.HEADER_BYTES || buffer.getInt(0) != SnapshotFormat.MAGIC) {
+            throw new IOException("The file is not a city snapshot.");
+        }
+        int formatVersion = buffer.getInt(SnapshotFormat.FORMAT_VERSION_OFFSET);
+        if (formatVersion != SnapshotFormat.FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version: " + formatVersion);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(SnapshotFormat.HEADER_BYTES, buffer.limit() - SnapshotFormat.HEADER_BYTES));
+        if ((int) checksum.getValue() != buffer.getInt(SnapshotFormat.CHECKSUM_OFFSET)) {
+            throw new IOException("The checksum of the snapshot doesn't match its content.");
+        }
+        this.buffer = buffer;
+        this.dataVersion = buffer.getLong(SnapshotFormat.DATA_VERSION_OFFSET);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(SnapshotFormat.CREATED_AT_OFFSET));
+        try {
+            this.attributeNames = readAttributeNames(buffer);
+            this.partitions = readIndex(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException exception) {
+            throw new IOException("The snapshot is truncated or malformed.", exception);
+        }
+    }
+
+    /**
+     * Maps the given snapshot file into memory and reads its header, dictionary and index.
+     * The file is mapped as read-only, and the mapping remains valid after the file is closed.
+     *
+     * @param path the snapshot file.
+     * @return the loaded snapshot.
+     * @throws IOException if the file cannot be mapped, is not a snapshot of a supported format version,
+     *                     or its content doesn't match its checksum.
+     */
+    public static SnapshotFile load(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The snapshot is larger than the supported size: " + size + " bytes.");
+            }
+            return new SnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Returns the version of the data of the snapshot.
+     *
+     * @return the data version given when the snapshot was written.
+     */
+    public long dataVersion() {
+        return this.dataVersion;
+    }
+
+    /**
+     * Returns the time at which the items of the snapshot were exported from the table.
+     *
+     * @return the creation time of the snapshot.
+     */
+    public Instant createdAt() {
+        return this.createdAt;
+    }
+
+    /**
+     * Returns the number of cities of the snapshot.
+     *
+     * @return the number of city partitions.
+     */
+    public int cityCount() {
+        return this.partitions.size();
+    }
+
+    /**
+     * Returns the first items of the partition of the given city, in sort key order, so the city item is returned
+     * before its sector items.
+     *
+     * @param cityId     the ID of the city.
+     * @param attributes the names of the attributes to be decoded, or null to decode all the attributes.
+     * @param maxItems   the maximum number of items to be decoded.
+     * @return a new list with the items of the city, or null if the city is not in the snapshot.
+     */
+    public List<Map<String, AttributeValue>> findPartition(final String cityId,
+                                                           final Set<String> attributes,
+                                                           final int maxItems) {
+        Partition partition = this.partitions.get(cityId);
+        if (Objects.isNull(partition)) {
+            return null;
+        }
+        ByteBuffer cursor = this.buffer.slice(partition.offset(), partition.length());
+        int itemCount = Math.min(cursor.getInt(), maxItems);
+        List<Map<String, AttributeValue>> items = new ArrayList<>(itemCount);
+        for (int item = 0; item < itemCount; item++) {
+            items.add(this.readAttributes(cursor, attributes));
+        }
+        return items;
+    }
+
+    private Map<String, AttributeValue> readAttributes(final ByteBuffer cursor, final Set<String> attributes) {
+        int attributeCount = Short.toUnsignedInt(cursor.getShort());
+        Map<String, AttributeValue> item = HashMap.newHashMap(attributeCount);
+        for (int attribute = 0; attribute < attributeCount; attribute++) {
+            String attributeName = this.attributeNames[Short.toUnsignedInt(cursor.getShort())];
+            if (Objects.isNull(attributes) || attributes.contains(attributeName)) {
+                item.put(attributeName, this.readValue(cursor));
+            } else {
+                skipValue(cursor);
+            }
+        }
+        return item;
+    }
+
+    private AttributeValue readValue(final ByteBuffer cursor) {
+        byte type = cursor.get();
+        return switch (type) {
+            case SnapshotFormat.TYPE_STRING -> AttributeValue.fromS(readString(cursor, cursor.getInt()));
+            case SnapshotFormat.TYPE_NUMBER -> AttributeValue.fromN(readShortString(cursor));
+            case SnapshotFormat.TYPE_BOOLEAN -> AttributeValue.fromBool(cursor.get() != 0);
+            case SnapshotFormat.TYPE_NULL -> AttributeValue.fromNul(true);
+            case SnapshotFormat.TYPE_MAP -> AttributeValue.fromM(this.readAttributes(cursor, null));
+            case SnapshotFormat.TYPE_LIST -> {
+                int elementCount = cursor.getInt();
+                List<AttributeValue> elements = new ArrayList<>(elementCount);
+                for (int element = 0; element < elementCount; element++) {
+                    elements.add(this.readValue(cursor));
+                }
+                yield AttributeValue.fromL(elements);
+            }
+            default -> throw new IllegalStateException("Unknown attribute type in snapshot: " + type);
+        };
+    }
+
+    private static void skipValue(final ByteBuffer cursor) {
+        byte type = cursor.get();
+        switch (type) {
+            case SnapshotFormat.TYPE_STRING -> {
+                int length = cursor.getInt();
+                cursor.position(cursor.position() + length);
+            }
+            case SnapshotFormat.TYPE_NUMBER -> {
+                int length = Short.toUnsignedInt(cursor.getShort());
+                cursor.position(cursor.position() + length);
+            }
+            case SnapshotFormat.TYPE_BOOLEAN -> cursor.get();
+            case SnapshotFormat.TYPE_NULL -> {
+                // The null value has no content.
+            }
+            case SnapshotFormat.TYPE_MAP -> {
+                int attributeCount = Short.toUnsignedInt(cursor.getShort());
+                for (int attribute = 0; attribute < attributeCount; attribute++) {
+                    cursor.getShort();
+                    skipValue(cursor);
+                }
+            }
+            case SnapshotFormat.TYPE_LIST -> {
+                int elementCount = cursor.getInt();
+                for (int element = 0; element < elementCount; element++) {
+                    skipValue(cursor);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown attribute type in snapshot: " + type);
+        }
+    }
+
+    private static String[] readAttributeNames(final ByteBuffer buffer) {
+        ByteBuffer cursor = buffer.slice(SnapshotFormat.HEADER_BYTES, buffer.limit() - SnapshotFormat.HEADER_BYTES);
+        String[] attributeNames = new String[Short.toUnsignedInt(cursor.getShort())];
+        for (int name = 0; name < attributeNames.length; name++) {
+            attributeNames[name] = readShortString(cursor);
+        }
+        return attributeNames;
+    }
+
+    private static Map<String, Partition> readIndex(final ByteBuffer buffer) throws IOException {
+        long indexOffset = buffer.getLong(SnapshotFormat.INDEX_OFFSET_OFFSET);
+        if (indexOffset < SnapshotFormat.HEADER_BYTES || indexOffset > buffer.limit()) {
+            throw new IOException("The index offset of the snapshot is out of bounds: " + indexOffset);
+        }
+        ByteBuffer cursor = buffer.slice((int) indexOffset, buffer.limit() - (int) indexOffset);
+        int cityCount = buffer.getInt(SnapshotFormat.CITY_COUNT_OFFSET);
+        Map<String, Partition> partitions = HashMap.newHashMap(cityCount);
+        for (int city = 0; city < cityCount; city++) {
+            String cityId = readShortString(cursor);
+            long offset = cursor.getLong();
+            int length = cursor.getInt();
+            if (offset < SnapshotFormat.HEADER_BYTES || length < Integer.BYTES || offset + length > indexOffset) {
+                throw new IOException("The partition of city " + cityId + " is out of bounds.");
+            }
+            partitions.put(cityId, new Partition((int) offset, length));
+        }
+        return partitions;
+    }
+
+    private static String readShortString(final ByteBuffer cursor) {
+        return readString(cursor, Short.toUnsignedInt(cursor.getShort()));
+    }
+
+    private static String readString(final ByteBuffer cursor, final int length) {
+        byte[] bytes = new byte[length];
+        cursor.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The position of the items of a city in the snapshot file.
+     */
+    private record Partition(int offset, int length) {
+    }
+}
@@ -0,0 +1,42 @@
+package hiperium.city.read.function.snapshots;
+
+/**
+ * Defines the binary layout of the snapshot of the city table. All the numbers are big-endian, and all the
+ * strings are UTF-8 bytes preceded by their length.
+ * <p>
+ * The file starts with a header of {@value #HEADER_BYTES} bytes: the magic number, the format version,
+ * the data version, the creation time in epoch milliseconds, the number of cities, the offset of the index
+ * and the CRC-32 of the rest of the file. The header is followed by the dictionary of the attribute names,
+ * so the items reference each name by its position instead of repeating it.
+ * <p>
+ * The items of each city partition are stored together, in sort key order, so the city item is stored before
+ * its sector items. The index at the end of the file contains the offset of the partition of each city,
+ * sorted by city ID.
+ */
+final class SnapshotFormat {
+
+    // The "HCSS" characters, for "Hiperium City Sectors Snapshot".
+    static final int MAGIC = 0x48435353;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 40;
+
+    static final int FORMAT_VERSION_OFFSET = 4;
+    static final int DATA_VERSION_OFFSET = 8;
+    static final int CREATED_AT_OFFSET = 16;
+    static final int CITY_COUNT_OFFSET = 24;
+    static final int INDEX_OFFSET_OFFSET = 28;
+    static final int CHECKSUM_OFFSET = 36;
+
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_NUMBER = 2;
+    static final byte TYPE_BOOLEAN = 3;
+    static final byte TYPE_NULL = 4;
+    static final byte TYPE_MAP = 5;
+    static final byte TYPE_LIST = 6;
+
+    static final int MAX_SHORT_LENGTH = 0xFFFF;
+
+    private SnapshotFormat() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+}
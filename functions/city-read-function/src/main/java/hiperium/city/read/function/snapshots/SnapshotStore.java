@@ -0,0 +1,120 @@
+package hiperium.city.read.function.snapshots;
+
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.read.function.commons.ReadBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SnapshotStore class serves the items of the city partitions from the memory-mapped {@link SnapshotFile}
+ * when the {@code city.read-backend} property is {@code SNAPSHOT}, so the repositories only query DynamoDB
+ * for the cities that the snapshot can't serve.
+ * <p>
+ * The snapshot is loaded from the {@code city.snapshot.path} file when the function starts. A snapshot that
+ * can't be loaded, or whose data version is lower than the {@code city.snapshot.minimum-version} property,
+ * is discarded. A loaded snapshot becomes stale when it is older than the {@code city.snapshot.max-age}
+ * property, and a city becomes stale in the snapshot when its cached entries are invalidated after an update.
+ * In all these cases, and for the cities missing from the snapshot, the lookups return null.
+ */
+@Component
+public class SnapshotStore {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(SnapshotStore.class);
+
+    private final SnapshotFile snapshotFile;
+    private final long expiresAt;
+    private final Set<String> staleCityIds = ConcurrentHashMap.newKeySet();
+
+    public SnapshotStore(@Value("${city.read-backend:DYNAMODB}") ReadBackend readBackend,
+                         @Value("${city.snapshot.path:/opt/snapshot/city.snapshot}") String path,
+                         @Value("${city.snapshot.max-age:PT24H}") Duration maxAge,
+                         @Value("${city.snapshot.minimum-version:0}") long minimumVersion) {
+        LOGGER.debug("Read backend: {} - Snapshot path: {} - Max age: {} - Minimum version: {}",
+            readBackend, path, maxAge, minimumVersion);
+        this.snapshotFile = ReadBackend.SNAPSHOT.equals(readBackend) ? load(Path.of(path), minimumVersion) : null;
+        this.expiresAt = Objects.nonNull(this.snapshotFile)
+            ? this.snapshotFile.createdAt().plus(maxAge).toEpochMilli()
+            : Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the items of the partition of the given city, in sort key order, with only the given attributes.
+     *
+     * @param cityId     the ID of the city.
+     * @param attributes the names of the attributes to be returned for each item.
+     * @return a new list with the items of the city, or null if the snapshot is disabled or stale,
+     *         or doesn't contain the city.
+     */
+    public List<Map<String, AttributeValue>> findPartition(final String cityId, final Set<String> attributes) {
+        return this.findPartition(cityId, attributes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first items of the partition of the given city, in sort key order, with only the given
+     * attributes. The remaining items of the partition are not decoded.
+     *
+     * @param cityId     the ID of the city.
+     * @param attributes the names of the attributes to be returned for each item.
+     * @param maxItems   the maximum number of items to be returned.
+     * @return a new list with the items of the city, or null if the snapshot is disabled or stale,
+     *         or doesn't contain the city.
+     */
+    public List<Map<String, AttributeValue>> findPartition(final String cityId,
+                                                           final Set<String> attributes,
+                                                           final int maxItems) {
+        if (Objects.isNull(this.snapshotFile) || System.currentTimeMillis() > this.expiresAt
+            || this.staleCityIds.contains(cityId)) {
+            return null;
+        }
+        return this.snapshotFile.findPartition(cityId, attributes, maxItems);
+    }
+
+    /**
+     * Marks the given city as stale in the snapshot, so its items are read from DynamoDB
+     * until a new snapshot is loaded.
+     *
+     * @param cityId the ID of the city.
+     */
+    public void invalidate(final String cityId) {
+        if (Objects.nonNull(this.snapshotFile)) {
+            this.staleCityIds.add(cityId);
+        }
+    }
+
+    /**
+     * Indicates whether a snapshot is loaded, even if it is stale.
+     *
+     * @return true if the items are read from a snapshot.
+     */
+    public boolean isLoaded() {
+        return Objects.nonNull(this.snapshotFile);
+    }
+
+    private static SnapshotFile load(final Path path, final long minimumVersion) {
+        try {
+            SnapshotFile snapshotFile = SnapshotFile.load(path);
+            if (snapshotFile.dataVersion() < minimumVersion) {
+                LOGGER.warn("Discarding snapshot {} with data version {}, lower than the minimum version {}.",
+                    path, snapshotFile.dataVersion(), minimumVersion);
+                return null;
+            }
+            LOGGER.debug("Loaded snapshot {} with {} cities - Data version: {} - Created at: {}",
+                path, snapshotFile.cityCount(), snapshotFile.dataVersion(), snapshotFile.createdAt());
+            return snapshotFile;
+        } catch (IOException exception) {
+            LOGGER.warn("Error when loading snapshot {}, reading from DynamoDB instead: {}",
+                path, exception.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package hiperium.city.read.function.spatial;
+
+import hiperium.city.read.function.entities.SectorEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable KD-tree of the sectors of a city, built to answer bounding box and polygon lookups from memory.
+ * <p>
+ * The coordinates of each sector are parsed once into primitive arrays, and the tree is stored implicitly in
+ * those arrays: the node of a range is its middle element, splitting the range by latitude on even depths and by
+ * longitude on odd depths. A lookup only visits the ranges whose split value can be inside the searched area.
+ * <p>
+ * The sectors without valid coordinates are not indexed. The sectors found are returned in the order of the
+ * list used to build the index.
+ */
+public final class SectorSpatialIndex {
+
+    private static final int LATITUDE_AXIS = 0;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] positions;
+    private final SectorEntity[] sectors;
+
+    /**
+     * Builds the index of the given sectors.
+     *
+     * @param sectorList the sectors to be indexed.
+     */
+    public SectorSpatialIndex(final List<SectorEntity> sectorList) {
+        List<IndexedSector> indexedSectors = new ArrayList<>(sectorList.size());
+        for (int position = 0; position < sectorList.size(); position++) {
+            SectorEntity sector = sectorList.get(position);
+            Double latitude = parseCoordinate(sector.latitude());
+            Double longitude = parseCoordinate(sector.longitude());
+            if (Objects.nonNull(latitude) && Objects.nonNull(longitude)) {
+                indexedSectors.add(new IndexedSector(latitude, longitude, position, sector));
+            }
+        }
+        IndexedSector[] nodes = indexedSectors.toArray(IndexedSector[]::new);
+        build(nodes, 0, nodes.length, 0);
+
+        this.latitudes = new double[nodes.length];
+        this.longitudes = new double[nodes.length];
+        this.positions = new int[nodes.length];
+        this.sectors = new SectorEntity[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            this.latitudes[i] = nodes[i].latitude();
+            this.longitudes[i] = nodes[i].longitude();
+            this.positions[i] = nodes[i].position();
+            this.sectors[i] = nodes[i].sector();
+        }
+    }
+
+    /**
+     * Returns the number of indexed sectors.
+     *
+     * @return the number of sectors with valid coordinates.
+     */
+    public int size() {
+        return this.sectors.length;
+    }
+
+    /**
+     * Finds the sectors inside the given bounding box, including its edges. When the west longitude is greater
+     * than the east longitude, the bounding box crosses the antimeridian.
+     *
+     * @param south the minimum latitude, in degrees.
+     * @param west  the western longitude, in degrees.
+     * @param north the maximum latitude, in degrees.
+     * @param east  the eastern longitude, in degrees.
+     * @return the sectors inside the bounding box.
+     */
+    public List<SectorEntity> findInBoundingBox(final double south, final double west,
+                                                final double north, final double east) {
+        List<Integer> found = new ArrayList<>();
+        if (west <= east) {
+            this.search(0, this.sectors.length, 0, south, west, north, east, found);
+        } else {
+            this.search(0, this.sectors.length, 0, south, west, north, 180, found);
+            this.search(0, this.sectors.length, 0, south, -180, north, east, found);
+        }
+        return this.toSectors(found);
+    }
+
+    /**
+     * Finds the sectors inside the given polygon, using the even-odd rule on the latitude and longitude plane.
+     * The polygon is closed implicitly, and it must not cross the antimeridian.
+     *
+     * @param polygonLatitudes  the latitudes of the vertices of the polygon, in degrees.
+     * @param polygonLongitudes the longitudes of the vertices of the polygon, in the same order.
+     * @return the sectors inside the polygon.
+     */
+    public List<SectorEntity> findInPolygon(final double[] polygonLatitudes, final double[] polygonLongitudes) {
+        double south = Arrays.stream(polygonLatitudes).min().orElse(0);
+        double north = Arrays.stream(polygonLatitudes).max().orElse(0);
+        double west = Arrays.stream(polygonLongitudes).min().orElse(0);
+        double east = Arrays.stream(polygonLongitudes).max().orElse(0);
+
+        // The bounding box of the polygon selects the candidates, so only those are tested against the edges.
+        List<Integer> candidates = new ArrayList<>();
+        this.search(0, this.sectors.length, 0, south, west, north, east, candidates);
+        candidates.removeIf(node -> !contains(polygonLatitudes, polygonLongitudes,
+            this.latitudes[node], this.longitudes[node]));
+        return this.toSectors(candidates);
+    }
+
+    private void search(final int low, final int high, final int depth,
+                        final double south, final double west, final double north, final double east,
+                        final List<Integer> found) {
+        if (low >= high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        double latitude = this.latitudes[middle];
+        double longitude = this.longitudes[middle];
+        if (latitude >= south && latitude <= north && longitude >= west && longitude <= east) {
+            found.add(middle);
+        }
+        boolean latitudeAxis = depth % 2 == LATITUDE_AXIS;
+        double splitValue = latitudeAxis ? latitude : longitude;
+        if ((latitudeAxis ? south : west) <= splitValue) {
+            this.search(low, middle, depth + 1, south, west, north, east, found);
+        }
+        if ((latitudeAxis ? north : east) >= splitValue) {
+            this.search(middle + 1, high, depth + 1, south, west, north, east, found);
+        }
+    }
+
+    private List<SectorEntity> toSectors(final List<Integer> nodes) {
+        return nodes.stream()
+            .sorted(Comparator.comparingInt(node -> this.positions[node]))
+            .map(node -> this.sectors[node])
+            .toList();
+    }
+
+    private static void build(final IndexedSector[] nodes, final int low, final int high, final int depth) {
+        if (high - low <= 1) {
+            return;
+        }
+        Arrays.sort(nodes, low, high, depth % 2 == LATITUDE_AXIS
+            ? Comparator.comparingDouble(IndexedSector::latitude)
+            : Comparator.comparingDouble(IndexedSector::longitude));
+        int middle = (low + high) >>> 1;
+        build(nodes, low, middle, depth + 1);
+        build(nodes, middle + 1, high, depth + 1);
+    }
+
+    private static boolean contains(final double[] polygonLatitudes, final double[] polygonLongitudes,
+                                    final double latitude, final double longitude) {
+        boolean inside = false;
+        for (int i = 0, j = polygonLatitudes.length - 1; i < polygonLatitudes.length; j = i++) {
+            boolean crosses = (polygonLatitudes[i] > latitude) != (polygonLatitudes[j] > latitude);
+            if (crosses && longitude < (polygonLongitudes[j] - polygonLongitudes[i]) * (latitude - polygonLatitudes[i])
+                / (polygonLatitudes[j] - polygonLatitudes[i]) + polygonLongitudes[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static Double parseCoordinate(final String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        try {
+            double coordinate = Double.parseDouble(value);
+            return Double.isFinite(coordinate) ? coordinate : null;
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    private record IndexedSector(double latitude, double longitude, int position, SectorEntity sector) {
+    }
+}
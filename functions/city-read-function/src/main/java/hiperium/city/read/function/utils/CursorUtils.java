@@ -0,0 +1,64 @@
+package hiperium.city.read.function.utils;
+
+import hiperium.city.functions.common.exceptions.ValidationException;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utility class for the opaque cursors returned to clients when sectors are retrieved page by page.
+ * <p>
+ * A cursor holds the sort key of the last sector returned in a page. As the partition key is derived
+ * from the city ID, the sort key is enough to rebuild the {@code ExclusiveStartKey} of the next query.
+ */
+public final class CursorUtils {
+
+    private CursorUtils() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    /**
+     * Creates the cursor that points to the given item.
+     *
+     * @param item the last item returned in a page. It must contain the table sort key.
+     * @return the URL-safe cursor that points to the given item.
+     */
+    public static String encode(final Map<String, AttributeValue> item) {
+        String sortKey = item.get("sk").s();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sortKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rebuilds the {@code ExclusiveStartKey} of a query from the given cursor.
+     *
+     * @param cursor    the cursor sent by the client, or null for the first page.
+     * @param cityId    the ID of the city used to form the partition key.
+     * @param requestId the unique identifier of the request for tracking purposes.
+     * @return the primary key of the item after which the query must start, or null if the cursor is null.
+     * @throws ValidationException if the cursor was not created by this function.
+     */
+    public static Map<String, AttributeValue> decode(final String cursor,
+                                                     final String cityId,
+                                                     final String requestId) {
+        if (Objects.isNull(cursor)) {
+            return null;
+        }
+        String sortKey;
+        try {
+            sortKey = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException exception) {
+            throw new ValidationException("The page cursor is not valid.", requestId);
+        }
+        if (!sortKey.startsWith(SectorEntity.SECTOR_SK_PREFIX)) {
+            throw new ValidationException("The page cursor is not valid.", requestId);
+        }
+        return Map.of(
+            "pk", AttributeValue.builder().s(CityEntity.CITY_PK_PREFIX + cityId).build(),
+            "sk", AttributeValue.builder().s(sortKey).build());
+    }
+}
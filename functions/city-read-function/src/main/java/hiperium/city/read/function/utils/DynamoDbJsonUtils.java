@@ -0,0 +1,53 @@
+package hiperium.city.read.function.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for reading the items written in DynamoDB JSON, where every attribute value is an object
+ * whose only field names the type of the value, like the items of the table exports and of the DynamoDB streams.
+ */
+public final class DynamoDbJsonUtils {
+
+    private DynamoDbJsonUtils() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    /**
+     * Converts the given DynamoDB JSON object into an item.
+     *
+     * @param item the JSON object with the attributes of the item.
+     * @return a mutable map with the attributes of the item.
+     * @throws IllegalArgumentException if an attribute has an unsupported type.
+     */
+    public static Map<String, AttributeValue> toItem(final JsonNode item) {
+        Map<String, AttributeValue> attributes = HashMap.newHashMap(item.size());
+        item.fields().forEachRemaining(attribute ->
+            attributes.put(attribute.getKey(), toAttributeValue(attribute.getKey(), attribute.getValue())));
+        return attributes;
+    }
+
+    private static AttributeValue toAttributeValue(final String attributeName, final JsonNode value) {
+        String type = value.fieldNames().hasNext() ? value.fieldNames().next() : "";
+        JsonNode content = value.path(type);
+        return switch (type) {
+            case "S" -> AttributeValue.fromS(content.asText());
+            case "N" -> AttributeValue.fromN(content.asText());
+            case "BOOL" -> AttributeValue.fromBool(content.asBoolean());
+            case "NULL" -> AttributeValue.fromNul(true);
+            case "M" -> AttributeValue.fromM(toItem(content));
+            case "L" -> {
+                List<AttributeValue> elements = new ArrayList<>(content.size());
+                content.forEach(element -> elements.add(toAttributeValue(attributeName, element)));
+                yield AttributeValue.fromL(elements);
+            }
+            default -> throw new IllegalArgumentException(
+                "Unsupported type '" + type + "' of attribute '" + attributeName + "'.");
+        };
+    }
+}
@@ -13,16 +13,25 @@ import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.util.MimeTypeUtils;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 /**
  * Utility class for handling exceptions in a consistent way across the application.
  * This class provides methods to map exceptions to appropriate response messages and HTTP status codes.
  * It includes predefined handlers for specific custom exceptions and a default handler
  * for unexpected errors, ensuring structured and meaningful error messages are returned.
+ * <p>
+ * Validation errors and missing or inactive cities are expected outcomes of the requests, so they are logged
+ * at WARN level without the stack trace, and no more than {@value #EXPECTED_ERRORS_PER_SECOND} messages are
+ * written per second. The other errors are logged at ERROR level with their stack trace.
  */
 //TODO: move this class to the common module
 public final class ExceptionHandlerUtil {
 
     private static final HiperiumLogger LOGGER = new HiperiumLogger(ExceptionHandlerUtil.class);
+    private static final int EXPECTED_ERRORS_PER_SECOND = 10;
+    private static final LogRateLimiter EXPECTED_ERRORS_LIMITER =
+        new LogRateLimiter(EXPECTED_ERRORS_PER_SECOND, Duration.ofSeconds(1));
 
     private ExceptionHandlerUtil() {
         throw new UnsupportedOperationException("Utility classes should not be instantiated.");
@@ -52,17 +61,17 @@ public final class ExceptionHandlerUtil {
     }
 
     private static Mono<Message<String>> handleException(ValidationException validationException) {
-        LOGGER.error(validationException.getMessage(), validationException);
+        logExpectedError(validationException);
         return Mono.just(ResponseUtil.error(validationException));
     }
 
     private static Mono<Message<String>> handleException(ResourceNotFoundException resourceNotFoundException) {
-        LOGGER.error(resourceNotFoundException.getMessage(), resourceNotFoundException);
+        logExpectedError(resourceNotFoundException);
         return Mono.just(ResponseUtil.error(resourceNotFoundException));
     }
 
     private static Mono<Message<String>> handleException(InactiveCityException inactiveCityException) {
-        LOGGER.error(inactiveCityException.getMessage(), inactiveCityException);
+        logExpectedError(inactiveCityException);
         return Mono.just(ResponseUtil.error(inactiveCityException));
     }
 
@@ -70,4 +79,13 @@ public final class ExceptionHandlerUtil {
         LOGGER.error(cityException.getMessage(), cityException);
         return Mono.just(ResponseUtil.error(cityException));
     }
+
+    private static void logExpectedError(final RuntimeException exception) {
+        long suppressedMessages = EXPECTED_ERRORS_LIMITER.tryAcquire();
+        if (suppressedMessages > 0) {
+            LOGGER.warn("{} ({} similar messages suppressed)", exception.getMessage(), suppressedMessages);
+        } else if (suppressedMessages == 0) {
+            LOGGER.warn(exception.getMessage());
+        }
+    }
 }
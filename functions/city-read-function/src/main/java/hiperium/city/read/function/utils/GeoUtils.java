@@ -0,0 +1,176 @@
+package hiperium.city.read.function.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class for the geographical calculations of the nearby sectors search.
+ * <p>
+ * A geohash splits the longitude and the latitude ranges in halves, interleaving one bit of each,
+ * starting with the longitude, and encodes every 5 bits with a base 32 character. Every character added
+ * to the geohash splits its cell in 32 smaller cells, so the geohash of a point starts with the geohash
+ * of every larger cell containing the point, and a {@code begins_with} condition returns the points of a cell.
+ * <p>
+ * The distances are great-circle distances in meters on a spherical Earth.
+ */
+public final class GeoUtils {
+
+    public static final int MAX_GEOHASH_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    private GeoUtils() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    /**
+     * Calculates the great-circle distance between two points using the haversine formula.
+     *
+     * @param latitude1  the latitude of the first point, in degrees.
+     * @param longitude1 the longitude of the first point, in degrees.
+     * @param latitude2  the latitude of the second point, in degrees.
+     * @param longitude2 the longitude of the second point, in degrees.
+     * @return the distance between the points, in meters.
+     */
+    public static double distance(final double latitude1, final double longitude1,
+                                  final double latitude2, final double longitude2) {
+        double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+        double haversine = Math.pow(Math.sin(latitudeDelta / 2), 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+            * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    /**
+     * Returns the geohash of the cell of the given precision that contains the given point.
+     *
+     * @param latitude  the latitude of the point, in degrees.
+     * @param longitude the longitude of the point, in degrees.
+     * @param precision the number of characters of the geohash, from 1 to {@value #MAX_GEOHASH_PRECISION}.
+     * @return the geohash of the cell containing the point.
+     */
+    public static String encode(final double latitude, final double longitude, final int precision) {
+        return encodeCell(latitudeIndex(latitude, precision), longitudeIndex(longitude, precision), precision);
+    }
+
+    /**
+     * Returns the geohashes of the cell of the given precision that contains the given point and of its
+     * neighbour cells. The neighbour cells wrap around the antimeridian, and the cells beyond the poles
+     * are not returned.
+     *
+     * @param latitude  the latitude of the point, in degrees.
+     * @param longitude the longitude of the point, in degrees.
+     * @param precision the number of characters of the geohashes, from 1 to {@value #MAX_GEOHASH_PRECISION}.
+     * @return up to 9 distinct geohashes, starting with the cell containing the point.
+     */
+    public static List<String> neighbourhood(final double latitude, final double longitude, final int precision) {
+        long latitudeIndex = latitudeIndex(latitude, precision);
+        long longitudeIndex = longitudeIndex(longitude, precision);
+        long latitudeCells = 1L << latitudeBits(precision);
+        long longitudeCells = 1L << longitudeBits(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        cells.add(encodeCell(latitudeIndex, longitudeIndex, precision));
+        for (long latitudeOffset = -1; latitudeOffset <= 1; latitudeOffset++) {
+            long neighbourLatitude = latitudeIndex + latitudeOffset;
+            if (neighbourLatitude < 0 || neighbourLatitude >= latitudeCells) {
+                continue;
+            }
+            for (long longitudeOffset = -1; longitudeOffset <= 1; longitudeOffset++) {
+                long neighbourLongitude = Math.floorMod(longitudeIndex + longitudeOffset, longitudeCells);
+                cells.add(encodeCell(neighbourLatitude, neighbourLongitude, precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Returns the radius around the given point that is fully covered by the cells returned by
+     * {@link #neighbourhood(double, double, int)} for the same precision. Every point closer than this radius
+     * is inside one of those cells.
+     *
+     * @param latitude  the latitude of the point, in degrees.
+     * @param longitude the longitude of the point, in degrees.
+     * @param precision the number of characters of the geohashes, from 1 to {@value #MAX_GEOHASH_PRECISION}.
+     * @return the covered radius, in meters.
+     */
+    public static double coveredRadius(final double latitude, final double longitude, final int precision) {
+        double cellHeight = 180.0 / (1L << latitudeBits(precision));
+        double cellWidth = 360.0 / (1L << longitudeBits(precision));
+        long latitudeIndex = latitudeIndex(latitude, precision);
+        long longitudeIndex = longitudeIndex(longitude, precision);
+
+        // The distance to a parallel is measured along the meridian of the point.
+        double southBoundary = Math.max(-90, (latitudeIndex - 1) * cellHeight - 90);
+        double northBoundary = Math.min(90, (latitudeIndex + 2) * cellHeight - 90);
+        double latitudeRadius = Math.min(latitude - southBoundary, northBoundary - latitude) * METERS_PER_DEGREE;
+
+        // The distance to a meridian is shorter than the distance along the parallel of the point.
+        double westDelta = longitude - ((longitudeIndex - 1) * cellWidth - 180);
+        double eastDelta = ((longitudeIndex + 2) * cellWidth - 180) - longitude;
+        double longitudeDelta = Math.toRadians(Math.min(90, Math.min(westDelta, eastDelta)));
+        double longitudeRadius = EARTH_RADIUS_METERS
+            * Math.asin(Math.cos(Math.toRadians(latitude)) * Math.sin(longitudeDelta));
+        return Math.min(latitudeRadius, longitudeRadius);
+    }
+
+    /**
+     * Returns the largest precision, up to the given maximum, whose neighbourhood around the given point
+     * covers the given radius.
+     *
+     * @param latitude     the latitude of the point, in degrees.
+     * @param longitude    the longitude of the point, in degrees.
+     * @param radius       the radius to be covered, in meters.
+     * @param maxPrecision the maximum precision to be returned.
+     * @return the precision of the cells to be searched, or 0 if no precision covers the radius.
+     */
+    public static int precisionFor(final double latitude, final double longitude,
+                                   final double radius, final int maxPrecision) {
+        for (int precision = maxPrecision; precision > 0; precision--) {
+            if (coveredRadius(latitude, longitude, precision) >= radius) {
+                return precision;
+            }
+        }
+        return 0;
+    }
+
+    private static String encodeCell(final long latitudeIndex, final long longitudeIndex, final int precision) {
+        int latitudeBit = latitudeBits(precision);
+        int longitudeBit = longitudeBits(precision);
+        char[] geohash = new char[precision];
+        for (int character = 0; character < precision; character++) {
+            int value = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                // Even bits encode the longitude and odd bits encode the latitude.
+                boolean longitudeTurn = (character * 5 + bit) % 2 == 0;
+                long index = longitudeTurn ? longitudeIndex : latitudeIndex;
+                int shift = longitudeTurn ? --longitudeBit : --latitudeBit;
+                value = (value << 1) | (int) ((index >>> shift) & 1);
+            }
+            geohash[character] = BASE32[value];
+        }
+        return new String(geohash);
+    }
+
+    private static long latitudeIndex(final double latitude, final int precision) {
+        long cells = 1L << latitudeBits(precision);
+        return Math.min(cells - 1, (long) Math.floor((latitude + 90) / 180 * cells));
+    }
+
+    private static long longitudeIndex(final double longitude, final int precision) {
+        long cells = 1L << longitudeBits(precision);
+        return Math.floorMod((long) Math.floor((longitude + 180) / 360 * cells), cells);
+    }
+
+    private static int latitudeBits(final int precision) {
+        return precision * 5 / 2;
+    }
+
+    private static int longitudeBits(final int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+}
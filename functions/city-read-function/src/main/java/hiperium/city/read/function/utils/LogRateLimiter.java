@@ -0,0 +1,46 @@
+package hiperium.city.read.function.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of log messages written in each time window, counting the messages that are suppressed,
+ * so a burst of similar events doesn't flood the logs.
+ * <p>
+ * The window starts again at the first message after the interval elapses, so the limit is approximate
+ * when many threads log at the window boundary.
+ */
+public final class LogRateLimiter {
+
+    private final int maxMessages;
+    private final long intervalNanos;
+    private final AtomicLong windowStart;
+    private final AtomicInteger windowMessages = new AtomicInteger();
+    private final AtomicLong suppressedMessages = new AtomicLong();
+
+    public LogRateLimiter(final int maxMessages, final Duration interval) {
+        this.maxMessages = maxMessages;
+        this.intervalNanos = interval.toNanos();
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Tries to acquire a permit to write a log message.
+     *
+     * @return the number of messages suppressed since the last permitted message, or {@code -1} if the
+     *         message must be suppressed.
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long start = this.windowStart.get();
+        if (now - start >= this.intervalNanos && this.windowStart.compareAndSet(start, now)) {
+            this.windowMessages.set(0);
+        }
+        if (this.windowMessages.incrementAndGet() <= this.maxMessages) {
+            return this.suppressedMessages.getAndSet(0);
+        }
+        this.suppressedMessages.incrementAndGet();
+        return -1;
+    }
+}
@@ -0,0 +1,63 @@
+package hiperium.city.read.function.utils;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/**
+ * Utility class that builds synthetic city and sector items with the same attributes as the items of the city table.
+ * The items are used to run the request path without reading the table, like the startup priming, the warm-up
+ * before a checkpoint and the benchmarks, so a change of the item schema is only applied here.
+ */
+public final class SyntheticItems {
+
+    private static final String SYNTHETIC_DATE = "2024-05-08T15:00:00-05:00";
+
+    private SyntheticItems() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    /**
+     * Builds the item of an active city.
+     *
+     * @param cityId   the ID of the city.
+     * @param timezone the time zone of the city.
+     * @return the attributes of the city item.
+     */
+    public static Map<String, AttributeValue> cityItem(final String cityId, final String timezone) {
+        return Map.of(
+            "pk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId),
+            "sk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId),
+            "name", AttributeValue.fromS("Synthetic City"),
+            "description", AttributeValue.fromS("City used to run the request path without reading the table."),
+            "status", AttributeValue.fromS(RecordStatus.ACTIVE.name()),
+            "languageCode", AttributeValue.fromS("es"),
+            "countryCode", AttributeValue.fromS("ec"),
+            "timezone", AttributeValue.fromS(timezone),
+            "createdAt", AttributeValue.fromS(SYNTHETIC_DATE),
+            "updatedAt", AttributeValue.fromS(SYNTHETIC_DATE));
+    }
+
+    /**
+     * Builds the item of an active sector of the given city.
+     *
+     * @param cityId       the ID of the city of the sector.
+     * @param sectorNumber the number of the sector, used in its sort key and name.
+     * @return the attributes of the sector item.
+     */
+    public static Map<String, AttributeValue> sectorItem(final String cityId, final int sectorNumber) {
+        return Map.of(
+            "pk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId),
+            "sk", AttributeValue.fromS(SectorEntity.SECTOR_SK_PREFIX + String.format("%03d", sectorNumber)),
+            "name", AttributeValue.fromS("Synthetic Sector " + sectorNumber),
+            "description", AttributeValue.fromS("Sector used to run the request path without reading the table."),
+            "status", AttributeValue.fromS(RecordStatus.ACTIVE.name()),
+            "latitude", AttributeValue.fromN("-2.170997"),
+            "longitude", AttributeValue.fromN("-78.467838"),
+            "createdAt", AttributeValue.fromS(SYNTHETIC_DATE),
+            "updatedAt", AttributeValue.fromS(SYNTHETIC_DATE));
+    }
+}
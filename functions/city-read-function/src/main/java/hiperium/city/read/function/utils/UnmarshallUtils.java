@@ -1,23 +1,46 @@
 package hiperium.city.read.function.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import hiperium.city.functions.common.exceptions.ValidationException;
 import hiperium.city.functions.common.loggers.HiperiumLogger;
 import hiperium.city.functions.common.requests.CityIdRequest;
 import hiperium.city.functions.common.requests.FunctionRequest;
-import hiperium.city.functions.common.utils.DeserializerUtil;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.requests.CitiesDataRequest;
+import hiperium.city.read.function.requests.CityChangeRecord;
 import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.Coordinate;
+import hiperium.city.read.function.requests.NearbySectorsRequest;
+import hiperium.city.read.function.requests.QueryOptions;
+import hiperium.city.read.function.requests.SectorsAreaRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Utility class for handling the deserialization of API Gateway requests into specific data objects.
  * This class provides methods to transform raw request payloads into domain-specific objects,
  * ensuring that the required validation is properly applied during the deserialization process.
+ * <p>
+ * The request body, received as a String by the {@code CustomMessageConverter}, is read in a streaming pass,
+ * binding only the fields used by the functions and skipping any other field without building a JSON tree.
  */
 // TODO: change class name
 public final class UnmarshallUtils {
 
     private static final HiperiumLogger LOGGER = new HiperiumLogger(UnmarshallUtils.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private UnmarshallUtils() {
         throw new UnsupportedOperationException("Utility classes should not be instantiated.");
@@ -26,19 +49,263 @@ public final class UnmarshallUtils {
     /**
      * Deserializes the given API Gateway request to construct a {@link CityDataRequest}.
      * The method ensures that the request body is not null or empty and extracts
-     * the city ID and request identifier for further processing.
+     * the city ID, the optional query options and the request identifier for further processing.
      *
      * @param functionRequest The API Gateway request containing the raw input data.
-     * @return A {@link CityDataRequest} object containing the city ID and request identifier.
-     * @throws ValidationException if the request body is missing or empty.
+     * @return A {@link CityDataRequest} object containing the city ID, query options and request identifier.
+     * @throws ValidationException if the request body is missing, empty or is not a valid JSON object.
      */
     public static CityDataRequest deserializeRequest(final FunctionRequest functionRequest){
         LOGGER.debug("Deserializing request body: {}", functionRequest.body());
-        if (Objects.isNull(functionRequest.body()) || functionRequest.body().isBlank()) {
-            throw new ValidationException("Request body is missing or empty.",
-                functionRequest.requestContext().requestId());
+        final String requestId = functionRequest.requestContext().requestId();
+        RequestBody requestBody = readBody(functionRequest.body(), requestId);
+        CityIdRequest cityIdRequest = new CityIdRequest(requestBody.cityId);
+        QueryOptions queryOptions = new QueryOptions(requestBody.pageSize, requestBody.cursor, requestBody.summary);
+        return new CityDataRequest(cityIdRequest, queryOptions, requestId);
+    }
+
+    /**
+     * Deserializes the given API Gateway request to construct a {@link CitiesDataRequest}.
+     * The city IDs are read from the {@code cityIds} array of the request body, and the duplicated IDs
+     * are removed keeping the order of their first occurrence.
+     *
+     * @param functionRequest The API Gateway request containing the raw input data.
+     * @return A {@link CitiesDataRequest} object containing the distinct city IDs and request identifier.
+     * @throws ValidationException if the request body is missing, empty, is not a valid JSON object,
+     *                             or the city IDs are not an array of strings.
+     */
+    public static CitiesDataRequest deserializeCitiesRequest(final FunctionRequest functionRequest) {
+        LOGGER.debug("Deserializing request body: {}", functionRequest.body());
+        final String requestId = functionRequest.requestContext().requestId();
+        RequestBody requestBody = readBody(functionRequest.body(), requestId);
+        List<String> cityIds = Objects.isNull(requestBody.cityIds) ? null : new ArrayList<>(requestBody.cityIds);
+        return new CitiesDataRequest(cityIds, requestId);
+    }
+
+    /**
+     * Deserializes the given API Gateway request to construct a {@link NearbySectorsRequest}.
+     * The coordinates of the point are read from the {@code latitude} and {@code longitude} numbers
+     * of the request body, and the search bounds from the optional {@code radius} and {@code limit} integers.
+     *
+     * @param functionRequest The API Gateway request containing the raw input data.
+     * @return A {@link NearbySectorsRequest} object containing the city ID, the point, the bounds and request identifier.
+     * @throws ValidationException if the request body is missing, empty, is not a valid JSON object,
+     *                             or the coordinates or bounds are not numbers.
+     */
+    public static NearbySectorsRequest deserializeNearbyRequest(final FunctionRequest functionRequest) {
+        LOGGER.debug("Deserializing request body: {}", functionRequest.body());
+        final String requestId = functionRequest.requestContext().requestId();
+        RequestBody requestBody = readBody(functionRequest.body(), requestId);
+        return new NearbySectorsRequest(new CityIdRequest(requestBody.cityId), requestBody.latitude,
+            requestBody.longitude, requestBody.radius, requestBody.limit, requestId);
+    }
+
+    /**
+     * Deserializes the given API Gateway request to construct a {@link SectorsAreaRequest}.
+     * The bounding box is read from the {@code south}, {@code west}, {@code north} and {@code east} numbers
+     * of the request body, and the polygon from the {@code polygon} array of {@code [latitude, longitude]} pairs.
+     *
+     * @param functionRequest The API Gateway request containing the raw input data.
+     * @return A {@link SectorsAreaRequest} object containing the city ID, the area and request identifier.
+     * @throws ValidationException if the request body is missing, empty, is not a valid JSON object,
+     *                             or the bounds or the vertices are not numbers.
+     */
+    public static SectorsAreaRequest deserializeAreaRequest(final FunctionRequest functionRequest) {
+        LOGGER.debug("Deserializing request body: {}", functionRequest.body());
+        final String requestId = functionRequest.requestContext().requestId();
+        RequestBody requestBody = readBody(functionRequest.body(), requestId);
+        return new SectorsAreaRequest(new CityIdRequest(requestBody.cityId), requestBody.south, requestBody.west,
+            requestBody.north, requestBody.east, requestBody.polygon, requestId);
+    }
+
+    /**
+     * Deserializes the given DynamoDB stream event into the changes of the items of the city table.
+     * The keys of each record identify the changed item, and its new image, when the stream includes it,
+     * is read from DynamoDB JSON. The changes of the items outside the city partitions have a null city ID.
+     *
+     * @param payload the DynamoDB stream event received by the function.
+     * @return the changes of the event, in the order of the stream.
+     * @throws ValidationException if the event is not a valid JSON object with a {@code Records} array,
+     *                             or a record doesn't have the keys of the table.
+     */
+    public static List<CityChangeRecord> deserializeChangesRequest(final byte[] payload) {
+        LOGGER.debug("Deserializing stream event of {} bytes.", payload.length);
+        JsonNode event;
+        try {
+            event = OBJECT_MAPPER.readTree(payload);
+        } catch (IOException exception) {
+            throw new ValidationException("Stream event is not a valid JSON.", null);
+        }
+        if (Objects.isNull(event) || !event.path("Records").isArray()) {
+            throw new ValidationException("Stream event must contain a 'Records' array.", null);
+        }
+        List<CityChangeRecord> changes = new ArrayList<>(event.get("Records").size());
+        for (JsonNode streamRecord : event.get("Records")) {
+            JsonNode change = streamRecord.path("dynamodb");
+            String partitionKey = change.path("Keys").path("pk").path("S").asText(null);
+            String sortKey = change.path("Keys").path("sk").path("S").asText(null);
+            if (Objects.isNull(partitionKey) || Objects.isNull(sortKey)) {
+                throw new ValidationException("Stream record must have the 'pk' and 'sk' string keys.", null);
+            }
+            String cityId = partitionKey.startsWith(CityEntity.CITY_PK_PREFIX)
+                ? partitionKey.substring(CityEntity.CITY_PK_PREFIX.length())
+                : null;
+            Map<String, AttributeValue> newImage = change.path("NewImage").isObject()
+                ? DynamoDbJsonUtils.toItem(change.get("NewImage"))
+                : null;
+            changes.add(new CityChangeRecord(streamRecord.path("eventName").asText(),
+                change.path("SequenceNumber").asText(), cityId, sortKey, newImage));
+        }
+        return changes;
+    }
+
+    private static RequestBody readBody(final String body, final String requestId) {
+        if (Objects.isNull(body) || body.isBlank()) {
+            throw new ValidationException("Request body is missing or empty.", requestId);
         }
-        CityIdRequest cityIdRequest = DeserializerUtil.deserializeCityId(functionRequest);
-        return new CityDataRequest(cityIdRequest, functionRequest.requestContext().requestId());
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ValidationException("Request body must be a JSON object.", requestId);
+            }
+            RequestBody requestBody = new RequestBody();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "cityId" -> requestBody.cityId = getTextValue(parser);
+                    case "cursor" -> requestBody.cursor = getTextValue(parser);
+                    case "pageSize" -> requestBody.pageSize = getIntegerValue(parser, fieldName, requestId);
+                    case "summary" -> requestBody.summary = getBooleanValue(parser, fieldName, requestId);
+                    case "cityIds" -> requestBody.cityIds = getTextValues(parser, fieldName, requestId);
+                    case "latitude" -> requestBody.latitude = getDoubleValue(parser, fieldName, requestId);
+                    case "longitude" -> requestBody.longitude = getDoubleValue(parser, fieldName, requestId);
+                    case "radius" -> requestBody.radius = getIntegerValue(parser, fieldName, requestId);
+                    case "limit" -> requestBody.limit = getIntegerValue(parser, fieldName, requestId);
+                    case "south" -> requestBody.south = getDoubleValue(parser, fieldName, requestId);
+                    case "west" -> requestBody.west = getDoubleValue(parser, fieldName, requestId);
+                    case "north" -> requestBody.north = getDoubleValue(parser, fieldName, requestId);
+                    case "east" -> requestBody.east = getDoubleValue(parser, fieldName, requestId);
+                    case "polygon" -> requestBody.polygon = getCoordinateValues(parser, fieldName, requestId);
+                    default -> parser.skipChildren();
+                }
+            }
+            return requestBody;
+        } catch (IOException exception) {
+            throw new ValidationException("Request body is not a valid JSON.", requestId);
+        }
+    }
+
+    private static String getTextValue(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getValueAsString();
+    }
+
+    private static Integer getIntegerValue(final JsonParser parser,
+                                           final String fieldName,
+                                           final String requestId) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+            throw new ValidationException("Field '" + fieldName + "' must be an integer number.", requestId);
+        }
+        return parser.getIntValue();
+    }
+
+    private static Double getDoubleValue(final JsonParser parser,
+                                         final String fieldName,
+                                         final String requestId) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!parser.currentToken().isNumeric()) {
+            throw new ValidationException("Field '" + fieldName + "' must be a number.", requestId);
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static Boolean getBooleanValue(final JsonParser parser,
+                                           final String fieldName,
+                                           final String requestId) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!parser.currentToken().isBoolean()) {
+            throw new ValidationException("Field '" + fieldName + "' must be a boolean value.", requestId);
+        }
+        return parser.getBooleanValue();
+    }
+
+    private static Set<String> getTextValues(final JsonParser parser,
+                                             final String fieldName,
+                                             final String requestId) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new ValidationException("Field '" + fieldName + "' must be an array of strings.", requestId);
+        }
+        Set<String> values = new LinkedHashSet<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                throw new ValidationException("Field '" + fieldName + "' must be an array of strings.", requestId);
+            }
+            values.add(parser.getText());
+        }
+        return values;
+    }
+
+    private static List<Coordinate> getCoordinateValues(final JsonParser parser,
+                                                        final String fieldName,
+                                                        final String requestId) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        final String message = "Field '" + fieldName + "' must be an array of [latitude, longitude] pairs.";
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new ValidationException(message, requestId);
+        }
+        List<Coordinate> coordinates = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_ARRAY || !parser.nextToken().isNumeric()) {
+                throw new ValidationException(message, requestId);
+            }
+            double latitude = parser.getDoubleValue();
+            if (!parser.nextToken().isNumeric()) {
+                throw new ValidationException(message, requestId);
+            }
+            double longitude = parser.getDoubleValue();
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                throw new ValidationException(message, requestId);
+            }
+            coordinates.add(new Coordinate(latitude, longitude));
+        }
+        return coordinates;
+    }
+
+    /**
+     * Holds the fields read from the request body.
+     */
+    private static final class RequestBody {
+        private String cityId;
+        private String cursor;
+        private Integer pageSize;
+        private Boolean summary;
+        private Set<String> cityIds;
+        private Double latitude;
+        private Double longitude;
+        private Integer radius;
+        private Integer limit;
+        private Double south;
+        private Double west;
+        private Double north;
+        private Double east;
+        private List<Coordinate> polygon;
     }
 }
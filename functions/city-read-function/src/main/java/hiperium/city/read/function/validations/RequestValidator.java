@@ -0,0 +1,178 @@
+package hiperium.city.read.function.validations;
+
+import hiperium.city.functions.common.exceptions.ValidationException;
+import hiperium.city.functions.common.loggers.HiperiumLogger;
+import hiperium.city.functions.common.requests.CityIdRequest;
+import hiperium.city.read.function.requests.CitiesDataRequest;
+import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.Coordinate;
+import hiperium.city.read.function.requests.NearbySectorsRequest;
+import hiperium.city.read.function.requests.QueryOptions;
+import hiperium.city.read.function.requests.SectorsAreaRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The RequestValidator class validates the requests received by the functions using the shared {@link Validator}.
+ * <p>
+ * The constraint metadata of the request classes is loaded when the bean is created, so the first invocation
+ * of a warm container doesn't pay for it. When the {@code city.validation.fast-path} property is enabled,
+ * requests with a canonical lowercase UUID as city ID and a page size within bounds are accepted without the
+ * reflective validation. Any other request falls back to the full validation, so the error messages don't change.
+ */
+@Component
+public class RequestValidator {
+
+    private static final HiperiumLogger LOGGER = new HiperiumLogger(RequestValidator.class);
+
+    private static final int UUID_LENGTH = 36;
+
+    private final boolean fastPathEnabled;
+    private final Validator validator;
+
+    public RequestValidator(@Value("${city.validation.fast-path:false}") boolean fastPathEnabled,
+                            Validator validator) {
+        LOGGER.debug("Request validation fast path enabled: {}", fastPathEnabled);
+        this.fastPathEnabled = fastPathEnabled;
+        this.validator = validator;
+        this.validator.getConstraintsForClass(CityDataRequest.class);
+        this.validator.getConstraintsForClass(CityIdRequest.class);
+        this.validator.getConstraintsForClass(QueryOptions.class);
+        this.validator.getConstraintsForClass(CitiesDataRequest.class);
+        this.validator.getConstraintsForClass(NearbySectorsRequest.class);
+        this.validator.getConstraintsForClass(SectorsAreaRequest.class);
+        this.validator.getConstraintsForClass(Coordinate.class);
+    }
+
+    /**
+     * Validates the given CityDataRequest object to ensure it meets all
+     * specified constraints. If the request is invalid, a ValidationException
+     * is thrown with details about the first encountered violation.
+     *
+     * @param dataRequest the CityDataRequest object to be validated
+     * @throws ValidationException if the dataRequest fails validation
+     */
+    public void validateRequest(final CityDataRequest dataRequest) {
+        if (this.fastPathEnabled && isFastPathValid(dataRequest)) {
+            return;
+        }
+        Set<ConstraintViolation<CityDataRequest>> violations = this.validator.validate(dataRequest);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CityDataRequest> firstViolation = violations.iterator().next();
+            throw new ValidationException(firstViolation.getMessage(), dataRequest.requestId());
+        }
+    }
+
+    /**
+     * Validates the given CitiesDataRequest object, checking only the list of city IDs as a whole.
+     * The ID of each city is validated with {@link #findCityIdViolation(String)}, so an invalid ID
+     * doesn't fail the lookup of the other cities of the request.
+     *
+     * @param citiesRequest the CitiesDataRequest object to be validated
+     * @throws ValidationException if the citiesRequest fails validation
+     */
+    public void validateRequest(final CitiesDataRequest citiesRequest) {
+        Set<ConstraintViolation<CitiesDataRequest>> violations = this.validator.validate(citiesRequest);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CitiesDataRequest> firstViolation = violations.iterator().next();
+            throw new ValidationException(firstViolation.getMessage(), citiesRequest.requestId());
+        }
+    }
+
+    /**
+     * Validates the given NearbySectorsRequest object, including the city ID, the coordinates of the point
+     * and the bounds of the search.
+     *
+     * @param nearbyRequest the NearbySectorsRequest object to be validated
+     * @throws ValidationException if the nearbyRequest fails validation
+     */
+    public void validateRequest(final NearbySectorsRequest nearbyRequest) {
+        Set<ConstraintViolation<NearbySectorsRequest>> violations = this.validator.validate(nearbyRequest);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<NearbySectorsRequest> firstViolation = violations.iterator().next();
+            throw new ValidationException(firstViolation.getMessage(), nearbyRequest.requestId());
+        }
+    }
+
+    /**
+     * Validates the given SectorsAreaRequest object, including the city ID and the bounding box or polygon.
+     *
+     * @param areaRequest the SectorsAreaRequest object to be validated
+     * @throws ValidationException if the areaRequest fails validation
+     */
+    public void validateRequest(final SectorsAreaRequest areaRequest) {
+        Set<ConstraintViolation<SectorsAreaRequest>> violations = this.validator.validate(areaRequest);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<SectorsAreaRequest> firstViolation = violations.iterator().next();
+            throw new ValidationException(firstViolation.getMessage(), areaRequest.requestId());
+        }
+    }
+
+    /**
+     * Validates a single city ID using the constraints of the {@link CityIdRequest}.
+     *
+     * @param cityId the city ID to be validated
+     * @return the message of the first violation, or null if the city ID is valid
+     */
+    public String findCityIdViolation(final String cityId) {
+        if (this.fastPathEnabled && isCanonicalUuid(cityId)) {
+            return null;
+        }
+        Set<ConstraintViolation<CityIdRequest>> violations = this.validator.validate(new CityIdRequest(cityId));
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    /**
+     * Validates each city ID of the given list using {@link #findCityIdViolation(String)}.
+     *
+     * @param cityIds the city IDs to be validated
+     * @return the message of the first violation of each invalid city ID, keyed by city ID
+     */
+    public Map<String, String> findCityIdViolations(final List<String> cityIds) {
+        Map<String, String> violations = new HashMap<>();
+        cityIds.forEach(cityId -> {
+            String violation = this.findCityIdViolation(cityId);
+            if (Objects.nonNull(violation)) {
+                violations.put(cityId, violation);
+            }
+        });
+        return violations;
+    }
+
+    private static boolean isFastPathValid(final CityDataRequest dataRequest) {
+        return Objects.nonNull(dataRequest.cityIdRequest())
+            && isCanonicalUuid(dataRequest.cityIdRequest().cityId())
+            && isValidPageSize(dataRequest.queryOptions());
+    }
+
+    private static boolean isValidPageSize(final QueryOptions queryOptions) {
+        if (Objects.isNull(queryOptions) || Objects.isNull(queryOptions.pageSize())) {
+            return true;
+        }
+        return queryOptions.pageSize() >= 1 && queryOptions.pageSize() <= QueryOptions.MAX_PAGE_SIZE;
+    }
+
+    static boolean isCanonicalUuid(final String value) {
+        if (Objects.isNull(value) || value.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char character = value.charAt(i);
+            boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+                ? character == '-'
+                : (character >= '0' && character <= '9') || (character >= 'a' && character <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
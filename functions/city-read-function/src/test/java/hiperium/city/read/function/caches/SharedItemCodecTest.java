@@ -0,0 +1,70 @@
+package hiperium.city.read.function.caches;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedItemCodecTest {
+
+    private static final Map<String, AttributeValue> SECTOR_ITEM = Map.of(
+        "pk", AttributeValue.fromS("CITY#a0ecb466-7ef5-47bf-a1ca-12f9f9328528"),
+        "sk", AttributeValue.fromS("SECTOR#d8f4c1a2-5b3e-4f7a-9c6d-1e2f3a4b5c6d"),
+        "name", AttributeValue.fromS("Centro Histórico"),
+        "latitude", AttributeValue.fromN("-0.2201641"),
+        "population", AttributeValue.fromN("40587"),
+        "active", AttributeValue.fromBool(true),
+        "deleted", AttributeValue.fromBool(false),
+        "description", AttributeValue.fromNul(true),
+        "location", AttributeValue.fromM(Map.of("type", AttributeValue.fromS("Point"))),
+        "tags", AttributeValue.fromL(List.of(AttributeValue.fromS("tourism"), AttributeValue.fromN("1"))));
+
+    @Test
+    @DisplayName("Decode the encoded item")
+    void givenItem_whenEncodeAndDecode_thenReturnSameItem() {
+        byte[] bytes = SharedItemCodec.encode(SECTOR_ITEM);
+
+        assertThat(SharedItemCodec.decode(bytes, null)).isEqualTo(SECTOR_ITEM);
+    }
+
+    @Test
+    @DisplayName("Decode only the requested attributes")
+    void givenAttributes_whenDecode_thenSkipOtherAttributes() {
+        byte[] bytes = SharedItemCodec.encode(SECTOR_ITEM);
+
+        Map<String, AttributeValue> item = SharedItemCodec.decode(bytes, Set.of("sk", "location", "missing"));
+
+        assertThat(item).containsOnlyKeys("sk", "location");
+        assertThat(item.get("location")).isEqualTo(SECTOR_ITEM.get("location"));
+    }
+
+    @Test
+    @DisplayName("Reject non-valid encoded items")
+    void givenNonValidBytes_whenDecode_thenThrowException() {
+        byte[] bytes = SharedItemCodec.encode(SECTOR_ITEM);
+        byte[] truncatedBytes = Arrays.copyOf(bytes, bytes.length - 3);
+        byte[] otherVersionBytes = bytes.clone();
+        otherVersionBytes[0] = 2;
+
+        assertThatThrownBy(() -> SharedItemCodec.decode(truncatedBytes, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SharedItemCodec.decode(otherVersionBytes, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Reject unsupported attribute types")
+    void givenStringSetAttribute_whenEncode_thenThrowException() {
+        Map<String, AttributeValue> item = Map.of("sk", AttributeValue.fromSs(List.of("a", "b")));
+
+        assertThatThrownBy(() -> SharedItemCodec.encode(item))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
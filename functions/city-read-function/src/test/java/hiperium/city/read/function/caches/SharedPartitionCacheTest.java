@@ -0,0 +1,167 @@
+package hiperium.city.read.function.caches;
+
+import hiperium.city.read.function.common.SharedCacheContainersBase;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.SocketOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The containers are only used by the tests that need a cache server, as the cache is created by each test.
+class SharedPartitionCacheTest extends SharedCacheContainersBase {
+
+    private static final String CITY_ID = "a0ecb466-7ef5-47bf-a1ca-12f9f9328528";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Map<String, AttributeValue> CITY_ITEM = cityItem(CITY_ID);
+
+    @Test
+    @DisplayName("Skip the disabled shared cache")
+    void givenDisabledCache_whenFindPartition_thenCompleteEmpty() {
+        SharedPartitionCache sharedPartitionCache = createCache(false, new DefaultListableBeanFactory(),
+            Duration.ofSeconds(30));
+
+        assertThat(sharedPartitionCache.isEnabled()).isFalse();
+        assertThat(sharedPartitionCache.isActive()).isFalse();
+        StepVerifier.create(sharedPartitionCache.findPartition(CITY_ID, Set.of("sk")))
+            .expectComplete()
+            .verify(TIMEOUT);
+        StepVerifier.create(sharedPartitionCache.putPartition(CITY_ID, List.of(CITY_ITEM)))
+            .expectComplete()
+            .verify(TIMEOUT);
+        StepVerifier.create(sharedPartitionCache.evict(CITY_ID))
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Skip the shared cache when its server is not reachable")
+    void givenUnreachableServer_whenFindPartition_thenCompleteEmpty() {
+        // No server listens on the port 1, so the connection opened after the cache is created is refused.
+        RedisClient redisClient = RedisClient.create("redis://localhost:1");
+        redisClient.setOptions(ClientOptions.builder()
+            .socketOptions(SocketOptions.builder().connectTimeout(Duration.ofMillis(500)).build())
+            .build());
+        try {
+            SharedPartitionCache sharedPartitionCache = createCache(true, beanFactory(redisClient),
+                Duration.ofSeconds(30));
+
+            assertThat(sharedPartitionCache.isEnabled()).isTrue();
+            assertThat(sharedPartitionCache.isActive()).isFalse();
+            StepVerifier.create(sharedPartitionCache.findItem(CITY_ID, "CITY#" + CITY_ID, Set.of("sk")))
+                .expectComplete()
+                .verify(TIMEOUT);
+            // The stream changes are retried, as they can't be applied.
+            StepVerifier.create(sharedPartitionCache.putItem(CITY_ID, CITY_ITEM))
+                .expectError(IllegalStateException.class)
+                .verify(TIMEOUT);
+        } finally {
+            redisClient.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Don't store a partition read before a change of the city")
+    void givenChangeOfNotCachedCity_whenPutPartition_thenDontStorePartition() {
+        RedisClient redisClient = redisClient();
+        try {
+            SharedPartitionCache sharedPartitionCache = createCache(true, beanFactory(redisClient),
+                Duration.ofSeconds(30));
+            awaitActive(sharedPartitionCache);
+            String cityId = UUID.randomUUID().toString();
+            List<Map<String, AttributeValue>> readItems = List.of(cityItem(cityId));
+
+            // The change is applied while the partition is being read from DynamoDB.
+            StepVerifier.create(sharedPartitionCache.putItem(cityId, cityItem(cityId)))
+                .expectNext(false)
+                .expectComplete()
+                .verify(TIMEOUT);
+            StepVerifier.create(sharedPartitionCache.putPartition(cityId, readItems))
+                .expectComplete()
+                .verify(TIMEOUT);
+            StepVerifier.create(sharedPartitionCache.findPartition(cityId, null))
+                .expectComplete()
+                .verify(TIMEOUT);
+
+            // The same happens after an eviction, while the partition of another city is stored.
+            String evictedCityId = UUID.randomUUID().toString();
+            StepVerifier.create(sharedPartitionCache.evict(evictedCityId)
+                    .then(sharedPartitionCache.putPartition(evictedCityId, List.of(cityItem(evictedCityId))))
+                    .then(sharedPartitionCache.findPartition(evictedCityId, null)))
+                .expectComplete()
+                .verify(TIMEOUT);
+            String storedCityId = UUID.randomUUID().toString();
+            StepVerifier.create(sharedPartitionCache.putPartition(storedCityId, List.of(cityItem(storedCityId)))
+                    .then(sharedPartitionCache.findPartition(storedCityId, null)))
+                .assertNext(items -> assertThat(items).hasSize(1))
+                .expectComplete()
+                .verify(TIMEOUT);
+        } finally {
+            redisClient.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Open the connection in the background, and again after it is closed")
+    void givenClosedConnection_whenConnect_thenCacheIsActive() {
+        RedisClient redisClient = redisClient();
+        try {
+            SharedPartitionCache sharedPartitionCache = createCache(true, beanFactory(redisClient), Duration.ZERO);
+            awaitActive(sharedPartitionCache);
+            assertThat(sharedPartitionCache.isActive()).isTrue();
+
+            // The closed connection is not opened again by the reads, as a checkpoint can be in progress.
+            sharedPartitionCache.disconnect();
+            assertThat(sharedPartitionCache.isActive()).isFalse();
+            StepVerifier.create(Mono.delay(Duration.ofMillis(300)).map(tick -> sharedPartitionCache.isActive()))
+                .expectNext(false)
+                .expectComplete()
+                .verify(TIMEOUT);
+
+            sharedPartitionCache.connect();
+            awaitActive(sharedPartitionCache);
+            assertThat(sharedPartitionCache.isActive()).isTrue();
+
+            sharedPartitionCache.bypass(() -> assertThat(sharedPartitionCache.isActive()).isFalse());
+            assertThat(sharedPartitionCache.isActive()).isTrue();
+        } finally {
+            redisClient.shutdown();
+        }
+    }
+
+    private static RedisClient redisClient() {
+        return RedisClient.create("redis://" + REDIS_CONTAINER.getHost() + ":" + REDIS_CONTAINER.getMappedPort(6379));
+    }
+
+    private static DefaultListableBeanFactory beanFactory(final RedisClient redisClient) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("sharedCacheRedisClient", redisClient);
+        return beanFactory;
+    }
+
+    private static SharedPartitionCache createCache(final boolean enabled,
+                                                    final DefaultListableBeanFactory beanFactory,
+                                                    final Duration retryInterval) {
+        ObjectProvider<RedisClient> redisClientProvider = beanFactory.getBeanProvider(RedisClient.class);
+        return new SharedPartitionCache(enabled, Duration.ofHours(1), Duration.ofSeconds(10), Duration.ofMillis(200),
+            retryInterval, "city:", redisClientProvider);
+    }
+
+    private static Map<String, AttributeValue> cityItem(final String cityId) {
+        return Map.of(
+            "pk", AttributeValue.fromS("CITY#" + cityId),
+            "sk", AttributeValue.fromS("CITY#" + cityId));
+    }
+}
@@ -0,0 +1,80 @@
+package hiperium.city.read.function.checkpoints;
+
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.caches.CityCache;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.repositories.CityRepository;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class, properties = {
+    "city.crac.enabled=true",
+    "city.crac.warmup.iterations=20"
+})
+class CheckpointResourceTest extends TestContainersBase {
+
+    @Autowired
+    private CityCache cityCache;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Autowired
+    private CheckpointResource checkpointResource;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void setup() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Each test leaves the warm-up client in place after the checkpoint, so the DynamoDB clients are restored.
+        this.checkpointResource.afterRestore(null);
+    }
+
+    @Test
+    @DisplayName("Checkpoint and restore")
+    void givenWarmedUpFunctions_whenRestore_thenQueryDynamoDbWithNewClient() {
+        this.checkpointResource.beforeCheckpoint(null);
+        assertThat(this.cityCache.get(CheckpointResource.WARMUP_CITY_ID)).isNull();
+
+        this.checkpointResource.afterRestore(null);
+        StepVerifier.create(this.cityRepository.findByCityId(FunctionTestUtils.ACTIVE_CITY_ID, FunctionTestUtils.REQUEST_ID))
+            .assertNext(response -> {
+                assertThat(response.get("pk").s())
+                    .isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID);
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Keep the DynamoDB client beans open on checkpoint")
+    void givenCheckpoint_whenUseClientBean_thenDescribeTable() {
+        this.checkpointResource.beforeCheckpoint(null);
+
+        assertThatCode(() -> this.dynamoDbClient.describeTable(request -> request.tableName(this.tableName)))
+            .doesNotThrowAnyException();
+    }
+}
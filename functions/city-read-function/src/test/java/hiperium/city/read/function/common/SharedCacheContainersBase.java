@@ -0,0 +1,42 @@
+package hiperium.city.read.function.common;
+
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import reactor.core.publisher.Mono;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+public abstract class SharedCacheContainersBase extends TestContainersBase {
+
+    private static final String REDIS_IMAGE = "redis:7-alpine";
+    private static final int REDIS_PORT = 6379;
+
+    protected static final GenericContainer<?> REDIS_CONTAINER;
+
+    // Singleton containers.
+    // See: https://www.testcontainers.org/test_framework_integration/manual_lifecycle_control/#singleton-containers
+    static {
+        REDIS_CONTAINER = new GenericContainer<>(DockerImageName.parse(REDIS_IMAGE))
+            .withExposedPorts(REDIS_PORT);
+
+        REDIS_CONTAINER.start();
+    }
+
+    @DynamicPropertySource
+    public static void sharedCachePropertySource(DynamicPropertyRegistry registry) {
+        registry.add("city.shared-cache.enabled", () -> "true");
+        registry.add("city.shared-cache.uri",
+            () -> "redis://" + REDIS_CONTAINER.getHost() + ":" + REDIS_CONTAINER.getMappedPort(REDIS_PORT));
+    }
+
+    // The shared cache opens its connection in the background, so it is not active right after it is created.
+    protected static void awaitActive(final SharedPartitionCache sharedPartitionCache) {
+        Mono.fromCallable(sharedPartitionCache::isActive)
+            .filter(Boolean::booleanValue)
+            .repeatWhenEmpty(50, repeats -> repeats.delayElements(Duration.ofMillis(100)))
+            .block(Duration.ofSeconds(10));
+    }
+}
@@ -16,7 +16,7 @@ public abstract class TestContainersBase {
     // See: https://www.testcontainers.org/test_framework_integration/manual_lifecycle_control/#singleton-containers
     static {
         LOCALSTACK_CONTAINER = new LocalStackContainer(DockerImageName.parse(LOCALSTACK_IMAGE))
-            .withServices(LocalStackContainer.Service.DYNAMODB)
+            .withServices(LocalStackContainer.Service.DYNAMODB, LocalStackContainer.Service.DYNAMODB_STREAMS)
             .withCopyToContainer(MountableFile.forClasspathResource("localstack/table-setup.sh"),
                 "/etc/localstack/init/ready.d/table-setup.sh")
             .withCopyToContainer(MountableFile.forClasspathResource("localstack/table-data.json"),
@@ -0,0 +1,45 @@
+package hiperium.city.read.function.configurations;
+
+import hiperium.city.functions.common.requests.FunctionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomMessageConverterTest {
+
+    private final CustomMessageConverter messageConverter = new CustomMessageConverter();
+
+    @Test
+    @DisplayName("Read the envelope from the payload bytes")
+    void givenEnvelopeBytes_whenConvert_thenReturnFunctionRequest() {
+        byte[] payload = ("{\"version\":\"2.0\",\"rawPath\":\"/cities\",\"isBase64Encoded\":false,"
+            + "\"headers\":{\"content-type\":\"application/json\"},"
+            + "\"requestContext\":{\"requestId\":\"request-id\"},"
+            + "\"body\":\"{\\\"cityId\\\":\\\"city-id\\\"}\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+        Object request = this.messageConverter.fromMessage(MessageBuilder.withPayload(payload).build(),
+            FunctionRequest.class);
+
+        assertThat(request).isInstanceOf(FunctionRequest.class);
+        FunctionRequest functionRequest = (FunctionRequest) request;
+        assertThat(functionRequest.requestContext().requestId()).isEqualTo("request-id");
+        assertThat(functionRequest.body()).isEqualTo("{\"cityId\":\"city-id\"}");
+    }
+
+    @Test
+    @DisplayName("Fail the conversion of a non-valid envelope")
+    void givenNonValidBytes_whenConvert_thenThrowConversionException() {
+        byte[] payload = "{\"body\":".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> this.messageConverter.fromMessage(MessageBuilder.withPayload(payload).build(),
+            FunctionRequest.class))
+            .isInstanceOf(MessageConversionException.class);
+    }
+}
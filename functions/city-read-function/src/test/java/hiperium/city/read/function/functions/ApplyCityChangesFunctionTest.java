@@ -0,0 +1,278 @@
+package hiperium.city.read.function.functions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.caches.SharedPartitionCache;
+import hiperium.city.read.function.common.SharedCacheContainersBase;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.repositories.CityRepository;
+import hiperium.city.read.function.repositories.SectorRepository;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.function.context.FunctionCatalog;
+import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsResponse;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.Shard;
+import software.amazon.awssdk.services.dynamodb.model.ShardIteratorType;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@FunctionalSpringBootTest(classes = FunctionApplication.class)
+class ApplyCityChangesFunctionTest extends SharedCacheContainersBase {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private SectorRepository sectorRepository;
+
+    @Autowired
+    private SharedPartitionCache sharedPartitionCache;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Autowired
+    private FunctionCatalog functionCatalog;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    private DynamoDbStreamsClient dynamoDbStreamsClient;
+
+    @BeforeEach
+    void init() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+        awaitActive(this.sharedPartitionCache);
+        this.dynamoDbStreamsClient = DynamoDbStreamsClient.builder()
+            .endpointOverride(LOCALSTACK_CONTAINER.getEndpoint())
+            .region(Region.of(LOCALSTACK_CONTAINER.getRegion()))
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                LOCALSTACK_CONTAINER.getAccessKey(), LOCALSTACK_CONTAINER.getSecretKey())))
+            .build();
+    }
+
+    @AfterEach
+    void close() {
+        this.dynamoDbStreamsClient.close();
+    }
+
+    @Test
+    @DisplayName("Apply the changes of a cached city")
+    void givenCachedCity_whenApplyStreamRecords_thenReturnChangedItems() throws IOException {
+        // A random city ID is used, so the tests running in parallel don't read the same partition.
+        String cityId = UUID.randomUUID().toString();
+        String sectorSortKey = SectorEntity.SECTOR_SK_PREFIX + UUID.randomUUID();
+        this.putItem(cityId, CityEntity.CITY_PK_PREFIX + cityId, "Shared City");
+        this.putItem(cityId, sectorSortKey, "Shared Sector");
+
+        // The first read stores the partition of the city in the shared cache.
+        this.verifyCityName(cityId, "Shared City");
+        StepVerifier.create(this.sharedPartitionCache.findPartition(cityId, null))
+            .assertNext(items -> assertThat(items).hasSize(2))
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        // The changes are not visible until the stream records are applied.
+        this.putItem(cityId, CityEntity.CITY_PK_PREFIX + cityId, "Renamed City");
+        this.dynamoDbClient.deleteItem(request -> request
+            .tableName(this.tableName)
+            .key(key(cityId, sectorSortKey)));
+        this.verifyCityName(cityId, "Shared City");
+
+        Message<byte[]> response = this.applyChanges(this.readStreamRecords(cityId, 4));
+        assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+        assertThat(OBJECT_MAPPER.readTree(response.getPayload()).get("batchItemFailures")).isEmpty();
+
+        this.verifyCityName(cityId, "Renamed City");
+        StepVerifier.create(this.sectorRepository.findCityWithSectors(cityId, FunctionTestUtils.REQUEST_ID)
+                .map(item -> item.get("sk").s())
+                .collectList())
+            .assertNext(sortKeys -> assertThat(sortKeys).containsExactly(CityEntity.CITY_PK_PREFIX + cityId))
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Skip the changes of cities that are not cached")
+    void givenNotCachedCity_whenApplyStreamRecords_thenDontCachePartition() throws IOException {
+        String cityId = UUID.randomUUID().toString();
+        this.putItem(cityId, CityEntity.CITY_PK_PREFIX + cityId, "Not Cached City");
+
+        Message<byte[]> response = this.applyChanges(this.readStreamRecords(cityId, 1));
+        assertThat(OBJECT_MAPPER.readTree(response.getPayload()).get("batchItemFailures")).isEmpty();
+
+        // The change marks the partition as dirty, so the partition read right after it is not stored either.
+        this.verifyCityName(cityId, "Not Cached City");
+        StepVerifier.create(this.sharedPartitionCache.findPartition(cityId, null))
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Fail the invocation for non-valid stream events")
+    void givenNonValidEvent_whenInvokeLambdaFunction_thenReturnError() {
+        Message<byte[]> message = MessageBuilder
+            .withPayload("{\"Records\": [{\"eventName\": \"INSERT\"}]}".getBytes(StandardCharsets.UTF_8))
+            .build();
+
+        // The invocation fails, so the event source mapping retries the whole batch.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .expectError()
+            .verify(TIMEOUT);
+    }
+
+    private void putItem(final String cityId, final String sortKey, final String name) {
+        Map<String, AttributeValue> item = new HashMap<>(key(cityId, sortKey));
+        item.put("name", AttributeValue.fromS(name));
+        item.put("status", AttributeValue.fromS("ACTIVE"));
+        this.dynamoDbClient.putItem(request -> request.tableName(this.tableName).item(item));
+    }
+
+    private void verifyCityName(final String cityId, final String name) {
+        StepVerifier.create(this.cityRepository.findByCityId(cityId, FunctionTestUtils.REQUEST_ID))
+            .assertNext(item -> assertThat(item.get("name").s()).isEqualTo(name))
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    private Message<byte[]> applyChanges(final List<Record> records) throws IOException {
+        Message<byte[]> message = MessageBuilder.withPayload(toStreamEvent(records)).build();
+        Message<byte[]> response = this.findFunctionUnderTest().apply(message).block(TIMEOUT);
+        assertThat(response).isNotNull();
+        return response;
+    }
+
+    // Reads the records of the city from all the shards of the table stream, until the expected records are written.
+    private List<Record> readStreamRecords(final String cityId, final int expectedCount) {
+        String streamArn = this.dynamoDbClient.describeTable(request -> request.tableName(this.tableName))
+            .table()
+            .latestStreamArn();
+        AttributeValue partitionKey = AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId);
+        return Mono.fromCallable(() -> {
+                List<Record> records = new ArrayList<>();
+                List<Shard> shards = this.dynamoDbStreamsClient.describeStream(request -> request.streamArn(streamArn))
+                    .streamDescription()
+                    .shards();
+                for (Shard shard : shards) {
+                    String shardIterator = this.dynamoDbStreamsClient.getShardIterator(request -> request
+                            .streamArn(streamArn)
+                            .shardId(shard.shardId())
+                            .shardIteratorType(ShardIteratorType.TRIM_HORIZON))
+                        .shardIterator();
+                    while (Objects.nonNull(shardIterator)) {
+                        String currentIterator = shardIterator;
+                        GetRecordsResponse response = this.dynamoDbStreamsClient.getRecords(request -> request
+                            .shardIterator(currentIterator));
+                        if (response.records().isEmpty()) {
+                            break;
+                        }
+                        response.records().stream()
+                            .filter(streamRecord -> partitionKey.equals(streamRecord.dynamodb().keys().get("pk")))
+                            .forEach(records::add);
+                        shardIterator = response.nextShardIterator();
+                    }
+                }
+                records.sort(Comparator.comparing(streamRecord ->
+                    new BigInteger(streamRecord.dynamodb().sequenceNumber())));
+                return records;
+            })
+            .filter(records -> records.size() >= expectedCount)
+            .repeatWhenEmpty(20, repeats -> repeats.delayElements(Duration.ofSeconds(1)))
+            .block(TIMEOUT);
+    }
+
+    private static Map<String, AttributeValue> key(final String cityId, final String sortKey) {
+        return Map.of(
+            "pk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId),
+            "sk", AttributeValue.fromS(sortKey));
+    }
+
+    // Writes the stream records as the event that the event source mapping sends to the function.
+    private static byte[] toStreamEvent(final List<Record> records) throws IOException {
+        ObjectNode event = OBJECT_MAPPER.createObjectNode();
+        ArrayNode eventRecords = event.putArray("Records");
+        for (Record streamRecord : records) {
+            ObjectNode eventRecord = eventRecords.addObject();
+            eventRecord.put("eventID", streamRecord.eventID());
+            eventRecord.put("eventName", streamRecord.eventNameAsString());
+            eventRecord.put("eventSource", "aws:dynamodb");
+            ObjectNode change = eventRecord.putObject("dynamodb");
+            change.set("Keys", toJson(streamRecord.dynamodb().keys()));
+            if (streamRecord.dynamodb().hasNewImage()) {
+                change.set("NewImage", toJson(streamRecord.dynamodb().newImage()));
+            }
+            change.put("SequenceNumber", streamRecord.dynamodb().sequenceNumber());
+            change.put("StreamViewType", streamRecord.dynamodb().streamViewTypeAsString());
+        }
+        return OBJECT_MAPPER.writeValueAsBytes(event);
+    }
+
+    private static ObjectNode toJson(final Map<String, AttributeValue> item) {
+        ObjectNode attributes = OBJECT_MAPPER.createObjectNode();
+        item.forEach((name, value) -> attributes.set(name, toJson(value)));
+        return attributes;
+    }
+
+    private static JsonNode toJson(final AttributeValue value) {
+        ObjectNode attribute = OBJECT_MAPPER.createObjectNode();
+        switch (value.type()) {
+            case S -> attribute.put("S", value.s());
+            case N -> attribute.put("N", value.n());
+            case BOOL -> attribute.put("BOOL", value.bool());
+            case NUL -> attribute.put("NULL", true);
+            case M -> attribute.set("M", toJson(value.m()));
+            case L -> {
+                ArrayNode elements = attribute.putArray("L");
+                value.l().forEach(element -> elements.add(toJson(element)));
+            }
+            default -> throw new IllegalArgumentException("Unsupported type in stream record: " + value.type());
+        }
+        return attribute;
+    }
+
+    private Function<Message<byte[]>, Mono<Message<byte[]>>> findFunctionUnderTest() {
+        return this.functionCatalog.lookup(Function.class, ApplyCityChangesFunction.FUNCTION_NAME);
+    }
+}
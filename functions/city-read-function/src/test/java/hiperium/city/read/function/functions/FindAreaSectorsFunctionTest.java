@@ -0,0 +1,112 @@
+package hiperium.city.read.function.functions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.function.context.FunctionCatalog;
+import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@FunctionalSpringBootTest(classes = FunctionApplication.class)
+class FindAreaSectorsFunctionTest extends TestContainersBase {
+
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Autowired
+    private FunctionCatalog functionCatalog;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void init() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Sectors inside a bounding box")
+    void givenBoundingBoxRequest_whenInvokeLambdaFunction_thenReturnSectorsInsideBoundingBox() throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(
+            "requests/area-sectors/valid/find-sectors-in-bounding-box-request.json");
+
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+                assertThat(sectorNames(FunctionTestUtils.readJson(response.getPayload())))
+                    .containsExactly("Green Area", "Educational Zone", "Healthcare Zone", "Public Services Zone");
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Sectors inside a polygon")
+    void givenPolygonRequest_whenInvokeLambdaFunction_thenReturnSectorsInsidePolygon() throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(
+            "requests/area-sectors/valid/find-sectors-in-polygon-request.json");
+
+        // The bounding box of the polygon contains the nearby district, but only the port is inside the polygon.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+                assertThat(sectorNames(FunctionTestUtils.readJson(response.getPayload()))).containsExactly("Port Zone");
+            })
+            .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Non-valid requests")
+    @ValueSource(strings = {
+        "requests/area-sectors/non-valid/missing-area.json",
+        "requests/area-sectors/non-valid/bounding-box-and-polygon.json",
+        "requests/area-sectors/non-valid/wrong-bounding-box.json",
+        "requests/area-sectors/non-valid/inactive-city.json"
+    })
+    void givenNonValidRequests_whenInvokeLambdaFunction_thenReturnErrors(String jsonFilePath) throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(jsonFilePath);
+
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response).isNotNull();
+                int errorCode = (int) Objects.requireNonNull(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE));
+                assertThat(errorCode >= HttpStatus.OK.value() && errorCode <= HttpStatus.IM_USED.value()).isFalse();
+            })
+            .verifyComplete();
+    }
+
+    private static List<String> sectorNames(final JsonNode results) {
+        List<String> sectorNames = new ArrayList<>();
+        results.forEach(result -> sectorNames.add(result.get("entityCommon").get("name").asText()));
+        return sectorNames;
+    }
+
+    private Function<Message<FunctionRequest>, Mono<Message<byte[]>>> findFunctionUnderTest() {
+        return this.functionCatalog.lookup(Function.class, FindAreaSectorsFunction.FUNCTION_NAME);
+    }
+}
@@ -0,0 +1,107 @@
+package hiperium.city.read.function.functions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.responses.CityLookupStatus;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.function.context.FunctionCatalog;
+import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@FunctionalSpringBootTest(classes = FunctionApplication.class)
+class FindCitiesSectorsFunctionTest extends TestContainersBase {
+
+    private static final String NON_EXISTING_CITY_ID = "e3f8a7b2-4d5c-4f6e-8b9a-1c2d3e4f5a60";
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Autowired
+    private FunctionCatalog functionCatalog;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void init() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Valid requests")
+    void givenValidRequest_whenInvokeLambdaFunction_thenReturnResultPerCity() throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(
+            "requests/cities-sectors/valid/find-sectors-by-city-ids-request.json");
+
+        // Execute the function and verify that the duplicated ID is returned only once.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response).isNotNull();
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+                JsonNode results = FunctionTestUtils.readJson(response.getPayload()).get("results");
+                assertThat(results).hasSize(4);
+
+                // The results are emitted in completion order, so they are checked by city ID.
+                Map<String, JsonNode> resultsById = new HashMap<>();
+                results.forEach(result -> resultsById.put(result.get("cityId").asText(), result));
+                assertThat(resultsById.get(FunctionTestUtils.ACTIVE_CITY_ID).get("status").asText())
+                    .isEqualTo(CityLookupStatus.FOUND.name());
+                assertThat(resultsById.get(FunctionTestUtils.ACTIVE_CITY_ID).get("sectors")).isNotEmpty();
+                assertThat(resultsById.get(FunctionTestUtils.INACTIVE_CITY_ID).get("status").asText())
+                    .isEqualTo(CityLookupStatus.INACTIVE.name());
+                assertThat(resultsById.get(NON_EXISTING_CITY_ID).get("status").asText())
+                    .isEqualTo(CityLookupStatus.NOT_FOUND.name());
+                assertThat(resultsById.get("wrong-city-id").get("status").asText())
+                    .isEqualTo(CityLookupStatus.INVALID.name());
+            })
+            .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Non-valid requests")
+    @ValueSource(strings = {
+        "requests/cities-sectors/non-valid/empty-city-ids.json",
+        "requests/cities-sectors/non-valid/wrong-city-ids.json"
+    })
+    void givenNonValidRequests_whenInvokeLambdaFunction_thenReturnErrors(String jsonFilePath) throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(jsonFilePath);
+
+        // Execute the function and verify the response.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response).isNotNull();
+                int errorCode = (int) Objects.requireNonNull(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE));
+                assertThat(errorCode >= HttpStatus.OK.value() && errorCode <= HttpStatus.IM_USED.value()).isFalse();
+            })
+            .verifyComplete();
+    }
+
+    private Function<Message<FunctionRequest>, Mono<Message<byte[]>>> findFunctionUnderTest() {
+        return this.functionCatalog.lookup(Function.class, FindCitiesSectorsFunction.FUNCTION_NAME);
+    }
+}
@@ -16,15 +16,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.function.context.FunctionCatalog;
 import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.MimeTypeUtils;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -58,7 +61,7 @@ class FindCityFunctionTest extends TestContainersBase {
         assertThat(functionRequest).isNotNull();
 
         // Find the corresponding function by name.
-        Function<Message<FunctionRequest>, Mono<Message<String>>> function = this.findFunctionUnderTest();
+        Function<Message<FunctionRequest>, Mono<Message<byte[]>>> function = this.findFunctionUnderTest();
         assertThat(function).isNotNull();
 
         // Create a message with the request payload.
@@ -75,6 +78,25 @@ class FindCityFunctionTest extends TestContainersBase {
             .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Serialized city bytes")
+    void givenValidRequest_whenInvokeLambdaFunctionTwice_thenReturnSameJsonBytes() throws IOException {
+        String jsonContent = ResourceStreamUtil.getJsonFromFilePath("requests/city/valid/find-city-by-id-request.json");
+        FunctionRequest functionRequest = DeserializerUtil.fromJson(jsonContent);
+        Message<FunctionRequest> message = MessageBuilder
+            .withPayload(functionRequest)
+            .build();
+
+        // The second invocation is served from the cached city, so the cached JSON bytes are returned.
+        Message<byte[]> firstResponse = this.findFunctionUnderTest().apply(message).block();
+        Message<byte[]> secondResponse = this.findFunctionUnderTest().apply(message).block();
+        assertThat(firstResponse).isNotNull();
+        assertThat(secondResponse).isNotNull();
+        assertThat(secondResponse.getHeaders().get(HttpHeaders.CONTENT_TYPE)).isEqualTo(MimeTypeUtils.APPLICATION_JSON_VALUE);
+        assertThat(new String(firstResponse.getPayload(), StandardCharsets.UTF_8)).contains("\"timezone\"");
+        assertThat(secondResponse.getPayload()).isSameAs(firstResponse.getPayload());
+    }
+
     @ParameterizedTest
     @DisplayName("Non-valid requests")
     @ValueSource(strings = {
@@ -90,7 +112,7 @@ class FindCityFunctionTest extends TestContainersBase {
         assertThat(functionRequest).isNotNull();
 
         // Find the corresponding function by name.
-        Function<Message<FunctionRequest>, Mono<Message<String>>> function = this.findFunctionUnderTest();
+        Function<Message<FunctionRequest>, Mono<Message<byte[]>>> function = this.findFunctionUnderTest();
         assertThat(function).isNotNull();
 
         // Create a message with the request payload.
@@ -109,7 +131,7 @@ class FindCityFunctionTest extends TestContainersBase {
             .verifyComplete();
     }
 
-    private Function<Message<FunctionRequest>, Mono<Message<String>>> findFunctionUnderTest() {
+    private Function<Message<FunctionRequest>, Mono<Message<byte[]>>> findFunctionUnderTest() {
         return this.functionCatalog.lookup(Function.class, FindCityFunction.FUNCTION_NAME);
     }
 }
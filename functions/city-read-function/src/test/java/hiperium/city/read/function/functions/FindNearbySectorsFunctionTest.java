@@ -0,0 +1,124 @@
+package hiperium.city.read.function.functions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.function.context.FunctionCatalog;
+import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@FunctionalSpringBootTest(classes = FunctionApplication.class)
+class FindNearbySectorsFunctionTest extends TestContainersBase {
+
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Autowired
+    private FunctionCatalog functionCatalog;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void init() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Sectors within a radius")
+    void givenRadiusRequest_whenInvokeLambdaFunction_thenReturnSectorsWithinRadius() throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(
+            "requests/nearby-sectors/valid/find-sectors-within-radius-request.json");
+
+        // Only the sectors of the nearby district are returned, nearest first.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+                JsonNode results = FunctionTestUtils.readJson(response.getPayload());
+                assertThat(results).hasSize(4);
+                assertThat(sectorName(results.get(0))).isEqualTo("Green Area");
+                assertThat(distances(results)).isSorted().allMatch(distance -> distance <= 1000);
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Nearest sectors")
+    void givenLimitRequest_whenInvokeLambdaFunction_thenReturnNearestSectors() throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(
+            "requests/nearby-sectors/valid/find-nearest-sectors-request.json");
+
+        // The search moves to larger cells until the requested number of sectors is found.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+                JsonNode results = FunctionTestUtils.readJson(response.getPayload());
+                assertThat(results).hasSize(6);
+                assertThat(sectorName(results.get(0))).isEqualTo("Green Area");
+                assertThat(sectorName(results.get(4))).isEqualTo("Port Zone");
+                assertThat(sectorName(results.get(5))).isEqualTo("Residential Zone");
+                assertThat(distances(results)).isSorted();
+            })
+            .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Non-valid requests")
+    @ValueSource(strings = {
+        "requests/nearby-sectors/non-valid/missing-bounds.json",
+        "requests/nearby-sectors/non-valid/wrong-latitude.json",
+        "requests/nearby-sectors/non-valid/wrong-radius.json",
+        "requests/nearby-sectors/non-valid/inactive-city.json"
+    })
+    void givenNonValidRequests_whenInvokeLambdaFunction_thenReturnErrors(String jsonFilePath) throws IOException {
+        Message<FunctionRequest> message = FunctionTestUtils.createMessage(jsonFilePath);
+
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response).isNotNull();
+                int errorCode = (int) Objects.requireNonNull(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE));
+                assertThat(errorCode >= HttpStatus.OK.value() && errorCode <= HttpStatus.IM_USED.value()).isFalse();
+            })
+            .verifyComplete();
+    }
+
+    private static String sectorName(final JsonNode result) {
+        return result.get("sector").get("entityCommon").get("name").asText();
+    }
+
+    private static List<Double> distances(final JsonNode results) {
+        List<Double> distances = new ArrayList<>();
+        results.forEach(result -> distances.add(result.get("distance").asDouble()));
+        return distances;
+    }
+
+    private Function<Message<FunctionRequest>, Mono<Message<byte[]>>> findFunctionUnderTest() {
+        return this.functionCatalog.lookup(Function.class, FindNearbySectorsFunction.FUNCTION_NAME);
+    }
+}
@@ -9,7 +9,6 @@ import hiperium.city.read.function.FunctionApplication;
 import hiperium.city.read.function.common.TestContainersBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,17 +47,22 @@ class FindSectorsFunctionTest extends TestContainersBase {
         DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
     }
 
-    @Test
+    @ParameterizedTest
     @DisplayName("Valid requests")
-    void givenValidRequest_whenInvokeLambdaFunction_thenExecuteSuccessfully() throws IOException {
-        String jsonContent = ResourceStreamUtil.getJsonFromFilePath("requests/city-sectors/valid/find-sectors-by-city-id-request.json");
+    @ValueSource(strings = {
+        "requests/city-sectors/valid/find-sectors-by-city-id-request.json",
+        "requests/city-sectors/valid/find-sectors-page-request.json",
+        "requests/city-sectors/valid/find-sectors-summary-request.json"
+    })
+    void givenValidRequest_whenInvokeLambdaFunction_thenExecuteSuccessfully(String jsonFilePath) throws IOException {
+        String jsonContent = ResourceStreamUtil.getJsonFromFilePath(jsonFilePath);
         assertThat(jsonContent).isNotNull();
 
         FunctionRequest functionRequest = DeserializerUtil.fromJson(jsonContent);
         assertThat(functionRequest).isNotNull();
 
         // Find the corresponding function by name.
-        Function<Message<FunctionRequest>, Mono<Message<String>>> function = this.findFunctionUnderTest();
+        Function<Message<FunctionRequest>, Mono<Message<byte[]>>> function = this.findFunctionUnderTest();
         assertThat(function).isNotNull();
 
         // Create a message with the request payload.
@@ -80,7 +84,10 @@ class FindSectorsFunctionTest extends TestContainersBase {
     @ValueSource(strings = {
         "requests/city-sectors/non-valid/empty-city-id.json",
         "requests/city-sectors/non-valid/wrong-city-id.json",
-        "requests/city-sectors/non-valid/non-existing-city.json"
+        "requests/city-sectors/non-valid/non-existing-city.json",
+        "requests/city-sectors/non-valid/wrong-page-size.json",
+        "requests/city-sectors/non-valid/wrong-cursor.json",
+        "requests/city-sectors/non-valid/wrong-summary.json"
     })
     void givenNonValidRequests_whenInvokeLambdaFunction_thenReturnErrors(String jsonFilePath) throws IOException {
         String jsonContent = ResourceStreamUtil.getJsonFromFilePath(jsonFilePath);
@@ -90,7 +97,7 @@ class FindSectorsFunctionTest extends TestContainersBase {
         assertThat(functionRequest).isNotNull();
 
         // Find the corresponding function by name.
-        Function<Message<FunctionRequest>, Mono<Message<String>>> function = this.findFunctionUnderTest();
+        Function<Message<FunctionRequest>, Mono<Message<byte[]>>> function = this.findFunctionUnderTest();
         assertThat(function).isNotNull();
 
         // Create a message with the request payload.
@@ -109,7 +116,7 @@ class FindSectorsFunctionTest extends TestContainersBase {
             .verifyComplete();
     }
 
-    private Function<Message<FunctionRequest>, Mono<Message<String>>> findFunctionUnderTest() {
+    private Function<Message<FunctionRequest>, Mono<Message<byte[]>>> findFunctionUnderTest() {
         return this.functionCatalog.lookup(Function.class, FindSectorsFunction.FUNCTION_NAME);
     }
 }
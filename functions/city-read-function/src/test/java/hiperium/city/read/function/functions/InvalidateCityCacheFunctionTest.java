@@ -0,0 +1,94 @@
+package hiperium.city.read.function.functions;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.DeserializerUtil;
+import hiperium.city.functions.common.utils.ResponseUtil;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.functions.tests.utils.ResourceStreamUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.caches.CachedCity;
+import hiperium.city.read.function.caches.CityCache;
+import hiperium.city.read.function.caches.SectorCache;
+import hiperium.city.read.function.common.TestContainersBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.function.context.FunctionCatalog;
+import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@FunctionalSpringBootTest(classes = FunctionApplication.class)
+class InvalidateCityCacheFunctionTest extends TestContainersBase {
+
+    private static final String REQUEST_CITY_ID = "d2e7f6a1-3c4b-4e5f-9a8b-7c6d5e4f3a21";
+
+    @Autowired
+    private CityCache cityCache;
+
+    @Autowired
+    private SectorCache sectorCache;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Autowired
+    private FunctionCatalog functionCatalog;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void init() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Invalidate cached city entries")
+    void givenCachedCity_whenInvokeLambdaFunction_thenEvictCachedEntries() throws IOException {
+        // A random city ID is used, so the tests running in parallel don't populate the same entries.
+        String cityId = UUID.randomUUID().toString();
+        this.cityCache.put(cityId, CachedCity.NOT_FOUND);
+        this.sectorCache.put(cityId, RecordStatus.ACTIVE, List.of());
+        assertThat(this.cityCache.get(cityId)).isNotNull();
+        assertThat(this.sectorCache.get(cityId, RecordStatus.ACTIVE)).isNotNull();
+
+        String jsonContent = ResourceStreamUtil.getJsonFromFilePath(
+            "requests/city-cache/valid/invalidate-city-cache-request.json")
+            .replace(REQUEST_CITY_ID, cityId);
+        FunctionRequest functionRequest = DeserializerUtil.fromJson(jsonContent);
+        Message<FunctionRequest> message = MessageBuilder
+            .withPayload(functionRequest)
+            .build();
+
+        // Execute the function and verify the response.
+        StepVerifier.create(this.findFunctionUnderTest().apply(message))
+            .assertNext(response -> {
+                assertThat(response).isNotNull();
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+            })
+            .verifyComplete();
+        assertThat(this.cityCache.get(cityId)).isNull();
+        assertThat(this.sectorCache.get(cityId, RecordStatus.ACTIVE)).isNull();
+    }
+
+    private Function<Message<FunctionRequest>, Mono<Message<byte[]>>> findFunctionUnderTest() {
+        return this.functionCatalog.lookup(Function.class, InvalidateCityCacheFunction.FUNCTION_NAME);
+    }
+}
@@ -21,13 +21,16 @@ import org.springframework.cloud.function.context.config.RoutingFunction;
 import org.springframework.cloud.function.context.test.FunctionalSpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.MimeTypeUtils;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,7 +57,10 @@ class RoutingFunctionTest extends TestContainersBase {
     @DisplayName("Valid requests")
     @ValueSource(strings = {
         "requests/city/valid/find-city-by-id-request.json",
+        "requests/cities/valid/find-cities-by-ids-request.json",
         "requests/city-sectors/valid/find-sectors-by-city-id-request.json",
+        "requests/cities-sectors/valid/find-sectors-by-city-ids-request.json",
+        "requests/city-cache/valid/invalidate-city-cache-request.json",
     })
     void givenValidRequest_whenInvokeLambdaFunction_thenMustExecuteSuccessfully(String jsonFilePath) throws IOException {
         String jsonContent = ResourceStreamUtil.getJsonFromFilePath(jsonFilePath);
@@ -76,7 +82,31 @@ class RoutingFunctionTest extends TestContainersBase {
         // Execute the function and verify the response.
         Object functionResponse = function.apply(message);
 
-        StepVerifier.create((Mono<Message<String>>) functionResponse)
+        StepVerifier.create((Mono<Message<?>>) functionResponse)
+            .assertNext(response -> {
+                assertThat(response).isNotNull();
+                assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Valid request as raw bytes")
+    void givenValidRequestBytes_whenInvokeLambdaFunction_thenMustExecuteSuccessfully() throws IOException {
+        String jsonContent = ResourceStreamUtil.getJsonFromFilePath("requests/city/valid/find-city-by-id-request.json");
+        FunctionRequest functionRequest = DeserializerUtil.fromJson(jsonContent);
+
+        // The raw envelope bytes are converted to the request by the custom message converter.
+        Message<byte[]> message = MessageBuilder
+            .withPayload(jsonContent.getBytes(StandardCharsets.UTF_8))
+            .copyHeaders(functionRequest.headers())
+            .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+            .build();
+
+        // Execute the function and verify the response.
+        Object functionResponse = this.findRoutingFunction().apply(message);
+
+        StepVerifier.create((Mono<Message<?>>) functionResponse)
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.getHeaders().get(ResponseUtil.LAMBDA_STATUS_CODE)).isEqualTo(HttpStatus.OK.value());
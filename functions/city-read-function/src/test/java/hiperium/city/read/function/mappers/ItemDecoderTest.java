@@ -0,0 +1,74 @@
+package hiperium.city.read.function.mappers;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.commons.TimeZoneProvider;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
+import hiperium.city.read.function.repositories.SectorRepository;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class)
+public class ItemDecoderTest extends TestContainersBase {
+
+    @Autowired
+    private ItemDecoder itemDecoder;
+
+    @Autowired
+    private FunctionMapper functionMapper;
+
+    @Autowired
+    private TimeZoneProvider timeZoneProvider;
+
+    @Autowired
+    private SectorRepository sectorRepository;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void setup() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Decode city and sectors - Same output as MapStruct")
+    void givenCityItems_whenDecode_thenReturnSameEntitiesAsMapStruct() {
+        List<Map<String, AttributeValue>> items = this.sectorRepository
+            .findCityWithSectors(FunctionTestUtils.ACTIVE_CITY_ID, FunctionTestUtils.REQUEST_ID)
+            .collectList()
+            .block();
+        assertThat(items).hasSizeGreaterThan(1);
+
+        CityEntity cityEntity = this.itemDecoder.decodeCity(items.getFirst());
+        assertThat(cityEntity).isEqualTo(this.functionMapper.mapCityDataResponse(items.getFirst(), this.timeZoneProvider));
+        assertThat(cityEntity.entityCommon().status()).isEqualTo(RecordStatus.ACTIVE);
+
+        items.subList(1, items.size()).forEach(item -> {
+            SectorEntity sectorEntity = this.itemDecoder.decodeSector(item);
+            assertThat(sectorEntity).isEqualTo(this.functionMapper.mapSectorsDataResponse(item, this.timeZoneProvider));
+            assertThat(sectorEntity.latitude()).isNotNull();
+            assertThat(sectorEntity.longitude()).isNotNull();
+        });
+    }
+}
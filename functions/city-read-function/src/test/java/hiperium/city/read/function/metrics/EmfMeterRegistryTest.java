@@ -0,0 +1,91 @@
+package hiperium.city.read.function.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmfMeterRegistryTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("Publish timers as EMF lines")
+    void givenRecordedTimer_whenPublish_thenWriteEmfLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream printStream = new PrintStream(output, true, StandardCharsets.UTF_8);
+        MockClock clock = new MockClock();
+        EmfMeterRegistry meterRegistry = new EmfMeterRegistry("Hiperium/City", printStream::println, clock);
+
+        Timer timer = Timer.builder("city.function.stage")
+            .tag("function", "findCityById")
+            .tag("stage", "execute")
+            .register(meterRegistry);
+        timer.record(20, TimeUnit.MILLISECONDS);
+        timer.record(40, TimeUnit.MILLISECONDS);
+
+        // The published values are the ones recorded since the previous flush.
+        meterRegistry.flush();
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertThat(lines).hasSize(1);
+        JsonNode line = OBJECT_MAPPER.readTree(lines[0]);
+        JsonNode directive = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertThat(directive.get("Namespace").asText()).isEqualTo("Hiperium/City");
+        assertThat(directive.get("Dimensions").get(0)).extracting(JsonNode::asText).containsExactly("function", "stage");
+        assertThat(directive.get("Metrics")).hasSize(3);
+        assertThat(line.get("function").asText()).isEqualTo("findCityById");
+        assertThat(line.get("stage").asText()).isEqualTo("execute");
+        assertThat(line.get("city.function.stage.count").asDouble()).isEqualTo(2);
+        assertThat(line.get("city.function.stage.sum").asDouble()).isEqualTo(60);
+        assertThat(line.get("city.function.stage.max").asDouble()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Publish only the values recorded since the previous flush")
+    void givenPreviousFlush_whenFlush_thenWriteNewValues() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream printStream = new PrintStream(output, true, StandardCharsets.UTF_8);
+        EmfMeterRegistry meterRegistry = new EmfMeterRegistry("Hiperium/City", printStream::println, new MockClock());
+
+        Timer timer = Timer.builder("city.function.stage").register(meterRegistry);
+        timer.record(20, TimeUnit.MILLISECONDS);
+        meterRegistry.flush();
+        timer.record(50, TimeUnit.MILLISECONDS);
+        timer.record(70, TimeUnit.MILLISECONDS);
+        meterRegistry.flush();
+        // No values are recorded after the second flush, so the third one writes nothing.
+        meterRegistry.flush();
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertThat(lines).hasSize(2);
+        JsonNode line = OBJECT_MAPPER.readTree(lines[1]);
+        assertThat(line.get("city.function.stage.count").asDouble()).isEqualTo(2);
+        assertThat(line.get("city.function.stage.sum").asDouble()).isEqualTo(120);
+        assertThat(line.get("city.function.stage.max").asDouble()).isEqualTo(70);
+    }
+
+    @Test
+    @DisplayName("Skip meters without values")
+    void givenUnusedTimer_whenPublish_thenWriteNothing() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream printStream = new PrintStream(output, true, StandardCharsets.UTF_8);
+        MockClock clock = new MockClock();
+        EmfMeterRegistry meterRegistry = new EmfMeterRegistry("Hiperium/City", printStream::println, clock);
+        Timer.builder("city.dynamodb.request").register(meterRegistry);
+
+        meterRegistry.flush();
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEmpty();
+    }
+}
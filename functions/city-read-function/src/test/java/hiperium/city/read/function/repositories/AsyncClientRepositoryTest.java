@@ -0,0 +1,102 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class, properties = {
+    "city.dynamodb.client-mode=ASYNC",
+    "city.startup.priming.enabled=true"
+})
+public class AsyncClientRepositoryTest extends TestContainersBase {
+
+    @Nested
+    @DisplayName("Default HTTP client")
+    @TestPropertySource(properties = "city.dynamodb.http-client=DEFAULT")
+    class DefaultHttpClientTest extends HttpClientTests {
+    }
+
+    @Nested
+    @DisplayName("CRT HTTP client")
+    @TestPropertySource(properties = "city.dynamodb.http-client=CRT")
+    class CrtHttpClientTest extends HttpClientTests {
+    }
+
+    // The same tests run with each HTTP client, as each nested class creates its own application context.
+    abstract class HttpClientTests {
+
+        @Autowired
+        private CityRepository cityRepository;
+
+        @Autowired
+        private SectorRepository sectorRepository;
+
+        @Autowired
+        private DynamoDbClient dynamoDbClient;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Value("${city.table}")
+        private String tableName;
+
+        @BeforeEach
+        void setup() {
+            DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+        }
+
+        @Test
+        @DisplayName("Startup priming")
+        void givenPrimingEnabled_whenContextStarts_thenTableIsDescribed() {
+            // The request meters are only registered when a request succeeds.
+            assertThat(this.meterRegistry.find("city.dynamodb.request").tag("operation", "DescribeTable").timer())
+                .isNotNull();
+            assertThat(this.meterRegistry.find("city.dynamodb.errors").tag("operation", "DescribeTable").counter())
+                .isNull();
+        }
+
+        @Test
+        @DisplayName("Find City by ID")
+        void givenCityId_whenFindCityWithAsyncClient_mustReturnCityData() {
+            StepVerifier.create(this.cityRepository.findByCityId(FunctionTestUtils.ACTIVE_CITY_ID,
+                    FunctionTestUtils.REQUEST_ID))
+                .assertNext(response -> {
+                    assertThat(response).isNotNull();
+                    assertThat(response.get("pk").s())
+                        .isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID);
+                })
+                .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Find active sectors by city ID")
+        void givenCityId_whenFindSectorsWithAsyncClient_thenReturnActiveSectors() {
+            StepVerifier.create(this.sectorRepository.findSectorsByCityAndStatus(FunctionTestUtils.ACTIVE_CITY_ID,
+                    RecordStatus.ACTIVE, FunctionTestUtils.REQUEST_ID).collectList())
+                .assertNext(items -> {
+                    assertThat(items).isNotEmpty();
+                    items.forEach(item ->
+                        assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.name()));
+                })
+                .verifyComplete();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package hiperium.city.read.function.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallLimiterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("Grant the released permits in arrival order")
+    void givenNoPermitAvailable_whenRelease_thenGrantFirstWaiter() {
+        CallLimiter callLimiter = new CallLimiter(1);
+        List<String> granted = new ArrayList<>();
+        StepVerifier.create(callLimiter.acquire()).expectNext(true).expectComplete().verify(TIMEOUT);
+
+        Disposable first = callLimiter.acquire().subscribe(permit -> granted.add("first"));
+        Disposable second = callLimiter.acquire().subscribe(permit -> granted.add("second"));
+        assertThat(granted).isEmpty();
+
+        callLimiter.release();
+        assertThat(granted).containsExactly("first");
+        callLimiter.release();
+        assertThat(granted).containsExactly("first", "second");
+        assertThat(callLimiter.availablePermits()).isZero();
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    @DisplayName("Skip the cancelled waiters")
+    void givenCancelledWaiter_whenRelease_thenGrantNextWaiter() {
+        CallLimiter callLimiter = new CallLimiter(1);
+        List<String> granted = new ArrayList<>();
+        callLimiter.acquire().subscribe();
+
+        Disposable cancelled = callLimiter.acquire().subscribe(permit -> granted.add("cancelled"));
+        callLimiter.acquire().subscribe(permit -> granted.add("waiting"));
+        cancelled.dispose();
+
+        callLimiter.release();
+        assertThat(granted).containsExactly("waiting");
+        callLimiter.release();
+        assertThat(callLimiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Keep the permits of the timed out waiters")
+    void givenTimedOutWaiter_whenRelease_thenPermitIsAvailable() {
+        CallLimiter callLimiter = new CallLimiter(1);
+        callLimiter.acquire().subscribe();
+
+        StepVerifier.create(callLimiter.acquire().timeout(Duration.ofMillis(50)))
+            .expectError()
+            .verify(TIMEOUT);
+
+        callLimiter.release();
+        assertThat(callLimiter.availablePermits()).isEqualTo(1);
+    }
+}
@@ -15,9 +15,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -43,13 +42,10 @@ public class CityRepositoryTest extends TestContainersBase {
     @DisplayName("Find City by ID - Active")
     void givenCityId_whenFindActiveCity_mustReturnCityData() {
         StepVerifier.create(this.cityRepository.findByCityId(FunctionTestUtils.ACTIVE_CITY_ID, FunctionTestUtils.REQUEST_ID))
-            .assertNext(response -> {
-                assertThat(response).isNotNull();
-                assertThat(response.items()).isNotEmpty();
-                assertThat(response.items().size()).isEqualTo(1);
+            .assertNext(item -> {
+                assertThat(item).isNotNull();
 
                 // Verify the returned item has the expected attributes
-                Map<String, AttributeValue> item = response.items().getFirst();
                 assertThat(item.get("pk").s()).isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID);
                 assertThat(item.get("sk").s()).isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID);
                 assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.getValue());
@@ -61,17 +57,35 @@ public class CityRepositoryTest extends TestContainersBase {
     @DisplayName("Find City by ID - Inactive")
     void givenCityId_whenFindInactiveCity_mustReturnCityData() {
         StepVerifier.create(this.cityRepository.findByCityId(FunctionTestUtils.INACTIVE_CITY_ID, FunctionTestUtils.REQUEST_ID))
-            .assertNext(response -> {
-                assertThat(response).isNotNull();
-                assertThat(response.items()).isNotEmpty();
-                assertThat(response.items().size()).isEqualTo(1);
+            .assertNext(item -> {
+                assertThat(item).isNotNull();
 
                 // Verify the returned item has the expected attributes
-                Map<String, AttributeValue> item = response.items().getFirst();
                 assertThat(item.get("pk").s()).isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.INACTIVE_CITY_ID);
                 assertThat(item.get("sk").s()).isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.INACTIVE_CITY_ID);
                 assertThat(item.get("status").s()).isEqualTo(RecordStatus.INACTIVE.getValue());
+
+                // Attributes that are not mapped to the entity are not returned.
+                assertThat(item).doesNotContainKey("language");
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find City by ID - Consistent read")
+    void givenCityId_whenFindCityWithConsistentRead_mustReturnCityData() {
+        StepVerifier.create(this.cityRepository.findByCityId(FunctionTestUtils.ACTIVE_CITY_ID, true, FunctionTestUtils.REQUEST_ID))
+            .assertNext(item -> {
+                assertThat(item.get("pk").s()).isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID);
+                assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.getValue());
             })
             .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Find City by ID - Not found")
+    void givenNonExistingCityId_whenFindCity_mustCompleteEmpty() {
+        StepVerifier.create(this.cityRepository.findByCityId(UUID.randomUUID().toString(), FunctionTestUtils.REQUEST_ID))
+            .verifyComplete();
+    }
 }
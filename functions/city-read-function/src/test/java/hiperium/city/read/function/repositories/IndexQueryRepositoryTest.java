@@ -0,0 +1,89 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.utils.CursorUtils;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class, properties = "city.sectors.query-strategy=INDEX")
+public class IndexQueryRepositoryTest extends TestContainersBase {
+
+    @Autowired
+    private SectorRepository sectorRepository;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void setup() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Find active sectors by city ID - Active sectors index")
+    void givenCityId_whenFindSectorsFromIndex_thenReturnOnlyActiveSectors() {
+        List<Map<String, AttributeValue>> items = this.sectorRepository.findSectorsByCityAndStatus(
+                FunctionTestUtils.ACTIVE_CITY_ID, RecordStatus.ACTIVE, null, 1, ItemProjection.SECTOR,
+                FunctionTestUtils.REQUEST_ID)
+            .collectList()
+            .block();
+
+        assertThat(items).isNotNull().hasSizeGreaterThan(1);
+        items.forEach(item -> {
+            assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.getValue());
+            assertThat(item).doesNotContainKeys("gsi1pk", "gsi1sk");
+        });
+
+        // The inactive sectors are still found by filtering the partition of the city.
+        List<Map<String, AttributeValue>> inactiveItems = this.sectorRepository.findSectorsByCityAndStatus(
+                FunctionTestUtils.ACTIVE_CITY_ID, RecordStatus.INACTIVE, FunctionTestUtils.REQUEST_ID)
+            .collectList()
+            .block();
+        assertThat(inactiveItems).isNotEmpty();
+        inactiveItems.forEach(item ->
+            assertThat(item.get("status").s()).isEqualTo(RecordStatus.INACTIVE.getValue()));
+    }
+
+    @Test
+    @DisplayName("Find active sectors by city ID - Active sectors index from cursor")
+    void givenCursor_whenFindSectorsFromIndex_thenReturnFollowingSectors() {
+        List<Map<String, AttributeValue>> items = this.sectorRepository.findSectorsByCityAndStatus(
+                FunctionTestUtils.ACTIVE_CITY_ID, RecordStatus.ACTIVE, FunctionTestUtils.REQUEST_ID)
+            .collectList()
+            .block();
+        assertThat(items).isNotNull().hasSizeGreaterThan(1);
+
+        String cursor = CursorUtils.encode(items.getFirst());
+        List<Map<String, AttributeValue>> followingItems = this.sectorRepository.findSectorsByCityAndStatus(
+                FunctionTestUtils.ACTIVE_CITY_ID,
+                RecordStatus.ACTIVE,
+                CursorUtils.decode(cursor, FunctionTestUtils.ACTIVE_CITY_ID, FunctionTestUtils.REQUEST_ID),
+                null,
+                ItemProjection.SECTOR,
+                FunctionTestUtils.REQUEST_ID)
+            .collectList()
+            .block();
+
+        assertThat(followingItems).containsExactlyElementsOf(items.subList(1, items.size()));
+    }
+}
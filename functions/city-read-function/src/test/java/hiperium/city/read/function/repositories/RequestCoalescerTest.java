@@ -0,0 +1,127 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.functions.common.enums.ErrorCode;
+import hiperium.city.functions.common.exceptions.CityException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private static final String CITY_ID = "a0ecb466-7ef5-47bf-a1ca-12f9f9328528";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("Share the request in flight")
+    void givenRequestInFlight_whenSameCityIsRequested_thenShareRequest() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(true);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+        Mono<String> request = response.asMono().doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+
+        Mono<String> first = requestCoalescer.coalesce("findByCityId", CITY_ID, () -> request).cache();
+        Mono<String> second = requestCoalescer.coalesce("findByCityId", CITY_ID, () -> request).cache();
+        first.subscribe();
+        second.subscribe();
+        assertThat(requestCoalescer.inFlightCount()).isEqualTo(1);
+
+        response.tryEmitValue("city");
+        StepVerifier.create(first).expectNext("city").expectComplete().verify(TIMEOUT);
+        StepVerifier.create(second).expectNext("city").expectComplete().verify(TIMEOUT);
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(requestCoalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Start a new request after completion")
+    void givenCompletedRequest_whenSameCityIsRequested_thenStartNewRequest() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(true);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> request = Mono.fromSupplier(() -> "city-" + subscriptions.incrementAndGet());
+
+        StepVerifier.create(requestCoalescer.coalesce("findByCityId", CITY_ID, () -> request))
+            .expectNext("city-1")
+            .expectComplete()
+            .verify(TIMEOUT);
+        StepVerifier.create(requestCoalescer.coalesce("findByCityId", CITY_ID, () -> request))
+            .expectNext("city-2")
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Keep the request ID of each caller on errors")
+    void givenFailedRequest_whenCallersMapError_thenEachCallerKeepsItsRequestId() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(true);
+        Sinks.One<String> response = Sinks.one();
+
+        Mono<String> first = requestCoalescer.coalesce("findByCityId", CITY_ID, response::asMono)
+            .onErrorMap(exception -> new CityException(exception.getMessage(), ErrorCode.INTERNAL_001, "request-1", exception))
+            .cache();
+        Mono<String> second = requestCoalescer.coalesce("findByCityId", CITY_ID, response::asMono)
+            .onErrorMap(exception -> new CityException(exception.getMessage(), ErrorCode.INTERNAL_001, "request-2", exception))
+            .cache();
+        first.subscribe(value -> { }, exception -> { });
+        second.subscribe(value -> { }, exception -> { });
+
+        IllegalStateException failure = new IllegalStateException("DynamoDB is not available.");
+        response.tryEmitError(failure);
+        Throwable firstError = errorOf(first);
+        Throwable secondError = errorOf(second);
+        assertThat(firstError).isInstanceOf(CityException.class).hasCause(failure);
+        assertThat(secondError).isInstanceOf(CityException.class).hasCause(failure);
+        // Each caller receives its own exception, created with its own request ID.
+        assertThat(firstError).isNotSameAs(secondError);
+        assertThat(requestCoalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Replay the items to late callers")
+    void givenManyItemsRequest_whenCallerSubscribesLate_thenReceiveAllItems() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(true);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.Many<String> items = Sinks.many().replay().all();
+        Flux<String> request = items.asFlux().doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+
+        Flux<String> first = requestCoalescer.coalesceMany("findCityWithSectors", CITY_ID, () -> request).cache();
+        first.subscribe();
+        items.tryEmitNext("city");
+        Flux<String> second = requestCoalescer.coalesceMany("findCityWithSectors", CITY_ID, () -> request).cache();
+        second.subscribe();
+        items.tryEmitNext("sector");
+        items.tryEmitComplete();
+
+        StepVerifier.create(first.collectList()).expectNext(List.of("city", "sector")).expectComplete().verify(TIMEOUT);
+        StepVerifier.create(second.collectList()).expectNext(List.of("city", "sector")).expectComplete().verify(TIMEOUT);
+        assertThat(subscriptions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Disabled coalescing")
+    void givenDisabledCoalescing_whenSameCityIsRequested_thenSendEachRequest() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(false);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> request = Mono.fromSupplier(() -> "city-" + subscriptions.incrementAndGet());
+
+        Mono<String> first = requestCoalescer.coalesce("findByCityId", CITY_ID, () -> request);
+        Mono<String> second = requestCoalescer.coalesce("findByCityId", CITY_ID, () -> request);
+        StepVerifier.create(Mono.zip(first, second))
+            .assertNext(results -> assertThat(results.getT1()).isNotEqualTo(results.getT2()))
+            .expectComplete()
+            .verify(TIMEOUT);
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    private static Throwable errorOf(final Mono<String> response) {
+        return response.then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block(TIMEOUT);
+    }
+}
@@ -4,6 +4,8 @@ import hiperium.city.functions.common.enums.RecordStatus;
 import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
 import hiperium.city.read.function.FunctionApplication;
 import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.entities.SectorEntity;
 import hiperium.city.read.function.utils.FunctionTestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -39,14 +41,13 @@ public class SectorRepositoryTest extends TestContainersBase {
     @DisplayName("Find active sectors by city ID")
     void givenCityId_whenFindSectorsByCityId_thenReturnAllSectors() {
         StepVerifier.create(this.sectorRepository.findSectorsByCityAndStatus(FunctionTestUtils.ACTIVE_CITY_ID,
-                RecordStatus.ACTIVE, FunctionTestUtils.REQUEST_ID))
-            .assertNext(response -> {
-                assertThat(response).isNotNull();
-                assertThat(response.items()).isNotEmpty();
-                assertThat(response.items().size()).isGreaterThan(1);
+                RecordStatus.ACTIVE, FunctionTestUtils.REQUEST_ID).collectList())
+            .assertNext(items -> {
+                assertThat(items).isNotEmpty();
+                assertThat(items.size()).isGreaterThan(1);
 
                 // Verify all items belong to the same city
-                response.items().forEach(item -> {
+                items.forEach(item -> {
                     assertThat(item).containsKey("status");
                     assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.name());
                 });
@@ -61,9 +62,37 @@ public class SectorRepositoryTest extends TestContainersBase {
 
         StepVerifier.create(this.sectorRepository.findSectorsByCityAndStatus(nonExistentCityId,
                 RecordStatus.ACTIVE, FunctionTestUtils.REQUEST_ID))
-            .assertNext(response -> {
-                assertThat(response).isNotNull();
-                assertThat(response.items()).isEmpty();
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find active sectors by city ID - One item per page")
+    void givenPageLimit_whenFindSectorsByCityId_thenFollowAllPages() {
+        StepVerifier.create(this.sectorRepository.findSectorsByCityAndStatus(FunctionTestUtils.ACTIVE_CITY_ID,
+                RecordStatus.ACTIVE, null, 1, ItemProjection.SECTOR_SUMMARY, FunctionTestUtils.REQUEST_ID).collectList())
+            .assertNext(items -> {
+                assertThat(items.size()).isGreaterThan(1);
+                items.forEach(item -> {
+                    assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.name());
+                    assertThat(item.keySet())
+                        .containsExactlyInAnyOrder("pk", "sk", "name", "status", "latitude", "longitude");
+                });
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find city and sectors by city ID")
+    void givenCityId_whenFindCityWithSectors_thenReturnCityAndSectorItems() {
+        StepVerifier.create(this.sectorRepository.findCityWithSectors(FunctionTestUtils.ACTIVE_CITY_ID,
+                FunctionTestUtils.REQUEST_ID).collectList())
+            .assertNext(items -> {
+                assertThat(items.size()).isGreaterThan(1);
+
+                // The city item must be returned first, along with its sectors.
+                assertThat(items.getFirst().get("sk").s()).startsWith(CityEntity.CITY_PK_PREFIX);
+                assertThat(items)
+                    .anyMatch(item -> item.get("sk").s().startsWith(SectorEntity.SECTOR_SK_PREFIX));
             })
             .verifyComplete();
     }
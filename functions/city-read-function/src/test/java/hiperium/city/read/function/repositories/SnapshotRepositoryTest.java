@@ -0,0 +1,180 @@
+package hiperium.city.read.function.repositories;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.snapshots.SnapshotBuilder;
+import hiperium.city.read.function.snapshots.SnapshotStore;
+import hiperium.city.read.function.snapshots.SnapshotWriter;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class, properties = "city.read-backend=SNAPSHOT")
+public class SnapshotRepositoryTest extends TestContainersBase {
+
+    // Cities that only exist in the snapshot, so they are only found when the snapshot serves them.
+    private static final String SNAPSHOT_CITY_ID = "c2a3e688-9f7a-4c1d-8a0e-5b6f7d8e9f01";
+    private static final String INVALIDATED_CITY_ID = "d3b4f799-0a8b-4d2e-9b1f-6c7a8e9f0a12";
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private SectorRepository sectorRepository;
+
+    @Autowired
+    private SnapshotStore snapshotStore;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @DynamicPropertySource
+    static void snapshotPropertySource(DynamicPropertyRegistry registry) throws IOException, URISyntaxException {
+        Path tableData = Path.of(Objects.requireNonNull(SnapshotRepositoryTest.class.getClassLoader()
+            .getResource("localstack/table-data.json")).toURI());
+        List<Map<String, AttributeValue>> tableItems = SnapshotBuilder.readItems(tableData);
+
+        // The inactive city is left out of the snapshot, so it is read from DynamoDB.
+        List<Map<String, AttributeValue>> snapshotItems = new ArrayList<>();
+        for (Map<String, AttributeValue> item : tableItems) {
+            if (hasCityId(item, FunctionTestUtils.ACTIVE_CITY_ID)) {
+                snapshotItems.add(item);
+                snapshotItems.add(copyToCity(item, SNAPSHOT_CITY_ID));
+                snapshotItems.add(copyToCity(item, INVALIDATED_CITY_ID));
+            }
+        }
+        Path snapshotPath = Files.createTempDirectory("city-snapshot").resolve("city.snapshot");
+        SnapshotWriter.write(snapshotPath, 1L, Instant.now(), snapshotItems);
+        registry.add("city.snapshot.path", snapshotPath::toString);
+    }
+
+    @BeforeEach
+    void setup() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Find City by ID - Snapshot")
+    void givenCityInSnapshot_whenFindCity_thenReturnProjectedSnapshotItem() {
+        assertThat(this.snapshotStore.isLoaded()).isTrue();
+        StepVerifier.create(this.cityRepository.findByCityId(SNAPSHOT_CITY_ID, FunctionTestUtils.REQUEST_ID))
+            .assertNext(item -> {
+                assertThat(item.get("sk").s()).isEqualTo(CityEntity.CITY_PK_PREFIX + SNAPSHOT_CITY_ID);
+                assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.getValue());
+                assertThat(ItemProjection.CITY.attributes()).containsAll(item.keySet());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find City by ID - Fallback to DynamoDB")
+    void givenCityOutsideSnapshot_whenFindCity_thenReturnDynamoDbItem() {
+        StepVerifier.create(this.cityRepository.findByCityId(FunctionTestUtils.INACTIVE_CITY_ID, FunctionTestUtils.REQUEST_ID))
+            .assertNext(item -> assertThat(item.get("sk").s())
+                .isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.INACTIVE_CITY_ID))
+            .verifyComplete();
+
+        // Consistent reads always go to DynamoDB, where the city of the snapshot doesn't exist.
+        StepVerifier.create(this.cityRepository.findByCityId(SNAPSHOT_CITY_ID, true, FunctionTestUtils.REQUEST_ID))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find Cities by IDs - Snapshot and DynamoDB")
+    void givenCitiesInsideAndOutsideSnapshot_whenFindCities_thenReturnAllItems() {
+        List<String> cityIds = List.of(SNAPSHOT_CITY_ID, FunctionTestUtils.INACTIVE_CITY_ID, FunctionTestUtils.ACTIVE_CITY_ID);
+        StepVerifier.create(this.cityRepository.findByCityIds(cityIds, FunctionTestUtils.REQUEST_ID)
+                .map(item -> item.get("sk").s().substring(CityEntity.CITY_PK_PREFIX.length()))
+                .collectList())
+            .assertNext(foundIds -> assertThat(foundIds).containsExactlyInAnyOrderElementsOf(cityIds))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find active sectors - Snapshot")
+    void givenCityInSnapshot_whenFindSectors_thenReturnActiveSectorsAfterStartKey() {
+        StepVerifier.create(this.sectorRepository.findSectorsByCityAndStatus(SNAPSHOT_CITY_ID,
+                RecordStatus.ACTIVE, FunctionTestUtils.REQUEST_ID).collectList())
+            .assertNext(items -> {
+                assertThat(items).hasSize(8);
+                items.forEach(item -> assertThat(item.get("status").s()).isEqualTo(RecordStatus.ACTIVE.getValue()));
+            })
+            .verifyComplete();
+
+        Map<String, AttributeValue> startKey = Map.of(
+            "pk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + SNAPSHOT_CITY_ID),
+            "sk", AttributeValue.fromS("SECTOR#004"));
+        StepVerifier.create(this.sectorRepository.findSectorsByCityAndStatus(SNAPSHOT_CITY_ID, RecordStatus.ACTIVE,
+                startKey, 2, ItemProjection.SECTOR_SUMMARY, FunctionTestUtils.REQUEST_ID).take(2)
+                .map(item -> item.get("sk").s())
+                .collectList())
+            .assertNext(sortKeys -> assertThat(sortKeys).containsExactly("SECTOR#005", "SECTOR#006"))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find sectors by geohash cells - Snapshot")
+    void givenCityInSnapshot_whenFindSectorsByGeohash_thenReturnSectorsInsideCells() {
+        StepVerifier.create(this.sectorRepository.findSectorsByGeohashCells(SNAPSHOT_CITY_ID, List.of("6px5tk"),
+                FunctionTestUtils.REQUEST_ID).collectList())
+            .assertNext(items -> {
+                assertThat(items).extracting(item -> item.get("sk").s())
+                    .containsExactlyInAnyOrder("SECTOR#004", "SECTOR#005", "SECTOR#006", "SECTOR#007");
+                items.forEach(item -> assertThat(item).doesNotContainKey("gsi2sk"));
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Invalidated city - Fallback to DynamoDB")
+    void givenInvalidatedCity_whenFindCity_thenReadFromDynamoDb() {
+        this.snapshotStore.invalidate(INVALIDATED_CITY_ID);
+
+        StepVerifier.create(this.cityRepository.findByCityId(INVALIDATED_CITY_ID, FunctionTestUtils.REQUEST_ID))
+            .verifyComplete();
+    }
+
+    private static boolean hasCityId(final Map<String, AttributeValue> item, final String cityId) {
+        return item.get("pk").s().equals(CityEntity.CITY_PK_PREFIX + cityId);
+    }
+
+    private static Map<String, AttributeValue> copyToCity(final Map<String, AttributeValue> item, final String cityId) {
+        Map<String, AttributeValue> copy = new HashMap<>(item);
+        AttributeValue cityKey = AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + cityId);
+        copy.put("pk", cityKey);
+        if (item.get("sk").s().startsWith(CityEntity.CITY_PK_PREFIX)) {
+            copy.put("sk", cityKey);
+        }
+        return copy;
+    }
+}
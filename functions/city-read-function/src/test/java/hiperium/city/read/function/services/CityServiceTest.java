@@ -1,9 +1,12 @@
 package hiperium.city.read.function.services;
 
 import hiperium.city.functions.common.exceptions.InactiveCityException;
+import hiperium.city.functions.common.exceptions.ResourceNotFoundException;
 import hiperium.city.functions.common.requests.CityIdRequest;
 import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
 import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.caches.CachedCity;
+import hiperium.city.read.function.caches.CityCache;
 import hiperium.city.read.function.common.TestContainersBase;
 import hiperium.city.read.function.requests.CityDataRequest;
 import hiperium.city.read.function.utils.FunctionTestUtils;
@@ -17,6 +20,8 @@ import org.springframework.test.context.ActiveProfiles;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ActiveProfiles("test")
@@ -26,6 +31,9 @@ public class CityServiceTest extends TestContainersBase {
     @Autowired
     private CityService cityService;
 
+    @Autowired
+    private CityCache cityCache;
+
     @Autowired
     private DynamoDbClient dynamoDbClient;
 
@@ -62,7 +70,46 @@ public class CityServiceTest extends TestContainersBase {
         CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest, FunctionTestUtils.REQUEST_ID);
 
         StepVerifier.create(this.cityService.findActiveCityById(cityDataRequest))
-            .expectErrorMatches(throwable -> throwable instanceof InactiveCityException)
+            .expectErrorMatches(throwable -> throwable instanceof InactiveCityException
+                && throwable.getStackTrace().length == 0)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("Find City by ID - Cached")
+    void givenCityId_whenFindActiveCityTwice_mustReturnCachedCityData() {
+        CityIdRequest cityIdRequest = new CityIdRequest(FunctionTestUtils.ACTIVE_CITY_ID);
+        CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest, FunctionTestUtils.REQUEST_ID);
+
+        StepVerifier.create(this.cityService.findActiveCityById(cityDataRequest))
+            .expectNextCount(1)
+            .verifyComplete();
+        CachedCity cachedCity = this.cityCache.get(FunctionTestUtils.ACTIVE_CITY_ID);
+        assertThat(cachedCity).isNotNull();
+        assertThat(cachedCity.isActive()).isTrue();
+
+        long hitCount = this.cityCache.stats().hitCount();
+        StepVerifier.create(this.cityService.findActiveCityById(cityDataRequest))
+            .assertNext(response -> assertThat(response).isEqualTo(cachedCity.cityEntity()))
+            .verifyComplete();
+        assertThat(this.cityCache.stats().hitCount()).isGreaterThan(hitCount);
+    }
+
+    @Test
+    @DisplayName("Find City by ID - Not found outcome is cached")
+    void givenNonExistingCityId_whenFindCity_mustCacheNotFoundOutcome() {
+        String cityId = UUID.randomUUID().toString();
+        CityIdRequest cityIdRequest = new CityIdRequest(cityId);
+        CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest, FunctionTestUtils.REQUEST_ID);
+
+        StepVerifier.create(this.cityService.findActiveCityById(cityDataRequest))
+            .expectErrorMatches(throwable -> throwable instanceof ResourceNotFoundException
+                && throwable.getStackTrace().length == 0)
+            .verify();
+        assertThat(this.cityCache.get(cityId)).isEqualTo(CachedCity.NOT_FOUND);
+
+        StepVerifier.create(this.cityService.findActiveCityById(cityDataRequest))
+            .expectErrorMatches(throwable -> throwable instanceof ResourceNotFoundException)
             .verify();
     }
 }
@@ -0,0 +1,68 @@
+package hiperium.city.read.function.services;
+
+import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.responses.CityLookupStatus;
+import hiperium.city.read.function.responses.CitySectorsResult;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class, properties = {
+    "city.sectors.batch.concurrency=1",
+    "city.sectors.batch.deadline=PT0S"
+})
+public class SectorServiceDeadlineTest extends TestContainersBase {
+
+    @Autowired
+    private SectorService sectorService;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    @Value("${city.table}")
+    private String tableName;
+
+    @BeforeEach
+    void setup() {
+        DynamoDbTableUtil.waitForDynamoDbToBeReady(this.dynamoDbClient, this.tableName, 12, 3);
+    }
+
+    @Test
+    @DisplayName("Find sectors by City IDs - Deadline elapsed")
+    void givenElapsedDeadline_whenFindSectors_mustReturnTimeoutResults() {
+        // Random city IDs are not cached, so every lookup queries the table and can't complete before the deadline.
+        List<String> cityIds = Stream.generate(() -> UUID.randomUUID().toString()).limit(5).toList();
+
+        StepVerifier.create(this.sectorService.findActiveSectorsByCityIds(cityIds, FunctionTestUtils.REQUEST_ID)
+                .collectList())
+            .assertNext(results -> {
+                assertThat(results).extracting(CitySectorsResult::cityId).containsExactlyInAnyOrderElementsOf(cityIds);
+                assertThat(results).extracting(CitySectorsResult::status).contains(CityLookupStatus.TIMEOUT);
+                results.stream()
+                    .filter(result -> CityLookupStatus.TIMEOUT.equals(result.status()))
+                    .forEach(result -> {
+                        assertThat(result.sectors()).isNull();
+                        assertThat(result.message()).isNotBlank();
+                    });
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+    }
+}
@@ -3,11 +3,20 @@ package hiperium.city.read.function.services;
 import hiperium.city.functions.common.enums.RecordStatus;
 import hiperium.city.functions.common.exceptions.InactiveCityException;
 import hiperium.city.functions.common.exceptions.ResourceNotFoundException;
+import hiperium.city.functions.common.exceptions.ValidationException;
 import hiperium.city.functions.common.requests.CityIdRequest;
 import hiperium.city.functions.tests.utils.DynamoDbTableUtil;
 import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.caches.CityCache;
+import hiperium.city.read.function.caches.SectorCache;
 import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.entities.SectorEntity;
 import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.QueryOptions;
+import hiperium.city.read.function.responses.CityLookupStatus;
+import hiperium.city.read.function.responses.CitySectorsResult;
+import hiperium.city.read.function.responses.SectorSummary;
+import hiperium.city.read.function.responses.SectorsPageResponse;
 import hiperium.city.read.function.utils.FunctionTestUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +29,12 @@ import org.springframework.test.context.ActiveProfiles;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 @ActiveProfiles("test")
 @SpringBootTest(classes = FunctionApplication.class)
 public class SectorServiceTest extends TestContainersBase {
@@ -27,6 +42,12 @@ public class SectorServiceTest extends TestContainersBase {
     @Autowired
     private SectorService sectorService;
 
+    @Autowired
+    private CityCache cityCache;
+
+    @Autowired
+    private SectorCache sectorCache;
+
     @Autowired
     private DynamoDbClient dynamoDbClient;
 
@@ -68,6 +89,20 @@ public class SectorServiceTest extends TestContainersBase {
             .verify();
     }
 
+    @Test
+    @DisplayName("Find sectors by City ID - Cached sectors of an uncached city")
+    void givenCachedSectorsWithoutCachedCity_whenFindSectors_mustCheckCityStatus() {
+        CityIdRequest cityIdRequest = new CityIdRequest(FunctionTestUtils.INACTIVE_CITY_ID);
+        CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest, FunctionTestUtils.REQUEST_ID);
+        // The sectors were cached while the city was active, and the entry of the city expired since then.
+        this.sectorCache.put(FunctionTestUtils.INACTIVE_CITY_ID, RecordStatus.ACTIVE, List.of());
+        this.cityCache.invalidate(FunctionTestUtils.INACTIVE_CITY_ID);
+
+        StepVerifier.create(this.sectorService.findActiveSectorsByCityId(cityDataRequest))
+            .expectErrorMatches(throwable -> throwable instanceof InactiveCityException)
+            .verify();
+    }
+
     @Test
     @DisplayName("Find sectors by City ID - Non-existing")
     void givenNonExistingCityId_whenFindSectors_mustReturnError() {
@@ -78,4 +113,86 @@ public class SectorServiceTest extends TestContainersBase {
             .expectErrorMatches(throwable -> throwable instanceof ResourceNotFoundException)
             .verify();
     }
+
+    @Test
+    @DisplayName("Find sectors page by City ID - Follow cursors")
+    void givenPageSize_whenFindSectorsPages_mustReturnAllActiveSectors() {
+        CityIdRequest cityIdRequest = new CityIdRequest(FunctionTestUtils.ACTIVE_CITY_ID);
+        CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest, FunctionTestUtils.REQUEST_ID);
+        List<SectorEntity> allSectors = this.sectorService.findActiveSectorsByCityId(cityDataRequest).block();
+        Assertions.assertThat(allSectors).isNotEmpty();
+
+        List<SectorEntity> pagedSectors = new ArrayList<>();
+        String cursor = null;
+        do {
+            CityDataRequest pageRequest = new CityDataRequest(cityIdRequest,
+                new QueryOptions(2, cursor), FunctionTestUtils.REQUEST_ID);
+            SectorsPageResponse<SectorEntity> page = this.sectorService.findActiveSectorsPage(pageRequest).block();
+            Assertions.assertThat(page).isNotNull();
+            Assertions.assertThat(page.sectors().size()).isLessThanOrEqualTo(2);
+            pagedSectors.addAll(page.sectors());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        Assertions.assertThat(pagedSectors).hasSameSizeAs(allSectors);
+        Assertions.assertThat(pagedSectors).containsExactlyInAnyOrderElementsOf(allSectors);
+    }
+
+    @Test
+    @DisplayName("Find sectors page by City ID - Invalid cursor")
+    void givenInvalidCursor_whenFindSectorsPage_mustReturnError() {
+        CityIdRequest cityIdRequest = new CityIdRequest(FunctionTestUtils.ACTIVE_CITY_ID);
+        CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest,
+            new QueryOptions(2, "not-a-cursor"), FunctionTestUtils.REQUEST_ID);
+
+        StepVerifier.create(this.sectorService.findActiveSectorsPage(cityDataRequest))
+            .expectErrorMatches(throwable -> throwable instanceof ValidationException)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("Find sector summaries by City ID - Active")
+    void givenActiveCityId_whenFindSectorSummaries_mustReturnActiveSectorSummaries() {
+        CityIdRequest cityIdRequest = new CityIdRequest(FunctionTestUtils.ACTIVE_CITY_ID);
+        CityDataRequest cityDataRequest = new CityDataRequest(cityIdRequest,
+            new QueryOptions(null, null, true), FunctionTestUtils.REQUEST_ID);
+        List<SectorEntity> allSectors = this.sectorService.findActiveSectorsByCityId(cityDataRequest).block();
+        Assertions.assertThat(allSectors).isNotEmpty();
+
+        StepVerifier.create(this.sectorService.findActiveSectorSummaries(cityDataRequest))
+            .assertNext(response -> Assertions.assertThat(response)
+                .containsExactlyInAnyOrderElementsOf(allSectors.stream().map(SectorSummary::from).toList()))
+            .verifyComplete();
+
+        StepVerifier.create(this.sectorService.findActiveSectorSummariesPage(cityDataRequest))
+            .assertNext(page -> {
+                Assertions.assertThat(page.sectors())
+                    .containsExactlyInAnyOrderElementsOf(allSectors.stream().map(SectorSummary::from).toList());
+                Assertions.assertThat(page.nextCursor()).isNull();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find sectors by City IDs - Partial results")
+    void givenManyCityIds_whenFindSectors_mustReturnResultPerCity() {
+        String nonExistingCityId = UUID.randomUUID().toString();
+        List<String> cityIds = List.of(FunctionTestUtils.ACTIVE_CITY_ID, FunctionTestUtils.INACTIVE_CITY_ID, nonExistingCityId);
+
+        StepVerifier.create(this.sectorService.findActiveSectorsByCityIds(cityIds, FunctionTestUtils.REQUEST_ID)
+                .collectList())
+            .assertNext(results -> {
+                Assertions.assertThat(results).hasSize(3);
+                Map<String, CitySectorsResult> resultsById = results.stream()
+                    .collect(Collectors.toMap(CitySectorsResult::cityId, result -> result));
+                Assertions.assertThat(resultsById.get(FunctionTestUtils.ACTIVE_CITY_ID).status())
+                    .isEqualTo(CityLookupStatus.FOUND);
+                Assertions.assertThat(resultsById.get(FunctionTestUtils.ACTIVE_CITY_ID).sectors()).isNotEmpty();
+                Assertions.assertThat(resultsById.get(FunctionTestUtils.INACTIVE_CITY_ID).status())
+                    .isEqualTo(CityLookupStatus.INACTIVE);
+                Assertions.assertThat(resultsById.get(nonExistingCityId).status())
+                    .isEqualTo(CityLookupStatus.NOT_FOUND);
+            })
+            .verifyComplete();
+    }
 }
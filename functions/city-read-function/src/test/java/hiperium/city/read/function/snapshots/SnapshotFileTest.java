@@ -0,0 +1,132 @@
+package hiperium.city.read.function.snapshots;
+
+import hiperium.city.read.function.entities.CityEntity;
+import hiperium.city.read.function.repositories.ItemProjection;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotFileTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-10-18T10:15:30Z");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Read the partitions of the table data")
+    void givenTableData_whenWriteSnapshot_thenReadPartitionsInSortKeyOrder() throws IOException, URISyntaxException {
+        List<Map<String, AttributeValue>> items = SnapshotBuilder.readItems(tableDataPath());
+        SnapshotFile snapshotFile = this.writeAndLoad(items);
+
+        assertThat(snapshotFile.cityCount()).isEqualTo(2);
+        assertThat(snapshotFile.dataVersion()).isEqualTo(7L);
+        assertThat(snapshotFile.createdAt()).isEqualTo(CREATED_AT);
+
+        // The partition contains the same items as the table, with the city item first.
+        List<Map<String, AttributeValue>> partition =
+            snapshotFile.findPartition(FunctionTestUtils.ACTIVE_CITY_ID, null, Integer.MAX_VALUE);
+        List<Map<String, AttributeValue>> tableItems = items.stream()
+            .filter(item -> item.get("pk").s().equals(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID))
+            .toList();
+        assertThat(partition).hasSameSizeAs(tableItems).containsExactlyInAnyOrderElementsOf(tableItems);
+        assertThat(partition.getFirst().get("sk").s())
+            .isEqualTo(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID);
+        assertThat(partition.stream().map(item -> item.get("sk").s()).toList()).isSorted();
+
+        assertThat(snapshotFile.findPartition("c2a3e688-9f7a-4c1d-8a0e-5b6f7d8e9f01", null, Integer.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Decode only the projected attributes")
+    void givenProjection_whenFindPartition_thenReturnOnlyProjectedAttributes() throws IOException, URISyntaxException {
+        SnapshotFile snapshotFile = this.writeAndLoad(SnapshotBuilder.readItems(tableDataPath()));
+
+        List<Map<String, AttributeValue>> partition = snapshotFile.findPartition(
+            FunctionTestUtils.ACTIVE_CITY_ID, ItemProjection.SECTOR_SUMMARY.attributes(), 2);
+        assertThat(partition).hasSize(2);
+        partition.forEach(item -> assertThat(ItemProjection.SECTOR_SUMMARY.attributes()).containsAll(item.keySet()));
+        assertThat(partition.get(1)).containsKeys("pk", "sk", "name", "status", "latitude", "longitude");
+    }
+
+    @Test
+    @DisplayName("Read every supported attribute type")
+    void givenNestedAttributes_whenWriteSnapshot_thenReadSameAttributes() throws IOException {
+        Map<String, AttributeValue> item = Map.of(
+            "pk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID),
+            "sk", AttributeValue.fromS(CityEntity.CITY_PK_PREFIX + FunctionTestUtils.ACTIVE_CITY_ID),
+            "name", AttributeValue.fromS("Ciudad de Guayaquil - Ñ"),
+            "population", AttributeValue.fromN("2650288"),
+            "coastal", AttributeValue.fromBool(true),
+            "motto", AttributeValue.fromNul(true),
+            "location", AttributeValue.fromM(Map.of(
+                "latitude", AttributeValue.fromN("-2.170997"),
+                "tags", AttributeValue.fromL(List.of(AttributeValue.fromS("port"), AttributeValue.fromN("1"))))));
+        SnapshotFile snapshotFile = this.writeAndLoad(List.of(item));
+
+        assertThat(snapshotFile.findPartition(FunctionTestUtils.ACTIVE_CITY_ID, null, 1)).containsExactly(item);
+    }
+
+    @Test
+    @DisplayName("Reject corrupted snapshots")
+    void givenCorruptedSnapshot_whenLoad_thenThrowException() throws IOException, URISyntaxException {
+        Path snapshotPath = this.directory.resolve("city.snapshot");
+        SnapshotWriter.write(snapshotPath, 7L, CREATED_AT, SnapshotBuilder.readItems(tableDataPath()));
+        byte[] content = Files.readAllBytes(snapshotPath);
+
+        content[content.length - 1] ^= 0x01;
+        Files.write(snapshotPath, content);
+        assertThatThrownBy(() -> SnapshotFile.load(snapshotPath))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("checksum");
+
+        // The format version is stored in the second integer of the header.
+        content[content.length - 1] ^= 0x01;
+        content[SnapshotFormat.FORMAT_VERSION_OFFSET + 3] = 2;
+        Files.write(snapshotPath, content);
+        assertThatThrownBy(() -> SnapshotFile.load(snapshotPath))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("format version");
+
+        Files.writeString(snapshotPath, "{}");
+        assertThatThrownBy(() -> SnapshotFile.load(snapshotPath))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("not a city snapshot");
+    }
+
+    @Test
+    @DisplayName("Reject items outside a city partition")
+    void givenItemOutsideCityPartition_whenWriteSnapshot_thenThrowException() {
+        Map<String, AttributeValue> item = Map.of(
+            "pk", AttributeValue.fromS("DEVICE#001"),
+            "sk", AttributeValue.fromS("DEVICE#001"));
+        Path snapshotPath = this.directory.resolve("city.snapshot");
+        assertThatThrownBy(() -> SnapshotWriter.write(snapshotPath, 1L, CREATED_AT, List.of(item)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SnapshotFile writeAndLoad(final List<Map<String, AttributeValue>> items) throws IOException {
+        Path snapshotPath = this.directory.resolve("city.snapshot");
+        SnapshotWriter.write(snapshotPath, 7L, CREATED_AT, items);
+        return SnapshotFile.load(snapshotPath);
+    }
+
+    static Path tableDataPath() throws URISyntaxException {
+        return Path.of(Objects.requireNonNull(SnapshotFileTest.class.getClassLoader()
+            .getResource("localstack/table-data.json")).toURI());
+    }
+}
@@ -0,0 +1,82 @@
+package hiperium.city.read.function.snapshots;
+
+import hiperium.city.read.function.commons.ReadBackend;
+import hiperium.city.read.function.repositories.ItemProjection;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotStoreTest {
+
+    private static final Duration MAX_AGE = Duration.ofHours(24);
+
+    @TempDir
+    private Path directory;
+
+    private Path snapshotPath;
+
+    @BeforeEach
+    void setup() throws IOException, URISyntaxException {
+        this.snapshotPath = this.directory.resolve("city.snapshot");
+        SnapshotWriter.write(this.snapshotPath, 7L, Instant.now(),
+            SnapshotBuilder.readItems(SnapshotFileTest.tableDataPath()));
+    }
+
+    @Test
+    @DisplayName("Serve the cities of the snapshot")
+    void givenSnapshotBackend_whenFindPartition_thenReturnItemsOfSnapshot() {
+        SnapshotStore snapshotStore = new SnapshotStore(ReadBackend.SNAPSHOT, this.snapshotPath.toString(), MAX_AGE, 0);
+
+        assertThat(snapshotStore.isLoaded()).isTrue();
+        assertThat(snapshotStore.findPartition(FunctionTestUtils.ACTIVE_CITY_ID, ItemProjection.CITY.attributes()))
+            .isNotEmpty();
+        // The cities missing from the snapshot are read from DynamoDB.
+        assertThat(snapshotStore.findPartition("c2a3e688-9f7a-4c1d-8a0e-5b6f7d8e9f01", ItemProjection.CITY.attributes()))
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("Don't load the snapshot with the DynamoDB backend")
+    void givenDynamoDbBackend_whenFindPartition_thenReturnNull() {
+        SnapshotStore snapshotStore = new SnapshotStore(ReadBackend.DYNAMODB, this.snapshotPath.toString(), MAX_AGE, 0);
+
+        assertThat(snapshotStore.isLoaded()).isFalse();
+        assertThat(snapshotStore.findPartition(FunctionTestUtils.ACTIVE_CITY_ID, ItemProjection.CITY.attributes())).isNull();
+    }
+
+    @Test
+    @DisplayName("Discard missing and outdated snapshots")
+    void givenMissingOrOutdatedSnapshot_whenLoad_thenDiscardSnapshot() {
+        String missingPath = this.directory.resolve("missing.snapshot").toString();
+        assertThat(new SnapshotStore(ReadBackend.SNAPSHOT, missingPath, MAX_AGE, 0).isLoaded()).isFalse();
+        assertThat(new SnapshotStore(ReadBackend.SNAPSHOT, this.snapshotPath.toString(), MAX_AGE, 8).isLoaded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Stale snapshots and cities")
+    void givenStaleSnapshotOrCity_whenFindPartition_thenReturnNull() throws IOException, URISyntaxException {
+        SnapshotStore snapshotStore = new SnapshotStore(ReadBackend.SNAPSHOT, this.snapshotPath.toString(), MAX_AGE, 0);
+        snapshotStore.invalidate(FunctionTestUtils.ACTIVE_CITY_ID);
+        assertThat(snapshotStore.findPartition(FunctionTestUtils.ACTIVE_CITY_ID, ItemProjection.CITY.attributes())).isNull();
+        assertThat(snapshotStore.findPartition(FunctionTestUtils.INACTIVE_CITY_ID, ItemProjection.CITY.attributes()))
+            .isNotEmpty();
+
+        // A snapshot older than the maximum age is still loaded, but it doesn't serve any city.
+        SnapshotWriter.write(this.snapshotPath, 7L, Instant.now().minus(MAX_AGE).minusSeconds(1),
+            SnapshotBuilder.readItems(SnapshotFileTest.tableDataPath()));
+        SnapshotStore expiredStore = new SnapshotStore(ReadBackend.SNAPSHOT, this.snapshotPath.toString(), MAX_AGE, 0);
+        assertThat(expiredStore.isLoaded()).isTrue();
+        assertThat(expiredStore.findPartition(FunctionTestUtils.INACTIVE_CITY_ID, ItemProjection.CITY.attributes()))
+            .isNull();
+    }
+}
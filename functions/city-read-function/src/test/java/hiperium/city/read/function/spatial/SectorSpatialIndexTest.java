@@ -0,0 +1,75 @@
+package hiperium.city.read.function.spatial;
+
+import hiperium.city.functions.common.enums.RecordStatus;
+import hiperium.city.read.function.commons.EntityCommon;
+import hiperium.city.read.function.entities.SectorEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SectorSpatialIndexTest {
+
+    private static final List<SectorEntity> SECTORS = List.of(
+        sector("Residential Zone", "-2.170997", "-78.467838"),
+        sector("Commercial District", "-0.180653", "-78.467838"),
+        sector("Green Area", "-2.1720123", "-79.9230456"),
+        sector("Educational Zone", "-2.1725789", "-79.9235678"),
+        sector("Port Zone", "-2.1950", "-79.8850"),
+        sector("Island Zone", "-17.7134", "178.0650"),
+        sector("Date Line Zone", "-16.5000", "-179.9000"),
+        sector("Unknown Zone", "not-a-number", "-79.9230456"),
+        sector("Pending Zone", null, null));
+
+    @Test
+    @DisplayName("Skip the sectors without valid coordinates")
+    void givenSectorsWithoutCoordinates_whenBuildIndex_thenSkipThem() {
+        assertThat(new SectorSpatialIndex(SECTORS).size()).isEqualTo(7);
+        assertThat(new SectorSpatialIndex(List.of()).findInBoundingBox(-90, -180, 90, 180)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Sectors inside a bounding box")
+    void givenBoundingBox_whenFind_thenReturnSectorsInListOrder() {
+        SectorSpatialIndex sectorIndex = new SectorSpatialIndex(SECTORS);
+
+        assertThat(names(sectorIndex.findInBoundingBox(-2.18, -79.93, -2.16, -79.92)))
+            .containsExactly("Green Area", "Educational Zone");
+        assertThat(names(sectorIndex.findInBoundingBox(-90, -180, 90, 180))).containsExactly(
+            "Residential Zone", "Commercial District", "Green Area", "Educational Zone", "Port Zone",
+            "Island Zone", "Date Line Zone");
+        // The edges of the bounding box are included.
+        assertThat(names(sectorIndex.findInBoundingBox(-2.1950, -79.8850, -2.1950, -79.8850)))
+            .containsExactly("Port Zone");
+    }
+
+    @Test
+    @DisplayName("Bounding box crossing the antimeridian")
+    void givenBoundingBoxCrossingAntimeridian_whenFind_thenReturnSectorsOnBothSides() {
+        SectorSpatialIndex sectorIndex = new SectorSpatialIndex(SECTORS);
+
+        assertThat(names(sectorIndex.findInBoundingBox(-20, 170, -10, -170)))
+            .containsExactly("Island Zone", "Date Line Zone");
+    }
+
+    @Test
+    @DisplayName("Sectors inside a polygon")
+    void givenPolygon_whenFind_thenReturnOnlySectorsInsidePolygon() {
+        SectorSpatialIndex sectorIndex = new SectorSpatialIndex(SECTORS);
+
+        // The bounding box of the triangle contains the Guayaquil sectors, but only the port is inside the triangle.
+        double[] latitudes = {-2.16, -2.20, -2.20};
+        double[] longitudes = {-79.88, -79.88, -79.93};
+        assertThat(names(sectorIndex.findInPolygon(latitudes, longitudes))).containsExactly("Port Zone");
+    }
+
+    private static List<String> names(final List<SectorEntity> sectors) {
+        return sectors.stream().map(sector -> sector.entityCommon().name()).toList();
+    }
+
+    private static SectorEntity sector(final String name, final String latitude, final String longitude) {
+        return new SectorEntity(new EntityCommon(name, null, RecordStatus.ACTIVE), latitude, longitude, null);
+    }
+}
@@ -1,12 +1,51 @@
 package hiperium.city.read.function.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hiperium.city.functions.common.requests.FunctionRequest;
+import hiperium.city.functions.common.utils.DeserializerUtil;
+import hiperium.city.functions.tests.utils.ResourceStreamUtil;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public final class FunctionTestUtils {
 
     public static final String ACTIVE_CITY_ID = "a0ecb466-7ef5-47bf-a1ca-12f9f9328528";
     public static final String INACTIVE_CITY_ID = "b1fcd577-8f23-48d9-9364-f4e3df7b75d0";
     public static final String REQUEST_ID = "testRequestId";
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private FunctionTestUtils() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
+
+    public static Message<FunctionRequest> createMessage(final String jsonFilePath) throws IOException {
+        String jsonContent = ResourceStreamUtil.getJsonFromFilePath(jsonFilePath);
+        assertThat(jsonContent).isNotNull();
+
+        FunctionRequest functionRequest = DeserializerUtil.fromJson(jsonContent);
+        assertThat(functionRequest).isNotNull();
+        return MessageBuilder.withPayload(functionRequest).build();
+    }
+
+    public static JsonNode readJson(final byte[] payload) {
+        try {
+            return OBJECT_MAPPER.readTree(payload);
+        } catch (IOException exception) {
+            throw new IllegalStateException("The response payload is not a valid JSON.", exception);
+        }
+    }
+
+    public static JsonNode readJson(final String payload) {
+        try {
+            return OBJECT_MAPPER.readTree(payload);
+        } catch (IOException exception) {
+            throw new IllegalStateException("The response payload is not a valid JSON.", exception);
+        }
+    }
 }
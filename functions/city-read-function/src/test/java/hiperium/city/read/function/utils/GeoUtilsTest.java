@@ -0,0 +1,49 @@
+package hiperium.city.read.function.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoUtilsTest {
+
+    @Test
+    @DisplayName("Encode a point")
+    void givenPoint_whenEncode_thenReturnGeohash() {
+        assertThat(GeoUtils.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoUtils.encode(-2.1720123, -79.9230456, 9)).isEqualTo("6px5tk9g4");
+        // Every geohash starts with the geohash of the larger cells containing the point.
+        assertThat(GeoUtils.encode(-2.1720123, -79.9230456, 5)).isEqualTo("6px5t");
+    }
+
+    @Test
+    @DisplayName("Neighbour cells")
+    void givenPoint_whenNeighbourhood_thenReturnCellAndNeighbours() {
+        List<String> cells = GeoUtils.neighbourhood(-2.1720123, -79.9230456, 6);
+        assertThat(cells).hasSize(9).doesNotHaveDuplicates().allMatch(cell -> cell.length() == 6);
+        assertThat(cells.getFirst()).isEqualTo("6px5tk");
+
+        // The cells beyond the pole don't exist, and the cells wrap around the antimeridian.
+        assertThat(GeoUtils.neighbourhood(89.99, 179.99, 2)).hasSize(6).contains("bp", "zz");
+    }
+
+    @Test
+    @DisplayName("Distance between points")
+    void givenTwoPoints_whenDistance_thenReturnGreatCircleDistance() {
+        assertThat(GeoUtils.distance(0, 0, 0, 1)).isCloseTo(111_195, within(1.0));
+        assertThat(GeoUtils.distance(-2.172, -79.923, -2.172, -79.923)).isZero();
+    }
+
+    @Test
+    @DisplayName("Covered radius")
+    void givenRadius_whenPrecisionFor_thenNeighbourhoodCoversRadius() {
+        int precision = GeoUtils.precisionFor(-2.172, -79.923, 1_000, 9);
+        assertThat(precision).isEqualTo(5);
+        assertThat(GeoUtils.coveredRadius(-2.172, -79.923, precision)).isGreaterThanOrEqualTo(1_000);
+        assertThat(GeoUtils.coveredRadius(-2.172, -79.923, precision + 1)).isLessThan(1_000);
+        assertThat(GeoUtils.precisionFor(-2.172, -79.923, 20_000_000, 9)).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package hiperium.city.read.function.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRateLimiterTest {
+
+    @Test
+    @DisplayName("Suppress messages over the limit")
+    void givenMessagesOverLimit_whenTryAcquire_thenSuppressMessages() {
+        LogRateLimiter logRateLimiter = new LogRateLimiter(2, Duration.ofHours(1));
+
+        assertThat(logRateLimiter.tryAcquire()).isZero();
+        assertThat(logRateLimiter.tryAcquire()).isZero();
+        assertThat(logRateLimiter.tryAcquire()).isEqualTo(-1);
+        assertThat(logRateLimiter.tryAcquire()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Report suppressed messages in the next window")
+    void givenSuppressedMessages_whenWindowElapses_thenReportSuppressedCount() throws InterruptedException {
+        LogRateLimiter logRateLimiter = new LogRateLimiter(1, Duration.ofMillis(50));
+
+        assertThat(logRateLimiter.tryAcquire()).isZero();
+        assertThat(logRateLimiter.tryAcquire()).isEqualTo(-1);
+        assertThat(logRateLimiter.tryAcquire()).isEqualTo(-1);
+
+        Thread.sleep(60);
+        assertThat(logRateLimiter.tryAcquire()).isEqualTo(2);
+        assertThat(logRateLimiter.tryAcquire()).isEqualTo(-1);
+    }
+}
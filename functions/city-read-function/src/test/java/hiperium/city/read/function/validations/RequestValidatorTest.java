@@ -0,0 +1,60 @@
+package hiperium.city.read.function.validations;
+
+import hiperium.city.functions.common.exceptions.ValidationException;
+import hiperium.city.functions.common.requests.CityIdRequest;
+import hiperium.city.read.function.FunctionApplication;
+import hiperium.city.read.function.common.TestContainersBase;
+import hiperium.city.read.function.requests.CityDataRequest;
+import hiperium.city.read.function.requests.QueryOptions;
+import hiperium.city.read.function.utils.FunctionTestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = FunctionApplication.class, properties = "city.validation.fast-path=true")
+public class RequestValidatorTest extends TestContainersBase {
+
+    @Autowired
+    private RequestValidator requestValidator;
+
+    @Test
+    @DisplayName("Valid request - Fast path")
+    void givenValidRequest_whenValidate_thenNoExceptionIsThrown() {
+        CityDataRequest cityDataRequest = new CityDataRequest(
+            new CityIdRequest(FunctionTestUtils.ACTIVE_CITY_ID), new QueryOptions(10, null), FunctionTestUtils.REQUEST_ID);
+
+        assertThat(RequestValidator.isCanonicalUuid(FunctionTestUtils.ACTIVE_CITY_ID)).isTrue();
+        assertThatNoException().isThrownBy(() -> this.requestValidator.validateRequest(cityDataRequest));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Non-valid city IDs - Full validation")
+    @ValueSource(strings = {"", "a0ecb466", "a0ecb466-7ef5-47bf-a1ca-12f9f932852g"})
+    void givenNonValidCityId_whenValidate_thenThrowValidationException(String cityId) {
+        CityDataRequest cityDataRequest = new CityDataRequest(new CityIdRequest(cityId), FunctionTestUtils.REQUEST_ID);
+
+        assertThat(RequestValidator.isCanonicalUuid(cityId)).isFalse();
+        assertThatThrownBy(() -> this.requestValidator.validateRequest(cityDataRequest))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Non-valid page size - Full validation")
+    void givenNonValidPageSize_whenValidate_thenThrowValidationException() {
+        CityDataRequest cityDataRequest = new CityDataRequest(
+            new CityIdRequest(FunctionTestUtils.ACTIVE_CITY_ID), new QueryOptions(0, null), FunctionTestUtils.REQUEST_ID);
+
+        assertThatThrownBy(() -> this.requestValidator.validateRequest(cityDataRequest))
+            .isInstanceOf(ValidationException.class)
+            .hasMessage("Page size must be greater than zero.");
+    }
+}
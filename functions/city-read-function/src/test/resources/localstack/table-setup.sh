@@ -7,9 +7,32 @@ awslocal dynamodb create-table                  \
     --attribute-definitions                     \
       AttributeName='pk',AttributeType=S        \
       AttributeName='sk',AttributeType=S        \
+      AttributeName='gsi1pk',AttributeType=S    \
+      AttributeName='gsi1sk',AttributeType=S    \
+      AttributeName='gsi2pk',AttributeType=S    \
+      AttributeName='gsi2sk',AttributeType=S    \
     --key-schema                                \
       AttributeName='pk',KeyType=HASH           \
       AttributeName='sk',KeyType=RANGE          \
+    --global-secondary-indexes                  \
+      '[{
+        "IndexName": "ActiveSectorsIndex",
+        "KeySchema": [
+          {"AttributeName": "gsi1pk", "KeyType": "HASH"},
+          {"AttributeName": "gsi1sk", "KeyType": "RANGE"}
+        ],
+        "Projection": {"ProjectionType": "ALL"},
+        "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
+      }, {
+        "IndexName": "SectorsGeohashIndex",
+        "KeySchema": [
+          {"AttributeName": "gsi2pk", "KeyType": "HASH"},
+          {"AttributeName": "gsi2sk", "KeyType": "RANGE"}
+        ],
+        "Projection": {"ProjectionType": "ALL"},
+        "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
+      }]'                                       \
+    --stream-specification StreamEnabled=true,StreamViewType=NEW_IMAGE \
     --provisioned-throughput ReadCapacityUnits=5,WriteCapacityUnits=5
 
 echo ""
@@ -0,0 +1,78 @@
+package hiperium.city.read.function.snapshots;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hiperium.city.read.function.utils.DynamoDbJsonUtils;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line tool that builds a snapshot file from the items of the city table exported as DynamoDB JSON.
+ * It is compiled from the {@code src/tool/java} directory with the tests, so it is not packaged in the function.
+ * <p>
+ * The input can be a {@code BatchWriteItem} request file, like the {@code table-data.json} file used to
+ * load the LocalStack table, or the output of the {@code aws dynamodb scan} command:
+ * <pre>
+ * SnapshotBuilder &lt;input-json&gt; &lt;output-snapshot&gt; [data-version]
+ * </pre>
+ * When the data version is not given or is blank, the creation time in epoch milliseconds is used, so every new snapshot
+ * has a greater version than the previous ones. The written file is loaded again before the tool ends,
+ * so a malformed snapshot is detected before it is deployed.
+ */
+public final class SnapshotBuilder {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private SnapshotBuilder() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException("Usage: SnapshotBuilder <input-json> <output-snapshot> [data-version]");
+        }
+        Instant createdAt = Instant.now();
+        long dataVersion = args.length == 3 && !args[2].isBlank()
+            ? Long.parseLong(args[2].trim())
+            : createdAt.toEpochMilli();
+        List<Map<String, AttributeValue>> items = readItems(Path.of(args[0]));
+        Path output = Path.of(args[1]);
+        SnapshotWriter.write(output, dataVersion, createdAt, items);
+
+        SnapshotFile snapshotFile = SnapshotFile.load(output);
+        System.out.printf("Snapshot %s written with %d items of %d cities - Data version: %d - Created at: %s%n",
+            output, items.size(), snapshotFile.cityCount(), snapshotFile.dataVersion(), snapshotFile.createdAt());
+    }
+
+    /**
+     * Reads the items of the given DynamoDB JSON file, which can be a {@code BatchWriteItem} request file
+     * or the output of a {@code Scan} operation.
+     *
+     * @param path the DynamoDB JSON file.
+     * @return the items of the file, in the order in which they are found.
+     * @throws IOException              if the file cannot be read or is not a valid JSON.
+     * @throws IllegalArgumentException if an attribute has an unsupported type.
+     */
+    public static List<Map<String, AttributeValue>> readItems(final Path path) throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(path.toFile());
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        if (root.has("Items")) {
+            root.get("Items").forEach(item -> items.add(DynamoDbJsonUtils.toItem(item)));
+            return items;
+        }
+        // A BatchWriteItem request file contains the write requests of each table.
+        root.fields().forEachRemaining(table -> table.getValue().forEach(writeRequest -> {
+            JsonNode item = writeRequest.path("PutRequest").path("Item");
+            if (item.isObject()) {
+                items.add(DynamoDbJsonUtils.toItem(item));
+            }
+        }));
+        return items;
+    }
+}
@@ -0,0 +1,195 @@
+package hiperium.city.read.function.snapshots;
+
+import hiperium.city.read.function.entities.CityEntity;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Writes the items of the city table to a snapshot file, using the layout defined by {@link SnapshotFormat}.
+ * <p>
+ * The items are grouped by the city ID of their partition key, and the items of each city are sorted
+ * by their sort key, as a query on the partition of the city would return them.
+ */
+public final class SnapshotWriter {
+
+    private SnapshotWriter() {
+        throw new UnsupportedOperationException("Utility classes should not be instantiated.");
+    }
+
+    /**
+     * Writes the snapshot of the given items to the given file. The snapshot is written to a temporary file
+     * in the same directory and then moved over the given file, so a partial snapshot is never loaded.
+     *
+     * @param path        the snapshot file to be written.
+     * @param dataVersion the version of the data, which must increase with every new snapshot of the table.
+     * @param createdAt   the time at which the items were exported from the table.
+     * @param items       the items of the table, each one with the {@code pk} and {@code sk} string attributes.
+     * @throws IOException              if the file cannot be written.
+     * @throws IllegalArgumentException if an item doesn't belong to a city partition or has an unsupported
+     *                                  attribute type.
+     */
+    public static void write(final Path path,
+                             final long dataVersion,
+                             final Instant createdAt,
+                             final Collection<Map<String, AttributeValue>> items) throws IOException {
+        SortedMap<String, List<Map<String, AttributeValue>>> partitions = new TreeMap<>();
+        for (Map<String, AttributeValue> item : items) {
+            String partitionKey = keyValue(item, "pk");
+            keyValue(item, "sk");
+            if (!partitionKey.startsWith(CityEntity.CITY_PK_PREFIX)) {
+                throw new IllegalArgumentException("Item doesn't belong to a city partition: " + partitionKey);
+            }
+            partitions.computeIfAbsent(partitionKey.substring(CityEntity.CITY_PK_PREFIX.length()),
+                cityId -> new ArrayList<>()).add(item);
+        }
+
+        // The partitions are written first, as the dictionary is completed with the names found in the items.
+        Map<String, Integer> attributeNames = new LinkedHashMap<>();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream dataOutput = new DataOutputStream(data);
+        List<Integer> partitionOffsets = new ArrayList<>(partitions.size());
+        for (List<Map<String, AttributeValue>> partition : partitions.values()) {
+            partition.sort(Comparator.comparing(item -> item.get("sk").s()));
+            partitionOffsets.add(dataOutput.size());
+            dataOutput.writeInt(partition.size());
+            for (Map<String, AttributeValue> item : partition) {
+                writeAttributes(dataOutput, item, attributeNames);
+            }
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        DataOutputStream dictionaryOutput = new DataOutputStream(dictionary);
+        dictionaryOutput.writeShort(attributeNames.size());
+        for (String attributeName : attributeNames.keySet()) {
+            writeShortString(dictionaryOutput, attributeName);
+        }
+
+        long dataOffset = (long) SnapshotFormat.HEADER_BYTES + dictionary.size();
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOutput = new DataOutputStream(index);
+        int position = 0;
+        for (String cityId : partitions.keySet()) {
+            int partitionOffset = partitionOffsets.get(position++);
+            int partitionEnd = position < partitionOffsets.size() ? partitionOffsets.get(position) : data.size();
+            writeShortString(indexOutput, cityId);
+            indexOutput.writeLong(dataOffset + partitionOffset);
+            indexOutput.writeInt(partitionEnd - partitionOffset);
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(dictionary.toByteArray());
+        checksum.update(data.toByteArray());
+        checksum.update(index.toByteArray());
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES)
+            .putInt(SnapshotFormat.MAGIC)
+            .putInt(SnapshotFormat.FORMAT_VERSION)
+            .putLong(dataVersion)
+            .putLong(createdAt.toEpochMilli())
+            .putInt(partitions.size())
+            .putLong(dataOffset + data.size())
+            .putInt((int) checksum.getValue());
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                output.write(header.array());
+                dictionary.writeTo(output);
+                data.writeTo(output);
+                index.writeTo(output);
+            }
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static String keyValue(final Map<String, AttributeValue> item, final String keyName) {
+        AttributeValue key = item.get(keyName);
+        if (Objects.isNull(key) || Objects.isNull(key.s())) {
+            throw new IllegalArgumentException("Item without the '" + keyName + "' string attribute: " + item);
+        }
+        return key.s();
+    }
+
+    private static void writeAttributes(final DataOutputStream output,
+                                        final Map<String, AttributeValue> attributes,
+                                        final Map<String, Integer> attributeNames) throws IOException {
+        requireShortLength(attributes.size(), "attributes of a map");
+        output.writeShort(attributes.size());
+        for (Map.Entry<String, AttributeValue> attribute : attributes.entrySet()) {
+            Integer nameIndex = attributeNames.computeIfAbsent(attribute.getKey(), name -> attributeNames.size());
+            requireShortLength(nameIndex, "attribute names");
+            output.writeShort(nameIndex);
+            writeValue(output, attribute.getValue(), attributeNames);
+        }
+    }
+
+    private static void writeValue(final DataOutputStream output,
+                                   final AttributeValue value,
+                                   final Map<String, Integer> attributeNames) throws IOException {
+        switch (value.type()) {
+            case S -> {
+                byte[] bytes = value.s().getBytes(StandardCharsets.UTF_8);
+                output.writeByte(SnapshotFormat.TYPE_STRING);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            case N -> {
+                output.writeByte(SnapshotFormat.TYPE_NUMBER);
+                writeShortString(output, value.n());
+            }
+            case BOOL -> {
+                output.writeByte(SnapshotFormat.TYPE_BOOLEAN);
+                output.writeBoolean(value.bool());
+            }
+            case NUL -> output.writeByte(SnapshotFormat.TYPE_NULL);
+            case M -> {
+                output.writeByte(SnapshotFormat.TYPE_MAP);
+                writeAttributes(output, value.m(), attributeNames);
+            }
+            case L -> {
+                output.writeByte(SnapshotFormat.TYPE_LIST);
+                output.writeInt(value.l().size());
+                for (AttributeValue element : value.l()) {
+                    writeValue(output, element, attributeNames);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported attribute type in snapshot: " + value.type());
+        }
+    }
+
+    private static void writeShortString(final DataOutputStream output, final String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        requireShortLength(bytes.length, "bytes of '" + value + "'");
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void requireShortLength(final int length, final String description) {
+        if (length > SnapshotFormat.MAX_SHORT_LENGTH) {
+            throw new IllegalArgumentException("Too many " + description + " for a snapshot: " + length);
+        }
+    }
+}
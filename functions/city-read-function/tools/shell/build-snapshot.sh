@@ -0,0 +1,38 @@
+#!/bin/bash
+set -e
+
+# Builds the memory-mapped snapshot read by the function when CITY_READ_BACKEND is SNAPSHOT. The items are
+# exported from the City table with a Scan, or read from an existing DynamoDB JSON file, like the table data
+# used by the tests. Execute it from the function's root directory:
+#
+#   ./tools/shell/build-snapshot.sh [output-file]
+#
+# Environment variables:
+#   TABLE_NAME     the table to be exported (default: City). Ignored when INPUT_FILE is set.
+#   INPUT_FILE     an existing DynamoDB JSON file, as a BatchWriteItem request or a Scan output.
+#   DATA_VERSION   the data version of the snapshot (default: the creation time in epoch milliseconds).
+#   AWS_PROFILE    the AWS profile used to export the table.
+#
+# The snapshot must be deployed to the path of the CITY_SNAPSHOT_PATH variable of the function
+# (default: /opt/snapshot/city.snapshot), for example inside a Lambda layer.
+
+OUTPUT_FILE="${1:-target/snapshot/city.snapshot}"
+TABLE_NAME="${TABLE_NAME:-City}"
+
+if [ -z "$INPUT_FILE" ]; then
+    INPUT_FILE=$(mktemp)
+    trap 'rm -f "$INPUT_FILE"' EXIT
+    echo ""
+    echo "EXPORTING TABLE '$TABLE_NAME'..."
+    echo ""
+    # The AWS CLI follows the LastEvaluatedKey of each page, so the output contains all the items.
+    aws dynamodb scan --table-name "$TABLE_NAME" --output json > "$INPUT_FILE"
+fi
+
+echo ""
+echo "BUILDING SNAPSHOT..."
+echo ""
+mvn -B -q -Psnapshot process-test-classes \
+    -Dsnapshot.input="$INPUT_FILE"         \
+    -Dsnapshot.output="$OUTPUT_FILE"       \
+    -Dsnapshot.dataVersion="$DATA_VERSION"
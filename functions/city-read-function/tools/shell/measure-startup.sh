@@ -0,0 +1,72 @@
+#!/bin/bash
+set -e
+
+# Measures the cold start of the native function image using the Lambda Runtime Interface Emulator
+# included in the base image. Each run starts a new container, sends one request, and reads the
+# "Init Duration" reported by the emulator. Execute it from the function's root directory:
+#
+#   ./tools/shell/measure-startup.sh [runs]
+#
+# Environment variables:
+#   IMAGE_NAME     the image to be measured (default: hiperium/city-read-function:native).
+#   SKIP_BUILD     set to "true" to measure an existing image without building it.
+#   ENV_FILE       the environment file of the function (default: ../../utils/docker/lambda.env).
+#   NETWORK        the Docker network of the LocalStack container (default: hiperium-cities_cities-network).
+#   EXTRA_ENV      extra "-e" options, for example "-e CITY_DYNAMODB_HTTP_CLIENT=CRT -e CITY_STARTUP_PRIMING=true".
+
+RUNS="${1:-10}"
+IMAGE_NAME="${IMAGE_NAME:-hiperium/city-read-function:native}"
+ENV_FILE="${ENV_FILE:-../../utils/docker/lambda.env}"
+NETWORK="${NETWORK:-hiperium-cities_cities-network}"
+REQUEST_FILE="src/test/resources/requests/city/valid/find-city-by-id-request.json"
+CONTAINER_NAME="city-read-function-startup"
+INVOKE_URL="http://localhost:9000/2015-03-31/functions/function/invocations"
+
+if [ "$SKIP_BUILD" != "true" ]; then
+    echo ""
+    echo "BUILDING NATIVE IMAGE..."
+    echo ""
+    docker build -t "$IMAGE_NAME" -f tools/docker/Dockerfile-native .
+fi
+
+NETWORK_OPTION=""
+if docker network inspect "$NETWORK" > /dev/null 2>&1; then
+    NETWORK_OPTION="--network $NETWORK"
+else
+    echo ">> Network '$NETWORK' not found. DynamoDB requests will fail, but the init duration is still measured."
+fi
+
+durations_file=$(mktemp)
+trap 'docker rm -f "$CONTAINER_NAME" > /dev/null 2>&1 || true; rm -f "$durations_file"' EXIT
+
+for run in $(seq 1 "$RUNS"); do
+    docker rm -f "$CONTAINER_NAME" > /dev/null 2>&1 || true
+    # shellcheck disable=SC2086
+    docker run -d --name "$CONTAINER_NAME" -p 9000:8080    \
+        --env-file "$ENV_FILE" $NETWORK_OPTION $EXTRA_ENV  \
+        -e AWS_LAMBDA_FUNCTION_NAME=city-read-function     \
+        "$IMAGE_NAME" > /dev/null
+
+    # The emulator starts the runtime on the first invocation, so the init duration is not affected by this wait.
+    until curl -s -o /dev/null http://localhost:9000/ 2> /dev/null; do
+        sleep 0.1
+    done
+    curl -s -o /dev/null "$INVOKE_URL" -d @"$REQUEST_FILE"
+
+    init_duration=$(docker logs "$CONTAINER_NAME" 2>&1 | grep -o 'Init Duration: [0-9.]*' | head -1 | awk '{print $3}')
+    if [ -z "$init_duration" ]; then
+        echo ">> Run $run: the init duration was not reported."
+        continue
+    fi
+    echo ">> Run $run: $init_duration ms"
+    echo "$init_duration" >> "$durations_file"
+done
+
+echo ""
+sort -n "$durations_file" | awk '
+    { values[NR] = $1; sum += $1 }
+    END {
+        if (NR == 0) { print "No init durations were measured."; exit 1 }
+        median = (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2
+        printf "Runs: %d | Min: %.2f ms | Median: %.2f ms | Avg: %.2f ms | Max: %.2f ms\n", NR, values[1], median, sum / NR, values[NR]
+    }'